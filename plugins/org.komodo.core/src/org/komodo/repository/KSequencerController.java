@@ -22,6 +22,7 @@
 package org.komodo.repository;
 
 import org.komodo.repository.internal.KSequencers;
+import org.komodo.repository.internal.KeywordIndex;
 
 
 /**
@@ -72,4 +73,19 @@ public interface KSequencerController {
      */
     void addSequencerListener(KSequencerListener listener) throws Exception;
 
+    /**
+     * @param listener the listener to remove, such as the listener of a commit whose save failed
+     */
+    void removeSequencerListener(KSequencerListener listener);
+
+    /**
+     * @return the index of the words in the repository's string properties or <code>null</code> if there is none
+     */
+    KeywordIndex getKeywordIndex();
+
+    /**
+     * @return the cache of exported renditions, which is invalidated as changes are committed (never <code>null</code>)
+     */
+    RenditionCache getRenditionCache();
+
 }
@@ -22,14 +22,16 @@
 package org.komodo.repository;
 
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import org.komodo.core.KomodoLexicon;
 import org.komodo.modeshape.teiid.cnd.TeiidSqlLexicon;
 import org.komodo.spi.constants.StringConstants;
 import org.komodo.spi.repository.KomodoType;
-import org.komodo.spi.utils.KeyInValueHashMap;
-import org.komodo.spi.utils.KeyInValueHashMap.KeyFromValueAdapter;
 import org.komodo.utils.ArgCheck;
 import org.modeshape.sequencer.ddl.StandardDdlLexicon;
 import org.modeshape.sequencer.ddl.dialect.teiid.TeiidDdlLexicon;
@@ -90,13 +92,6 @@ public class KomodoTypeRegistry implements StringConstants {
         }
     }
 
-    private class KTypeAdapter implements KeyFromValueAdapter<KomodoType, TypeIdentifier> {
-        @Override
-        public KomodoType getKey(TypeIdentifier value) {
-            return value.getKomodoType();
-        }
-    }
-
     private static KomodoTypeRegistry instance;
 
     /**
@@ -109,8 +104,18 @@ public class KomodoTypeRegistry implements StringConstants {
         return instance;
     }
 
-    private KeyInValueHashMap<KomodoType, TypeIdentifier> kTypeIndex =
-                    new KeyInValueHashMap<KomodoType, TypeIdentifier>(new KTypeAdapter());
+    private final Map<KomodoType, TypeIdentifier> kTypeIndex = new EnumMap<KomodoType, TypeIdentifier>(KomodoType.class);
+
+    /**
+     * The unmodifiable identifier sets keyed by lexicon type. Built once so that lookups do not allocate.
+     */
+    private final Map<String, Set<TypeIdentifier>> lexiconIndex = new HashMap<String, Set<TypeIdentifier>>();
+
+    private final Set<TypeIdentifier> tsqlIdentifiers;
+
+    private final Set<TypeIdentifier> ddlIdentifiers;
+
+    private final Set<TypeIdentifier> vdbIdentifiers;
 
     private KomodoTypeRegistry() {
 
@@ -177,11 +182,27 @@ public class KomodoTypeRegistry implements StringConstants {
         index(KomodoType.TSQL_SCHEMA, TeiidSqlLexicon.Namespace.PREFIX);
 
         index(KomodoType.VDB_SCHEMA, VdbLexicon.Namespace.PREFIX);
+
+        for (Entry<String, Set<TypeIdentifier>> entry : lexiconIndex.entrySet()) {
+            entry.setValue(Collections.unmodifiableSet(entry.getValue()));
+        }
+
+        tsqlIdentifiers = Collections.singleton(kTypeIndex.get(KomodoType.TSQL_SCHEMA));
+        ddlIdentifiers = Collections.singleton(kTypeIndex.get(KomodoType.DDL_SCHEMA));
+        vdbIdentifiers = Collections.singleton(kTypeIndex.get(KomodoType.VDB_SCHEMA));
     }
 
     private void index(KomodoType kType, String lexiconType) {
         TypeIdentifier identifier = new TypeIdentifier(kType, lexiconType);
-        kTypeIndex.add(identifier);
+        kTypeIndex.put(kType, identifier);
+
+        Set<TypeIdentifier> identifiers = lexiconIndex.get(lexiconType);
+        if (identifiers == null) {
+            identifiers = new HashSet<TypeIdentifier>();
+            lexiconIndex.put(lexiconType, identifiers);
+        }
+
+        identifiers.add(identifier);
     }
 
     /**
@@ -194,46 +215,35 @@ public class KomodoTypeRegistry implements StringConstants {
 
     /**
      * @param lexiconType the lexicon identified type
-     * @return all the type identifiers with the given lexicon type
+     * @return all the type identifiers with the given lexicon type (never <code>null</code> and not modifiable)
      */
     public Set<TypeIdentifier> getIdentifiers(String lexiconType) {
         if (lexiconType == null)
             return Collections.emptySet();
 
-        Set<TypeIdentifier> identifiers = new HashSet<TypeIdentifier>();
-        for (TypeIdentifier identifier : kTypeIndex.values()) {
-            if (identifier.getLexiconType().equals(lexiconType))
-                identifiers.add(identifier);
-        }
-
-        if (! identifiers.isEmpty())
+        Set<TypeIdentifier> identifiers = lexiconIndex.get(lexiconType);
+        if (identifiers != null)
             return identifiers;
 
         //
         // We want to return TSQL for Teiid SQL nodes
         // but do not want to index all of them.
         //
-        if (lexiconType.startsWith(TeiidSqlLexicon.Namespace.PREFIX)) {
-            identifiers.add(kTypeIndex.get(KomodoType.TSQL_SCHEMA));
-            return identifiers;
-        }
+        if (lexiconType.startsWith(TeiidSqlLexicon.Namespace.PREFIX))
+            return tsqlIdentifiers;
 
         //
         // We want to return DDL for ddl nodes that do not have explicit types
         //
-        if (lexiconType.startsWith(TeiidDdlLexicon.Namespace.PREFIX)) {
-            identifiers.add(kTypeIndex.get(KomodoType.DDL_SCHEMA));
-            return identifiers;
-        }
+        if (lexiconType.startsWith(TeiidDdlLexicon.Namespace.PREFIX))
+            return ddlIdentifiers;
 
         //
         // We want to return VDB for vdb nodes that do not have explicit types
         //
-        if (lexiconType.startsWith(VdbLexicon.Namespace.PREFIX)) {
-            identifiers.add(kTypeIndex.get(KomodoType.VDB_SCHEMA));
-            return identifiers;
-        }
+        if (lexiconType.startsWith(VdbLexicon.Namespace.PREFIX))
+            return vdbIdentifiers;
 
-        return identifiers;
+        return Collections.emptySet();
     }
 }
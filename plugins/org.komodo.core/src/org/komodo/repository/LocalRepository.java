@@ -22,7 +22,9 @@
 package org.komodo.repository;
 
 import java.net.URL;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.WeakHashMap;
 import java.util.concurrent.CountDownLatch;
@@ -30,10 +32,12 @@ import java.util.concurrent.TimeUnit;
 import javax.jcr.RepositoryException;
 import javax.jcr.Session;
 import org.komodo.core.KEngine;
+import org.komodo.repository.internal.KeywordIndex;
 import org.komodo.repository.internal.ModeshapeEngineThread;
 import org.komodo.repository.internal.ModeshapeEngineThread.Request;
 import org.komodo.repository.internal.ModeshapeEngineThread.RequestCallback;
 import org.komodo.repository.internal.ModeshapeEngineThread.RequestType;
+import org.komodo.repository.internal.SessionPool;
 import org.komodo.spi.KException;
 import org.komodo.spi.repository.RepositoryClientEvent;
 import org.komodo.utils.ArgCheck;
@@ -122,7 +126,7 @@ public class LocalRepository extends RepositoryImpl {
         }
     }
 
-    private WeakHashMap< Session, UnitOfWork > sessions = new WeakHashMap<>();
+    private Map< Session, UnitOfWork > sessions = Collections.synchronizedMap(new WeakHashMap< Session, UnitOfWork >());
 
     private State state = State.NOT_REACHABLE;
 
@@ -191,12 +195,60 @@ public class LocalRepository extends RepositoryImpl {
         return getId().hashCode();
     }
 
+    /**
+     * @return the statistics of the requests made to the local engine or <code>null</code> if the engine has not been created
+     */
+    public ModeshapeEngineThread.RequestMetrics getEngineMetrics() {
+        return ((this.engineThread == null) ? null : this.engineThread.getMetrics());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.repository.RepositoryImpl#getKeywordIndex()
+     */
+    @Override
+    protected KeywordIndex getKeywordIndex() {
+        return ((this.engineThread == null) ? null : this.engineThread.getKeywordIndex());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.repository.RepositoryImpl#getRenditionCache()
+     */
+    @Override
+    public RenditionCache getRenditionCache() {
+        return ((this.engineThread == null) ? null : this.engineThread.getRenditionCache());
+    }
+
     @Override
     public boolean ping() {
         return ((this.engineThread != null) && ((this.engineThread.isAlive())) && this.engineThread.isRunning());
     }
 
-    private Session createSession() throws KException {
+    private Session createSession( final String name,
+                                   final boolean readOnly ) throws KException {
+        final SessionPool pool = this.engineThread.getSessionPool();
+
+        if (pool != null) {
+            // pre-created sessions avoid a round-trip to the engine
+            try {
+                return pool.borrow(name, readOnly);
+            } catch (final Exception e) {
+                LOGGER.debug("LocalRepository.createSession: unable to borrow session for transaction {0}", e, name); //$NON-NLS-1$
+            }
+        }
+
+        if (readOnly) {
+            // read-only transactions never enter the engine queue, even when pooling is disabled
+            try {
+                return this.engineThread.openSession();
+            } catch (final Exception e) {
+                throw new KException(e);
+            }
+        }
+
         final CountDownLatch latch = new CountDownLatch(1);
 
         class CreateSessionCallback implements RequestCallback {
@@ -259,12 +311,135 @@ public class LocalRepository extends RepositoryImpl {
                                          final UnitOfWorkListener callback ) throws KException {
         ArgCheck.isNotEmpty(name, "name"); //$NON-NLS-1$
         LOGGER.debug("creating transaction {0} with rollbackOnly = {1}", name, rollbackOnly); //$NON-NLS-1$
-        final Session session = createSession();
+        final Session session = createSession(name, rollbackOnly);
         final UnitOfWork uow = new LocalRepositoryTransaction(name, session, rollbackOnly, callback);
         this.sessions.put(session, uow);
         return uow;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Repository#createReadOnlyTransaction(java.lang.String,
+     *      org.komodo.spi.repository.Repository.UnitOfWorkListener)
+     */
+    @Override
+    public UnitOfWork createReadOnlyTransaction( final String name,
+                                                 final UnitOfWorkListener callback ) throws KException {
+        ArgCheck.isNotEmpty(name, "name"); //$NON-NLS-1$
+        LOGGER.debug("creating read-only transaction {0}", name); //$NON-NLS-1$
+        final Session session = createSession(name, true);
+        final UnitOfWork uow = new LocalRepositoryReadOnlyTransaction(name, session, callback);
+        this.sessions.put(session, uow);
+        return uow;
+    }
+
+    private void releaseSession( final Session session ) {
+        this.sessions.remove(session);
+        final SessionPool pool = ((this.engineThread == null) ? null : this.engineThread.getSessionPool());
+
+        if (pool == null) {
+            if (session.isLive()) session.logout();
+        } else {
+            pool.release(session);
+        }
+    }
+
+    /**
+     * A transaction that only reads from the repository. Commit and rollback never go through the engine thread and do not
+     * wait on the sequencers. Instead they are completed on the calling thread and the session is returned to the pool.
+     */
+    class LocalRepositoryReadOnlyTransaction extends RepositoryImpl.UnitOfWorkImpl {
+
+        LocalRepositoryReadOnlyTransaction( final String uowName,
+                                            final Session uowSession,
+                                            final UnitOfWorkListener listener ) {
+            super(uowName, uowSession, false, listener);
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.repository.RepositoryImpl.UnitOfWorkImpl#isReadOnly()
+         */
+        @Override
+        public boolean isReadOnly() {
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.repository.RepositoryImpl.UnitOfWorkImpl#commit()
+         */
+        @Override
+        public void commit() {
+            finish(true);
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.repository.RepositoryImpl.UnitOfWorkImpl#rollback()
+         */
+        @Override
+        public void rollback() {
+            finish(false);
+        }
+
+        private void finish( final boolean commit ) {
+            if (this.state != State.NOT_STARTED) {
+                this.error = new KException( Messages.getString( Messages.Komodo.ERROR_TRANSACTION_FINISHED,
+                                                                 this.name,
+                                                                 this.state ) );
+                this.state = State.ERROR;
+                return;
+            }
+
+            this.state = State.RUNNING;
+            LOGGER.debug( "{0} read-only transaction {1}", ( commit ? "commit" : "rollback" ), getName() ); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+            try {
+                if (this.session == null) {
+                    throw new KException( Messages.getString( Messages.Komodo.ERROR_SESSION_IS_CLOSED, this.name ) );
+                }
+
+                final boolean hasChanges = this.session.hasPendingChanges();
+
+                if (hasChanges) {
+                    this.session.refresh( false );
+                }
+
+                if (commit && hasChanges) {
+                    throw new KException( Messages.getString( Messages.Komodo.ERROR_READ_ONLY_TRANSACTION_HAS_CHANGES, this.name ) );
+                }
+
+                this.state = ( commit ? State.COMMITTED : State.ROLLED_BACK );
+
+                if (this.callback != null) {
+                    this.callback.respond( null );
+                }
+            } catch (final Exception e) {
+                this.state = State.ERROR;
+                this.error = ( ( e instanceof KException ) ? ( KException )e : new KException( e ) );
+
+                if (this.callback == null) {
+                    KEngine.getInstance().getErrorHandler().error( e );
+                } else {
+                    this.callback.errorOccurred( e );
+                }
+            } finally {
+                clearCachedNodes();
+
+                if (this.session != null) {
+                    releaseSession( this.session );
+                    this.session = null;
+                }
+            }
+        }
+
+    }
+
     class LocalRepositoryTransaction extends RepositoryImpl.UnitOfWorkImpl {
 
         LocalRepositoryTransaction( final String uowName,
@@ -330,6 +505,7 @@ public class LocalRepository extends RepositoryImpl {
                     }
 
                     // send commit request
+                    clearCachedNodes();
                     final CommitCallback callback = new CommitCallback();
                     ModeshapeEngineThread.SessionRequest request = new ModeshapeEngineThread.SessionRequest( RequestType.COMMIT_SESSION,
                                                                                                         callback,
@@ -394,6 +570,7 @@ public class LocalRepository extends RepositoryImpl {
             }
 
             // send rollback request
+            clearCachedNodes();
             final RollbackCallback callback = new RollbackCallback();
 
             if ( this.state == State.ERROR ) {
@@ -492,7 +669,7 @@ public class LocalRepository extends RepositoryImpl {
 
     private void clearRepository() {
         // cleanup session cache
-        if (!this.sessions.isEmpty()) {
+        synchronized (this.sessions) {
             final Iterator< Entry< Session, UnitOfWork > > itr = this.sessions.entrySet().iterator();
 
             while (itr.hasNext()) {
@@ -49,6 +49,7 @@ public class Messages implements StringConstants {
         Repository_Not_Running,
         EngineThread_Died,
         Rollback_Timeout,
+        Session_Leak,
         Unable_To_Create_Session;
 
         @Override
@@ -84,6 +85,11 @@ public class Messages implements StringConstants {
          * Indicates a transaction that had already been run is being run again.
          */
         ERROR_TRANSACTION_FINISHED,
+
+        /**
+         * Indicates a read-only transaction has changes when being committed.
+         */
+        ERROR_READ_ONLY_TRANSACTION_HAS_CHANGES,
         ERROR_TRYING_TO_COMMIT,
         SEQUENCING_ERROR_TRYING_TO_COMMIT,
         ERROR_TRYING_TO_ROLLBACK,
@@ -7,10 +7,12 @@
  */
 package org.komodo.repository;
 
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import javax.jcr.ItemNotFoundException;
 import javax.jcr.Node;
 import javax.jcr.NodeIterator;
 import javax.jcr.PathNotFoundException;
@@ -162,6 +164,11 @@ public class ObjectImpl implements KomodoObject, StringConstants {
     protected String path;
     final private Repository repository;
 
+    /**
+     * The JCR identifier of the node once it has been resolved. Used to find the node without resolving its path.
+     */
+    private String identifier;
+
     /**
      * @param komodoRepository
      *        the repository where the object is located (cannot be <code>null</code>)
@@ -187,9 +194,10 @@ public class ObjectImpl implements KomodoObject, StringConstants {
                                       final String name,
                                       final Object... values ) throws Exception {
         final Session session = getSession( transaction );
-        final Node node = session.getNode( getAbsolutePath() );
+        final Node node = node( transaction );
         final ValueFactory factory = session.getValueFactory();
         final boolean exists = node.hasProperty( name );
+        ( ( UnitOfWorkImpl )transaction ).propertyChanged( getAbsolutePath(), name );
 
         // remove property
         if ( values == null ) {
@@ -204,6 +212,11 @@ public class ObjectImpl implements KomodoObject, StringConstants {
             // must be an array at this point
             final int count = values.length;
 
+            // a stream can only be read once so store it as a binary before it is compared to any current value
+            if ( ( count == 1 ) && ( values[0] instanceof InputStream ) ) {
+                values[0] = PropertyImpl.createValue( factory, values[0] );
+            }
+
             if ( exists ) {
                 final javax.jcr.Property property = node.getProperty( name );
                 final int type = property.getType();
@@ -301,21 +314,49 @@ public class ObjectImpl implements KomodoObject, StringConstants {
             LOGGER.debug("objectimpl-node: transaction = {0}, path = {1}", transaction.getName(), getAbsolutePath()); //$NON-NLS-1$
         }
 
-        Node node = null;
-        Session session = getSession(transaction);
+        final UnitOfWorkImpl uow = ( UnitOfWorkImpl )transaction;
         String absPath = getAbsolutePath();
+        Node node = uow.getCachedNode( absPath );
+
+        if ( node != null ) {
+            return node;
+        }
+
+        Session session = getSession(transaction);
         PathNotFoundException throwEx = null;
 
         try {
+            //
+            // Try finding the node using the identifier of a previous resolution
+            //
+            if (this.identifier != null) {
+                try {
+                    node = session.getNodeByIdentifier(this.identifier);
+
+                    if (!absPath.equals(node.getPath())) {
+                        // node has been moved so the path rules
+                        node = null;
+                    }
+                } catch (ItemNotFoundException ex) {
+                    // node has been removed
+                    node = null;
+                }
+
+                if (node == null) {
+                    this.identifier = null;
+                }
+            }
 
             //
             // Try finding the node with the conventional path as given
             //
-            try {
-                node = session.getNode(absPath);
-            } catch (PathNotFoundException ex) {
-                // node cannot be found with convential path as given
-                throwEx = ex;
+            if (node == null) {
+                try {
+                    node = session.getNode(absPath);
+                } catch (PathNotFoundException ex) {
+                    // node cannot be found with convential path as given
+                    throwEx = ex;
+                }
             }
 
             if (node == null && session instanceof JcrSession) {
@@ -350,12 +391,89 @@ public class ObjectImpl implements KomodoObject, StringConstants {
             }
 
             // return the found node
+            resolved( uow, node );
             return node;
         } catch (final Exception e) {
             throw handleError( e );
         }
     }
 
+    /**
+     * Records the node this object is resolved to so that later lookups in the transaction do not need to resolve the path.
+     *
+     * @param transaction
+     *        the transaction (cannot be <code>null</code>)
+     * @param node
+     *        the node this object represents (cannot be <code>null</code>)
+     * @throws Exception
+     *         if an error occurs
+     */
+    private void resolved( final UnitOfWorkImpl transaction,
+                           final Node node ) throws Exception {
+        this.identifier = node.getIdentifier();
+        transaction.cacheNode( getAbsolutePath(), node );
+    }
+
+    /**
+     * @param transaction
+     *        the transaction (cannot be <code>null</code>)
+     * @param node
+     *        the node being wrapped (cannot be <code>null</code>)
+     * @param nodeIndex
+     *        the object index (value is zero for non-SNS)
+     * @return the object already resolved to the specified node (never <code>null</code>)
+     * @throws Exception
+     *         if an error occurs
+     */
+    private ObjectImpl wrap( final UnitOfWork transaction,
+                             final Node node,
+                             final int nodeIndex ) throws Exception {
+        final ObjectImpl result = new ObjectImpl( getRepository(), node.getPath(), nodeIndex );
+        result.resolved( ( UnitOfWorkImpl )transaction, node );
+        return result;
+    }
+
+    /**
+     * Discards the cached nodes of the parent of this object and everything below it. Must be called before any structural
+     * change (remove, rename) so that siblings whose same-name-sibling index shifts are also resolved again.
+     *
+     * @param transaction
+     *        the transaction (cannot be <code>null</code>)
+     * @param node
+     *        the node being changed (cannot be <code>null</code>)
+     * @throws Exception
+     *         if an error occurs
+     */
+    private void evict( final UnitOfWork transaction,
+                        final Node node ) throws Exception {
+        final String parentPath = ( ( node.getDepth() == 0 ) ? node.getPath() : node.getParent().getPath() );
+        ( ( UnitOfWorkImpl )transaction ).evictCachedNodes( parentPath );
+    }
+
+    /**
+     * @param node
+     *        the node being checked (cannot be <code>null</code>)
+     * @param type
+     *        the primary type or descriptor name being matched (cannot be empty)
+     * @return <code>true</code> if the node's primary type or one of its mixins has the specified name
+     * @throws Exception
+     *         if an error occurs
+     */
+    private static boolean isType( final Node node,
+                                   final String type ) throws Exception {
+        if ( type.equals( node.getPrimaryNodeType().getName() ) ) {
+            return true;
+        }
+
+        for ( final NodeType mixin : node.getMixinNodeTypes() ) {
+            if ( type.equals( mixin.getName() ) ) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -381,7 +499,8 @@ public class ObjectImpl implements KomodoObject, StringConstants {
 
         try {
             final Node node = node(transaction).addNode(name, type);
-            final KomodoObject result = new ObjectImpl(getRepository(), node.getPath(), node.getIndex());
+            ( ( UnitOfWorkImpl )transaction ).structureChanged();
+            final KomodoObject result = wrap(transaction, node, node.getIndex());
 
             if ( LOGGER.isDebugEnabled() ) {
                 LOGGER.debug( "objectimpl-addChild: transaction = {0}, path = {1}", transaction.getName(), node.getPath() ); //$NON-NLS-1$
@@ -413,12 +532,14 @@ public class ObjectImpl implements KomodoObject, StringConstants {
         }
 
         try {
-            final Node node = getSession(transaction).getNode(this.path);
+            final Node node = node(transaction);
 
             for (final String mixin : descriptorNames) {
                 ArgCheck.isNotEmpty(mixin, "mixin"); //$NON-NLS-1$
                 node.addMixin(mixin);
             }
+
+            ( ( UnitOfWorkImpl )transaction ).structureChanged();
         } catch (final Exception e) {
             throw handleError( e );
         }
@@ -462,7 +583,7 @@ public class ObjectImpl implements KomodoObject, StringConstants {
 
         try {
             final Node node = node(transaction).getNode(name);
-            final KomodoObject result = new ObjectImpl(getRepository(), node.getPath(), 0);
+            final KomodoObject result = wrap(transaction, node, 0);
 
             return result;
         } catch (final Exception e) {
@@ -485,14 +606,18 @@ public class ObjectImpl implements KomodoObject, StringConstants {
         ArgCheck.isNotEmpty( name, "name" ); //$NON-NLS-1$
         ArgCheck.isNotEmpty( typeName, "typeName" ); //$NON-NLS-1$
 
-        final KomodoObject[] kids = getChildren( transaction, name );
+        try {
+            final NodeIterator itr = node( transaction ).getNodes( name );
+
+            while ( itr.hasNext() ) {
+                final Node kid = itr.nextNode();
 
-        if ( kids.length != 0 ) {
-            for ( final KomodoObject kid : kids ) {
-                if ( typeName.equals( kid.getPrimaryType( transaction ).getName() ) || kid.hasDescriptor( transaction, typeName ) ) {
-                    return kid;
+                if ( isType( kid, typeName ) ) {
+                    return wrap( transaction, kid, kid.getIndex() - 1 );
                 }
             }
+        } catch ( final Exception e ) {
+            throw handleError( e );
         }
 
         throw new KException( Messages.getString( Messages.Komodo.CHILD_NOT_FOUND, name, getAbsolutePath() ) );
@@ -525,7 +650,7 @@ public class ObjectImpl implements KomodoObject, StringConstants {
 
         for (int i = 0; itr.hasNext(); ++i) {
             final Node child = itr.nextNode();
-            children[i] = new ObjectImpl(getRepository(), child.getPath(), child.getIndex() - 1);
+            children[i] = wrap(transaction, child, child.getIndex() - 1);
         }
 
         return children;
@@ -566,25 +691,31 @@ public class ObjectImpl implements KomodoObject, StringConstants {
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
         ArgCheck.isNotEmpty( type, "type" ); //$NON-NLS-1$
 
-        try {
-            KomodoObject[] kids = getChildren( transaction, node( transaction ).getNodes() );
+        final UnitOfWorkImpl uow = ( UnitOfWorkImpl )transaction;
+        KomodoObject[] kids = uow.getCachedChildren( getAbsolutePath(), type );
 
-            if ( kids.length != 0 ) {
-                final List< KomodoObject > matches = new ArrayList< KomodoObject >( kids.length );
+        if ( kids == null ) {
+            try {
+                final NodeIterator itr = node( transaction ).getNodes();
+                final List< KomodoObject > matches = new ArrayList< KomodoObject >( ( int )itr.getSize() );
 
-                for ( final KomodoObject kid : kids ) {
-                    if ( type.equals( kid.getPrimaryType( transaction ).getName() ) || kid.hasDescriptor( transaction, type ) ) {
-                        matches.add( kid );
+                while ( itr.hasNext() ) {
+                    final Node kid = itr.nextNode();
+
+                    if ( isType( kid, type ) ) {
+                        matches.add( wrap( transaction, kid, kid.getIndex() - 1 ) );
                     }
                 }
 
-                kids = matches.toArray( new KomodoObject[ matches.size() ] );
+                kids = ( matches.isEmpty() ? KomodoObject.EMPTY_ARRAY : matches.toArray( new KomodoObject[ matches.size() ] ) );
+                uow.cacheChildren( getAbsolutePath(), type, kids );
+            } catch ( final Exception e ) {
+                throw handleError( e );
             }
-
-            return kids;
-        } catch ( final Exception e ) {
-            throw handleError( e );
         }
+
+        // callers own the returned array
+        return ( ( kids.length == 0 ) ? kids : kids.clone() );
     }
 
     /**
@@ -687,13 +818,7 @@ public class ObjectImpl implements KomodoObject, StringConstants {
 
         try {
             final Node parent = node(transaction).getParent();
-            String parentPath = parent.getPath();
-
-            if (!parentPath.endsWith(FORWARD_SLASH)) {
-                parentPath += FORWARD_SLASH;
-            }
-
-            return new ObjectImpl(this.repository, parent.getPath(), 0);
+            return wrap(transaction, parent, 0);
         } catch (final Exception e) {
             throw handleError( e );
         }
@@ -965,6 +1090,32 @@ public class ObjectImpl implements KomodoObject, StringConstants {
         return this.repository;
     }
 
+    /**
+     * @param transaction
+     *        the transaction the object is being exported in (cannot be <code>null</code>)
+     * @return the cache the renditions of this object can be read from and added to or <code>null</code> if the repository
+     *         does not cache renditions or the transaction has changes the cached renditions would not reflect
+     * @throws KException
+     *         if an error occurs
+     */
+    protected RenditionCache getRenditionCache( final UnitOfWork transaction ) throws KException {
+        if ( !( this.repository instanceof RepositoryImpl ) ) {
+            return null;
+        }
+
+        final RenditionCache cache = ( ( RepositoryImpl )this.repository ).getRenditionCache();
+
+        if ( cache == null ) {
+            return null;
+        }
+
+        try {
+            return ( getSession( transaction ).hasPendingChanges() ? null : cache );
+        } catch ( final Exception e ) {
+            throw handleError( e );
+        }
+    }
+
     protected Session getSession( final UnitOfWork transaction ) {
         assert ( transaction != null );
         return ( ( UnitOfWorkImpl )transaction ).getSession();
@@ -990,17 +1141,35 @@ public class ObjectImpl implements KomodoObject, StringConstants {
         ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
-        List<Descriptor> descriptors = new ArrayList<Descriptor>();
-        descriptors.add(getPrimaryType(transaction));
-        descriptors.addAll(Arrays.asList(getDescriptors(transaction)));
+        final UnitOfWorkImpl uow = ( UnitOfWorkImpl )transaction;
+        KomodoType result = uow.getCachedType( getAbsolutePath() );
 
+        if ( result == null ) {
+            result = resolveTypeIdentifier( transaction );
+            uow.cacheType( getAbsolutePath(), result );
+        }
+
+        return result;
+    }
+
+    private KomodoType resolveTypeIdentifier( final UnitOfWork transaction ) throws KException {
+        // check primary type first then mixins using the node types directly as creating descriptors is not needed
         KomodoTypeRegistry registry  = KomodoTypeRegistry.getInstance();
         Set<TypeIdentifier> identifiers = null;
-        for (Descriptor descriptor : descriptors) {
-            String name = descriptor.getName();
-            identifiers = registry.getIdentifiers(name);
-            if (! identifiers.isEmpty())
-                break;
+
+        try {
+            final Node node = node( transaction );
+            identifiers = registry.getIdentifiers(node.getPrimaryNodeType().getName());
+
+            if (identifiers.isEmpty()) {
+                for (final NodeType mixin : node.getMixinNodeTypes()) {
+                    identifiers = registry.getIdentifiers(mixin.getName());
+                    if (! identifiers.isEmpty())
+                        break;
+                }
+            }
+        } catch (final Exception e) {
+            throw handleError( e );
         }
 
         KomodoType result;
@@ -1222,6 +1391,7 @@ public class ObjectImpl implements KomodoObject, StringConstants {
 
         try {
             final Node node = node( transaction );
+            evict( transaction, node );
             node.remove();
         } catch (final Exception e) {
             throw handleError( e );
@@ -1252,7 +1422,9 @@ public class ObjectImpl implements KomodoObject, StringConstants {
 
             for (final String name : names) {
                 if (node.hasNode(name)) {
-                    node.getNode(name).remove();
+                    final Node child = node.getNode(name);
+                    evict(transaction, child);
+                    child.remove();
                 } else {
                     throw new KException(Messages.getString(Messages.Komodo.UNABLE_TO_REMOVE_CHILD, names, getAbsolutePath()));
                 }
@@ -1282,12 +1454,14 @@ public class ObjectImpl implements KomodoObject, StringConstants {
         }
 
         try {
-            final Node node = getSession(transaction).getNode(this.path);
+            final Node node = node(transaction);
 
             for (final String mixin : descriptorNames) {
                 ArgCheck.isNotEmpty(mixin, "mixin"); //$NON-NLS-1$
                 node.removeMixin(mixin);
             }
+
+            ( ( UnitOfWorkImpl )transaction ).structureChanged();
         } catch (final Exception e) {
             throw handleError( e );
         }
@@ -1320,6 +1494,7 @@ public class ObjectImpl implements KomodoObject, StringConstants {
             }
 
             newPath += newName;
+            evict( transaction, node( transaction ) );
             getSession( transaction ).move( getAbsolutePath(), newPath );
             this.path = newPath;
             // TODO seems like index could change also
@@ -1394,7 +1569,8 @@ public class ObjectImpl implements KomodoObject, StringConstants {
 
         try {
             final String type = (StringUtils.isBlank(typeName) ? JcrNtLexicon.UNSTRUCTURED.getString() : typeName);
-            getSession(transaction).getNode(this.path).setPrimaryType(type);
+            node(transaction).setPrimaryType(type);
+            ( ( UnitOfWorkImpl )transaction ).structureChanged();
         } catch (final Exception e) {
             throw handleError( e );
         }
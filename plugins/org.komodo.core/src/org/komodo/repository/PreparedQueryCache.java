@@ -0,0 +1,202 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.repository;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+import javax.jcr.query.Query;
+import javax.jcr.query.QueryManager;
+import org.komodo.spi.constants.SystemConstants;
+import org.komodo.utils.ArgCheck;
+import org.komodo.utils.KLog;
+import org.modeshape.jcr.api.query.qom.QueryObjectModelFactory;
+import org.modeshape.jcr.query.JcrQuery;
+import org.modeshape.jcr.query.model.QueryCommand;
+import org.modeshape.jcr.query.model.SelectQuery;
+import org.modeshape.jcr.query.model.SetQuery;
+
+/**
+ * Caches the parsed form of JCR-SQL2 statements so that a statement whose values are passed as bind variables is only parsed
+ * the first time it is executed. Parsed statements are not tied to a session so they are shared by all transactions of a
+ * repository. The least recently used statements are discarded once the cache is full.
+ * <p>
+ * A cached statement is turned back into a query through the ModeShape query object model factory, which skips the JCR-SQL2
+ * parser.
+ */
+public final class PreparedQueryCache {
+
+    /**
+     * The number of statements cached when {@link SystemConstants#QUERY_CACHE_SIZE} is not set.
+     */
+    public static final int DEFAULT_SIZE = 100;
+
+    private static final KLog LOGGER = KLog.getLogger();
+
+    private final Map< String, QueryCommand > commands;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Constructs a cache sized by the {@link SystemConstants#QUERY_CACHE_SIZE} system property.
+     */
+    public PreparedQueryCache() {
+        this( getConfiguredSize() );
+    }
+
+    /**
+     * @param size
+     *        the maximum number of cached statements (zero disables caching but hits and misses are still counted)
+     */
+    public PreparedQueryCache( final int size ) {
+        ArgCheck.isTrue( size >= 0, "size is negative" ); //$NON-NLS-1$
+        this.commands = Collections.synchronizedMap( new LinkedHashMap< String, QueryCommand >( 16, 0.75f, true ) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry( final Map.Entry< String, QueryCommand > eldest ) {
+                return size() > size;
+            }
+        } );
+    }
+
+    private static int getConfiguredSize() {
+        final String value = System.getProperty( SystemConstants.QUERY_CACHE_SIZE );
+
+        if ( ( value == null ) || value.trim().isEmpty() ) {
+            return DEFAULT_SIZE;
+        }
+
+        try {
+            return Math.max( 0, Integer.parseInt( value.trim() ) );
+        } catch ( final NumberFormatException e ) {
+            LOGGER.warn( "PreparedQueryCache: invalid value \"{0}\" for {1}", value, SystemConstants.QUERY_CACHE_SIZE ); //$NON-NLS-1$
+            return DEFAULT_SIZE;
+        }
+    }
+
+    /**
+     * Creates a query for the specified statement, reusing the parsed statement when it has been seen before. The returned
+     * query is new so bind variables, offset and limit can be set without affecting other callers.
+     *
+     * @param session
+     *        the session the query executes in (cannot be <code>null</code>)
+     * @param statement
+     *        the JCR-SQL2 statement (cannot be empty)
+     * @return the query (never <code>null</code>)
+     * @throws RepositoryException
+     *         if the statement cannot be parsed
+     */
+    public Query prepare( final Session session,
+                          final String statement ) throws RepositoryException {
+        ArgCheck.isNotNull( session, "session" ); //$NON-NLS-1$
+        ArgCheck.isNotEmpty( statement, "statement" ); //$NON-NLS-1$
+
+        final QueryManager queryMgr = session.getWorkspace().getQueryManager();
+
+        if ( queryMgr instanceof org.modeshape.jcr.api.query.QueryManager ) {
+            final QueryCommand command = this.commands.get( statement );
+
+            if ( command != null ) {
+                this.hits.incrementAndGet();
+                final QueryObjectModelFactory factory = ( ( org.modeshape.jcr.api.query.QueryManager )queryMgr ).getQOMFactory();
+
+                if ( command instanceof SetQuery ) {
+                    return factory.createQuery( ( SetQuery )command );
+                }
+
+                return factory.createQuery( ( SelectQuery )command );
+            }
+        }
+
+        this.misses.incrementAndGet();
+        final Query query = queryMgr.createQuery( statement, Query.JCR_SQL2 );
+
+        if ( query instanceof JcrQuery ) {
+            final QueryCommand command = reusable( ( ( JcrQuery )query ).getAbstractQueryModel() );
+
+            if ( command != null ) {
+                this.commands.put( statement, command );
+            }
+        }
+
+        return query;
+    }
+
+    /**
+     * The parser produces plain queries but the query object model factory only accepts select or set queries.
+     *
+     * @param command
+     *        the parsed statement (can be <code>null</code>)
+     * @return the statement in a form the query object model factory accepts or <code>null</code> if it cannot be reused
+     */
+    private static QueryCommand reusable( final QueryCommand command ) {
+        if ( ( command instanceof SelectQuery ) || ( command instanceof SetQuery ) ) {
+            return command;
+        }
+
+        if ( command instanceof org.modeshape.jcr.query.model.Query ) {
+            final org.modeshape.jcr.query.model.Query query = ( org.modeshape.jcr.query.model.Query )command;
+            return new SelectQuery( query.source(),
+                                    query.constraint(),
+                                    query.orderings(),
+                                    query.columns(),
+                                    query.getLimits(),
+                                    query.isDistinct() );
+        }
+
+        return null;
+    }
+
+    /**
+     * Discards all cached statements. The hit and miss counts are not reset.
+     */
+    public void clear() {
+        this.commands.clear();
+    }
+
+    /**
+     * @return the number of queries created from an already parsed statement
+     */
+    public long getHitCount() {
+        return this.hits.get();
+    }
+
+    /**
+     * @return the number of queries whose statement had to be parsed
+     */
+    public long getMissCount() {
+        return this.misses.get();
+    }
+
+    /**
+     * @return the number of cached statements
+     */
+    public int size() {
+        return this.commands.size();
+    }
+
+}
@@ -173,6 +173,15 @@ public class PropertyImpl implements Property {
         ArgCheck.isNotNull(factory, "factory"); //$NON-NLS-1$
         ArgCheck.isNotNull(value, "value"); //$NON-NLS-1$
 
+        if (value instanceof Value) {
+            return (Value)value;
+        }
+
+        if (value instanceof InputStream) {
+            Binary binary = factory.createBinary((InputStream) value);
+            return factory.createValue(binary);
+        }
+
         if (PropertyType.BOOLEAN == jcrPropType) {
             if (value instanceof Boolean) {
                 return factory.createValue((Boolean)value);
@@ -291,7 +300,7 @@ public class PropertyImpl implements Property {
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
         try {
-            final boolean result = getSession(transaction).getProperty(this.path).getBoolean();
+            final boolean result = property(transaction).getBoolean();
             return result;
         } catch (final Exception e) {
             if (e instanceof KException) {
@@ -313,7 +322,7 @@ public class PropertyImpl implements Property {
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
         try {
-            final javax.jcr.Property property = getSession(transaction).getProperty(this.path);
+            final javax.jcr.Property property = property(transaction);
             final Value[] values = property.getValues();
             final boolean[] booleanValues = new boolean[values.length];
             int i = 0;
@@ -343,7 +352,7 @@ public class PropertyImpl implements Property {
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
         try {
-            final Calendar result = getSession(transaction).getProperty(this.path).getDate();
+            final Calendar result = property(transaction).getDate();
             return result;
         } catch (final Exception e) {
             if (e instanceof KException) {
@@ -365,7 +374,7 @@ public class PropertyImpl implements Property {
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
         try {
-            final javax.jcr.Property property = getSession(transaction).getProperty(this.path);
+            final javax.jcr.Property property = property(transaction);
             final Value[] values = property.getValues();
             final Calendar[] dateValues = new Calendar[values.length];
             int i = 0;
@@ -395,7 +404,7 @@ public class PropertyImpl implements Property {
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
         try {
-            final BigDecimal result = getSession(transaction).getProperty(this.path).getDecimal();
+            final BigDecimal result = property(transaction).getDecimal();
             return result;
         } catch (final Exception e) {
             if (e instanceof KException) {
@@ -417,7 +426,7 @@ public class PropertyImpl implements Property {
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
         try {
-            final javax.jcr.Property property = getSession(transaction).getProperty(this.path);
+            final javax.jcr.Property property = property(transaction);
             final Value[] values = property.getValues();
             final BigDecimal[] decimalValues = new BigDecimal[values.length];
             int i = 0;
@@ -447,7 +456,7 @@ public class PropertyImpl implements Property {
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
         try {
-            final javax.jcr.Property property = getSession(transaction).getProperty(this.path);
+            final javax.jcr.Property property = property(transaction);
             final PropertyDescriptor result = new PropertyDescriptorImpl(property.getDefinition());
             return result;
         } catch (final Exception e) {
@@ -470,7 +479,7 @@ public class PropertyImpl implements Property {
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
         try {
-            final double result = getSession(transaction).getProperty(this.path).getDouble();
+            final double result = property(transaction).getDouble();
             return result;
         } catch (final Exception e) {
             if (e instanceof KException) {
@@ -492,7 +501,7 @@ public class PropertyImpl implements Property {
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
         try {
-            final javax.jcr.Property property = getSession(transaction).getProperty(this.path);
+            final javax.jcr.Property property = property(transaction);
             final Value[] values = property.getValues();
             final double[] doubleValues = new double[values.length];
             int i = 0;
@@ -522,7 +531,7 @@ public class PropertyImpl implements Property {
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
         try {
-            final long result = getSession(transaction).getProperty(this.path).getLong();
+            final long result = property(transaction).getLong();
             return result;
         } catch (final Exception e) {
             if (e instanceof KException) {
@@ -544,7 +553,7 @@ public class PropertyImpl implements Property {
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
         try {
-            final javax.jcr.Property property = getSession(transaction).getProperty(this.path);
+            final javax.jcr.Property property = property(transaction);
             final Value[] values = property.getValues();
             final long[] longValues = new long[values.length];
             int i = 0;
@@ -574,7 +583,7 @@ public class PropertyImpl implements Property {
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
         try {
-            final String result = getSession(transaction).getProperty(getAbsolutePath()).getName();
+            final String result = property(transaction).getName();
             return result;
         } catch (final Exception e) {
             if (e instanceof KException) {
@@ -596,7 +605,7 @@ public class PropertyImpl implements Property {
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
         try {
-            final Node parent = getSession(transaction).getProperty(getAbsolutePath()).getParent();
+            final Node parent = property(transaction).getParent();
             String parentPath = parent.getPath();
 
             if (!parentPath.endsWith("/")) { //$NON-NLS-1$
@@ -627,6 +636,25 @@ public class PropertyImpl implements Property {
         return ((UnitOfWorkImpl)transaction).getSession();
     }
 
+    /**
+     * Uses the parent node when it has already been resolved during the transaction so that the property path does not need to
+     * be resolved.
+     */
+    private javax.jcr.Property property( final UnitOfWork transaction ) throws Exception {
+        final UnitOfWorkImpl uow = (UnitOfWorkImpl)transaction;
+        final int index = this.path.lastIndexOf('/');
+
+        if (index > 0) {
+            final Node parent = uow.getCachedNode(this.path.substring(0, index));
+
+            if (parent != null) {
+                return parent.getProperty(this.path.substring(index + 1));
+            }
+        }
+
+        return uow.getSession().getProperty(this.path);
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -638,7 +666,7 @@ public class PropertyImpl implements Property {
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
         try {
-            final String result = getSession(transaction).getProperty(this.path).getString();
+            final String result = property(transaction).getString();
             return result;
         } catch (final Exception e) {
             if (e instanceof KException) {
@@ -660,7 +688,7 @@ public class PropertyImpl implements Property {
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
         try {
-            final javax.jcr.Property property = getSession(transaction).getProperty(this.path);
+            final javax.jcr.Property property = property(transaction);
             final Value[] values = property.getValues();
             final String[] stringValues = new String[values.length];
             int i = 0;
@@ -690,7 +718,7 @@ public class PropertyImpl implements Property {
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
         try {
-            final javax.jcr.Property property = getSession(transaction).getProperty(this.path);
+            final javax.jcr.Property property = property(transaction);
             final Value value = property.getValue();
             final int propType = property.getType();
             final Object result = convert(value, propType);
@@ -716,7 +744,7 @@ public class PropertyImpl implements Property {
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
         try {
-            final javax.jcr.Property property = getSession(transaction).getProperty(this.path);
+            final javax.jcr.Property property = property(transaction);
             final int propType = property.getType();
             final Value[] values = property.getValues();
             final Object[] objectValues = new Object[values.length];
@@ -749,7 +777,7 @@ public class PropertyImpl implements Property {
         PropertyValueType propertyValueType = PropertyValueType.UNDEFINED;
 
         try {
-            final javax.jcr.Property result = getSession(transaction).getProperty(this.path);
+            final javax.jcr.Property result = property(transaction);
 
             int requiredType = result.getDefinition().getRequiredType();
             switch (requiredType) {
@@ -801,8 +829,7 @@ public class PropertyImpl implements Property {
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
         try {
-            final Session session = getSession(transaction);
-            final boolean result = session.getProperty(this.path).isMultiple();
+            final boolean result = property(transaction).isMultiple();
             return result;
         } catch (final Exception e) {
             if (e instanceof KException) {
@@ -826,7 +853,8 @@ public class PropertyImpl implements Property {
 
         try {
             final Session session = getSession(transaction);
-            final javax.jcr.Property property = session.getProperty(this.path);
+            final javax.jcr.Property property = property(transaction);
+            ((UnitOfWorkImpl)transaction).propertyChanged(property.getParent().getPath(), property.getName());
 
             if (values == null) {
                 property.remove();
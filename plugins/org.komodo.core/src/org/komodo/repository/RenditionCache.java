@@ -0,0 +1,369 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.repository;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.komodo.spi.constants.StringConstants;
+import org.komodo.spi.constants.SystemConstants;
+import org.komodo.utils.ArgCheck;
+import org.komodo.utils.KLog;
+
+/**
+ * Caches the exported text, like the DDL of a model or the manifest of a VDB, of committed repository objects. A rendition is
+ * keyed by the path of the object it was exported from and by a variant name, since the same object can be exported in more
+ * than one form. Renditions are discarded whenever the repository reports a change to their object, to one of its descendants
+ * or to one of its ancestors. The least recently used objects are discarded once the cache is full.
+ * <p>
+ * Renditions longer than the maximum length are not cached so that streamed exports of very large objects never have to be
+ * held in memory.
+ */
+public final class RenditionCache implements StringConstants {
+
+    /**
+     * The number of objects whose renditions are cached when {@link SystemConstants#RENDITION_CACHE_SIZE} is not set.
+     */
+    public static final int DEFAULT_SIZE = 100;
+
+    /**
+     * The number of characters of the longest cached rendition when {@link SystemConstants#RENDITION_CACHE_MAX_LENGTH} is not
+     * set.
+     */
+    public static final int DEFAULT_MAX_LENGTH = 1024 * 1024;
+
+    /**
+     * The variant of renditions that are DDL.
+     */
+    public static final String DDL = "ddl"; //$NON-NLS-1$
+
+    private static final KLog LOGGER = KLog.getLogger();
+
+    /**
+     * The exported text of an object.
+     */
+    public static final class Rendition {
+
+        private final String text;
+
+        Rendition( final String text ) {
+            this.text = text;
+        }
+
+        /**
+         * @return the exported text (never <code>null</code>)
+         */
+        public String getText() {
+            return this.text;
+        }
+
+    }
+
+    /**
+     * Streams an export to another writer and keeps a copy of the text for the cache until it becomes longer than the maximum
+     * length of a rendition.
+     */
+    public static final class RenditionWriter extends FilterWriter {
+
+        private final int maxLength;
+        private StringBuilder text = new StringBuilder();
+
+        RenditionWriter( final Writer writer,
+                         final int maxLength ) {
+            super( writer );
+            this.maxLength = maxLength;
+        }
+
+        private void keep( final CharSequence chars ) {
+            if ( this.text == null ) {
+                return;
+            }
+
+            if ( ( this.text.length() + chars.length() ) > this.maxLength ) {
+                // too long to cache so stop copying
+                this.text = null;
+            } else {
+                this.text.append( chars );
+            }
+        }
+
+        /**
+         * @return the text written so far or <code>null</code> if it is too long to be cached
+         */
+        public String getText() {
+            return ( ( this.text == null ) ? null : this.text.toString() );
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see java.io.FilterWriter#write(int)
+         */
+        @Override
+        public void write( final int c ) throws IOException {
+            this.out.write( c );
+            keep( String.valueOf( ( char )c ) );
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see java.io.FilterWriter#write(char[], int, int)
+         */
+        @Override
+        public void write( final char[] cbuf,
+                           final int off,
+                           final int len ) throws IOException {
+            this.out.write( cbuf, off, len );
+            keep( CharBuffer.wrap( cbuf, off, len ) );
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see java.io.FilterWriter#write(java.lang.String, int, int)
+         */
+        @Override
+        public void write( final String str,
+                           final int off,
+                           final int len ) throws IOException {
+            this.out.write( str, off, len );
+            keep( str.subSequence( off, off + len ) );
+        }
+
+    }
+
+    // renditions keyed by object path then by variant
+    private final LinkedHashMap< String, Map< String, Rendition > > renditions;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final int maxLength;
+
+    // incremented by each invalidation so renditions exported before a change are not cached after it
+    private long generation;
+
+    /**
+     * Constructs a cache sized by the {@link SystemConstants#RENDITION_CACHE_SIZE} and
+     * {@link SystemConstants#RENDITION_CACHE_MAX_LENGTH} system properties.
+     */
+    public RenditionCache() {
+        this( getConfiguredValue( SystemConstants.RENDITION_CACHE_SIZE, DEFAULT_SIZE ),
+              getConfiguredValue( SystemConstants.RENDITION_CACHE_MAX_LENGTH, DEFAULT_MAX_LENGTH ) );
+    }
+
+    /**
+     * @param size
+     *        the maximum number of objects whose renditions are cached (zero disables caching)
+     * @param maxLength
+     *        the number of characters of the longest rendition that is cached
+     */
+    public RenditionCache( final int size,
+                           final int maxLength ) {
+        ArgCheck.isTrue( size >= 0, "size is negative" ); //$NON-NLS-1$
+        ArgCheck.isTrue( maxLength >= 0, "maxLength is negative" ); //$NON-NLS-1$
+        this.maxLength = maxLength;
+        this.renditions = new LinkedHashMap< String, Map< String, Rendition > >( 16, 0.75f, true ) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry( final Map.Entry< String, Map< String, Rendition > > eldest ) {
+                return size() > size;
+            }
+        };
+    }
+
+    private static int getConfiguredValue( final String propertyName,
+                                           final int defaultValue ) {
+        final String value = System.getProperty( propertyName );
+
+        if ( ( value == null ) || value.trim().isEmpty() ) {
+            return defaultValue;
+        }
+
+        try {
+            return Math.max( 0, Integer.parseInt( value.trim() ) );
+        } catch ( final NumberFormatException e ) {
+            LOGGER.warn( "RenditionCache: invalid value \"{0}\" for {1}", value, propertyName ); //$NON-NLS-1$
+            return defaultValue;
+        }
+    }
+
+    /**
+     * @param writer
+     *        the writer an object is being exported to (cannot be <code>null</code>)
+     * @return a writer that streams to the specified writer and keeps a copy of the text while it is short enough to be cached
+     * @see #put(String, String, String, long)
+     */
+    public RenditionWriter capture( final Writer writer ) {
+        ArgCheck.isNotNull( writer, "writer" ); //$NON-NLS-1$
+        return new RenditionWriter( writer, this.maxLength );
+    }
+
+    /**
+     * Discards all cached renditions. The hit and miss counts are not reset.
+     */
+    public synchronized void clear() {
+        ++this.generation;
+        this.renditions.clear();
+    }
+
+    /**
+     * @param path
+     *        the path of the exported object (cannot be empty)
+     * @param variant
+     *        the form the object was exported in (cannot be empty)
+     * @return the cached rendition or <code>null</code> if the object has not been exported in that form since it last changed
+     */
+    public synchronized Rendition get( final String path,
+                                       final String variant ) {
+        ArgCheck.isNotEmpty( path, "path" ); //$NON-NLS-1$
+        ArgCheck.isNotEmpty( variant, "variant" ); //$NON-NLS-1$
+
+        final Map< String, Rendition > variants = this.renditions.get( path );
+        final Rendition rendition = ( ( variants == null ) ? null : variants.get( variant ) );
+
+        if ( rendition == null ) {
+            this.misses.incrementAndGet();
+        } else {
+            this.hits.incrementAndGet();
+        }
+
+        return rendition;
+    }
+
+    /**
+     * @return the current generation, which must be obtained before exporting an object that is to be cached
+     * @see #put(String, String, String, long)
+     */
+    public synchronized long getGeneration() {
+        return this.generation;
+    }
+
+    /**
+     * @return the number of exports answered by a cached rendition
+     */
+    public long getHitCount() {
+        return this.hits.get();
+    }
+
+    /**
+     * @return the number of exports that had to visit the repository
+     */
+    public long getMissCount() {
+        return this.misses.get();
+    }
+
+    /**
+     * Discards the renditions of the object at the specified path, of its descendants and of its ancestors.
+     *
+     * @param changedPath
+     *        the path of a node or property that has changed (cannot be empty)
+     */
+    public synchronized void invalidate( final String changedPath ) {
+        ArgCheck.isNotEmpty( changedPath, "changedPath" ); //$NON-NLS-1$
+        ++this.generation;
+
+        if ( this.renditions.isEmpty() ) {
+            return;
+        }
+
+        final Iterator< String > itr = this.renditions.keySet().iterator();
+
+        while ( itr.hasNext() ) {
+            final String path = itr.next();
+
+            if ( isRelated( path, changedPath ) ) {
+                itr.remove();
+            }
+        }
+    }
+
+    private static boolean isRelated( final String path,
+                                      final String otherPath ) {
+        if ( path.length() == otherPath.length() ) {
+            return path.equals( otherPath );
+        }
+
+        final String shorter = ( ( path.length() < otherPath.length() ) ? path : otherPath );
+        final String longer = ( ( shorter == path ) ? otherPath : path );
+
+        if ( FORWARD_SLASH.equals( shorter ) ) {
+            return true;
+        }
+
+        return longer.startsWith( shorter + FORWARD_SLASH );
+    }
+
+    /**
+     * Caches a rendition unless the repository has changed since the specified generation was obtained or the text is longer
+     * than the maximum length.
+     *
+     * @param path
+     *        the path of the exported object (cannot be empty)
+     * @param variant
+     *        the form the object was exported in (cannot be empty)
+     * @param text
+     *        the exported text (cannot be <code>null</code>)
+     * @param exportGeneration
+     *        the generation obtained before the object was exported
+     * @return the rendition (never <code>null</code>)
+     * @see #getGeneration()
+     */
+    public synchronized Rendition put( final String path,
+                                       final String variant,
+                                       final String text,
+                                       final long exportGeneration ) {
+        ArgCheck.isNotEmpty( path, "path" ); //$NON-NLS-1$
+        ArgCheck.isNotEmpty( variant, "variant" ); //$NON-NLS-1$
+        ArgCheck.isNotNull( text, "text" ); //$NON-NLS-1$
+
+        final Rendition rendition = new Rendition( text );
+
+        if ( ( exportGeneration == this.generation ) && ( text.length() <= this.maxLength ) ) {
+            Map< String, Rendition > variants = this.renditions.get( path );
+
+            if ( variants == null ) {
+                variants = new HashMap< >();
+                this.renditions.put( path, variants );
+            }
+
+            variants.put( variant, rendition );
+        }
+
+        return rendition;
+    }
+
+    /**
+     * @return the number of objects with cached renditions
+     */
+    public synchronized int size() {
+        return this.renditions.size();
+    }
+
+}
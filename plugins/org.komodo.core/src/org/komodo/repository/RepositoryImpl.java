@@ -12,23 +12,31 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.TreeMap;
+import javax.jcr.InvalidItemStateException;
+import javax.jcr.ItemNotFoundException;
 import javax.jcr.Node;
 import javax.jcr.NodeIterator;
 import javax.jcr.PropertyIterator;
+import javax.jcr.RepositoryException;
 import javax.jcr.Session;
 import javax.jcr.Value;
 import javax.jcr.ValueFactory;
 import javax.jcr.query.Query;
-import javax.jcr.query.QueryManager;
 import javax.jcr.query.QueryResult;
 import org.komodo.core.KEngine;
 import org.komodo.core.KomodoLexicon;
 import org.komodo.core.KomodoLexicon.Komodo;
 import org.komodo.core.KomodoLexicon.LibraryComponent;
 import org.komodo.core.KomodoLexicon.WorkspaceItem;
+import org.komodo.repository.internal.KeywordIndex;
 import org.komodo.repository.search.ObjectSearcher;
 import org.komodo.repository.validation.ValidationManagerImpl;
 import org.komodo.spi.KException;
@@ -36,6 +44,7 @@ import org.komodo.spi.constants.StringConstants;
 import org.komodo.spi.repository.Artifact;
 import org.komodo.spi.repository.ArtifactDescriptor;
 import org.komodo.spi.repository.KomodoObject;
+import org.komodo.spi.repository.KomodoType;
 import org.komodo.spi.repository.Property;
 import org.komodo.spi.repository.Repository;
 import org.komodo.spi.repository.RepositoryClient;
@@ -44,8 +53,10 @@ import org.komodo.spi.repository.RepositoryObserver;
 import org.komodo.spi.repository.ValidationManager;
 import org.komodo.utils.ArgCheck;
 import org.komodo.utils.KLog;
+import org.komodo.utils.StringUtils;
 import org.modeshape.jcr.api.JcrConstants;
 import org.modeshape.jcr.api.JcrTools;
+import org.modeshape.sequencer.ddl.dialect.teiid.TeiidDdlLexicon;
 
 /**
  * A {@link Repository} implementation.
@@ -182,6 +193,24 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
         protected Session session;
         protected State state = State.NOT_STARTED;
 
+        /**
+         * The nodes already resolved during this transaction keyed by their absolute path. Sorted so that a subtree can be
+         * evicted without visiting every entry.
+         */
+        private final TreeMap< String, Node > nodes = new TreeMap<>();
+
+        /**
+         * The results of type-filtered child lookups made during this transaction keyed by type then by parent path. Discarded
+         * whenever the structure of the repository is changed by this transaction.
+         */
+        private final Map< String, Map< String, KomodoObject[] > > childrenOfType = new HashMap<>();
+
+        /**
+         * The type identifiers resolved during this transaction keyed by node path. Discarded whenever the structure of the
+         * repository is changed by this transaction.
+         */
+        private final Map< String, KomodoType > types = new HashMap<>();
+
         /**
          * @param uowName
          *        the transaction name (cannot be empty)
@@ -253,6 +282,7 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
                     } finally {
                         if (session.isLive()) this.session.logout();
                         this.session = null;
+                        clearCachedNodes();
                     }
                 }
             }
@@ -295,6 +325,159 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
             return this.session;
         }
 
+        /**
+         * @param path
+         *        the absolute path of the node being requested (cannot be empty)
+         * @return the node previously resolved at that path during this transaction or <code>null</code> if not cached, the
+         *         node no longer exists or the node is no longer at that path
+         */
+        Node getCachedNode( final String path ) {
+            assert ( path != null );
+            final Node cached = this.nodes.get( path );
+
+            if ( ( cached == null ) || ( this.session == null ) ) {
+                return null;
+            }
+
+            try {
+                // identifier lookups are served from the session cache so this is much cheaper than resolving the path
+                final Node node = this.session.getNodeByIdentifier( cached.getIdentifier() );
+
+                if ( path.equals( node.getPath() ) ) {
+                    return node;
+                }
+
+                // moved, or a same-name sibling index shifted after a sibling was removed
+                this.nodes.remove( path );
+            } catch ( final ItemNotFoundException | InvalidItemStateException e ) {
+                // node has been removed
+                this.nodes.remove( path );
+            } catch ( final RepositoryException e ) {
+                this.nodes.remove( path );
+                LOGGER.debug( "transaction {0} unable to use cached node at {1}: {2}", getName(), path, e.getMessage() ); //$NON-NLS-1$
+            }
+
+            return null;
+        }
+
+        /**
+         * @param path
+         *        the absolute path the node was resolved from (cannot be empty)
+         * @param node
+         *        the node being cached for the rest of this transaction (cannot be <code>null</code>)
+         */
+        void cacheNode( final String path,
+                        final Node node ) {
+            assert ( path != null );
+            assert ( node != null );
+            this.nodes.put( path, node );
+        }
+
+        /**
+         * Removes the cached node at the specified path along with all cached nodes below it. Must be called whenever a node is
+         * removed or moved. As that changes the structure of the repository the cached child lookups are discarded too.
+         *
+         * @param path
+         *        the absolute path of the subtree whose nodes are no longer valid (cannot be empty)
+         */
+        void evictCachedNodes( final String path ) {
+            assert ( path != null );
+            structureChanged();
+            this.nodes.remove( path );
+
+            final String prefix = ( path.endsWith( FORWARD_SLASH ) ? path : ( path + FORWARD_SLASH ) );
+            this.nodes.subMap( prefix, prefix + Character.MAX_VALUE ).clear();
+        }
+
+        /**
+         * @param parentPath
+         *        the absolute path of the parent (cannot be empty)
+         * @param type
+         *        the primary type or descriptor name the children were filtered by (cannot be empty)
+         * @return the children found by an earlier lookup made during this transaction or <code>null</code> if not cached
+         */
+        KomodoObject[] getCachedChildren( final String parentPath,
+                                          final String type ) {
+            final Map< String, KomodoObject[] > byParent = this.childrenOfType.get( type );
+            return ( ( byParent == null ) ? null : byParent.get( parentPath ) );
+        }
+
+        /**
+         * @param parentPath
+         *        the absolute path of the parent (cannot be empty)
+         * @param type
+         *        the primary type or descriptor name the children were filtered by (cannot be empty)
+         * @param kids
+         *        the matching children (cannot be <code>null</code> but can be empty)
+         */
+        void cacheChildren( final String parentPath,
+                            final String type,
+                            final KomodoObject[] kids ) {
+            assert ( kids != null );
+            Map< String, KomodoObject[] > byParent = this.childrenOfType.get( type );
+
+            if ( byParent == null ) {
+                byParent = new HashMap<>();
+                this.childrenOfType.put( type, byParent );
+            }
+
+            byParent.put( parentPath, kids );
+        }
+
+        /**
+         * Must be called when a node is added, removed, renamed or has its primary type or descriptors changed so that cached
+         * child lookups are done again.
+         */
+        void structureChanged() {
+            this.childrenOfType.clear();
+            this.types.clear();
+        }
+
+        /**
+         * @param path
+         *        the absolute path of the node (cannot be empty)
+         * @return the type identifier resolved earlier in this transaction or <code>null</code> if not cached
+         */
+        KomodoType getCachedType( final String path ) {
+            return this.types.get( path );
+        }
+
+        /**
+         * @param path
+         *        the absolute path of the node (cannot be empty)
+         * @param type
+         *        the resolved type identifier (cannot be <code>null</code>)
+         */
+        void cacheType( final String path,
+                        final KomodoType type ) {
+            assert ( type != null );
+            this.types.put( path, type );
+        }
+
+        /**
+         * Must be called when a property is set or removed as some type identifiers depend on property values.
+         *
+         * @param nodePath
+         *        the absolute path of the node whose property changed (cannot be empty)
+         * @param propertyName
+         *        the name of the property that changed (cannot be empty)
+         */
+        void propertyChanged( final String nodePath,
+                              final String propertyName ) {
+            if ( TeiidDdlLexicon.Constraint.TYPE.equals( propertyName ) ) {
+                this.types.remove( nodePath );
+            }
+        }
+
+        /**
+         * Discards all the nodes, child lookups and types cached during this transaction.
+         */
+        protected void clearCachedNodes() {
+            this.nodes.clear();
+            this.childrenOfType.clear();
+            this.types.clear();
+        }
+
         /**
          * {@inheritDoc}
          *
@@ -305,6 +488,16 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
             return this.state;
         }
 
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.spi.repository.Repository.UnitOfWork#isReadOnly()
+         */
+        @Override
+        public boolean isReadOnly() {
+            return false;
+        }
+
         /**
          * {@inheritDoc}
          *
@@ -356,6 +549,7 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
                 } finally {
                     if (session.isLive()) this.session.logout();
                     this.session = null;
+                    clearCachedNodes();
                 }
             }
         }
@@ -389,11 +583,16 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
 
     protected static final KLog LOGGER = KLog.getLogger();
 
+    private static final String UUID_VARIABLE = "uuid"; //$NON-NLS-1$
+
+    private static final String FIND_BY_UUID_QUERY = "SELECT * FROM [nt:unstructured] WHERE [jcr:uuid] = $" + UUID_VARIABLE; //$NON-NLS-1$
+
     private final Set< RepositoryClient > clients = new HashSet< RepositoryClient >();
     private final Id id;
     private final Set< RepositoryObserver > observers = new HashSet< RepositoryObserver >();
     private final Type type;
     private ValidationManager validationMgr;
+    private final PreparedQueryCache queryCache = new PreparedQueryCache();
 
     /**
      * @param type
@@ -442,6 +641,7 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
 
             final Node parent = session.getNode(workspacePath);
             final Node newNode = parent.addNode(name, primaryType);
+            ((UnitOfWorkImpl)transaction).structureChanged();
             final KomodoObject result = new ObjectImpl(this, newNode.getPath(), 0);
 
             if (LOGGER.isDebugEnabled()) {
@@ -524,6 +724,9 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
             else
                 node = new JcrTools().findOrCreateNode(session, absolutePath, nodeType);
 
+            if (node.isNew())
+                ((UnitOfWorkImpl)transaction).structureChanged();
+
             final KomodoObject result = new ObjectImpl(this, node.getPath(), node.getIndex());
             return result;
         } catch (final Exception e) {
@@ -535,6 +738,13 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
         }
     }
 
+    /**
+     * @return the cache of parsed query statements used by this repository (never <code>null</code>)
+     */
+    public PreparedQueryCache getQueryCache() {
+        return this.queryCache;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -543,30 +753,84 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
     @Override
     public List< KomodoObject > query( final UnitOfWork transaction,
                                        final String queryStatement ) throws KException {
+        final Iterator< KomodoObject > itr = query( transaction, queryStatement, 0, NO_LIMIT );
+        final List< KomodoObject > results = new ArrayList< KomodoObject >();
+
+        try {
+            while ( itr.hasNext() ) {
+                results.add( itr.next() );
+            }
+        } catch ( final IllegalStateException e ) {
+            throw ( ( e.getCause() instanceof KException ) ? ( KException )e.getCause() : new KException( e ) );
+        }
+
+        return results;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Repository#query(org.komodo.spi.repository.Repository.UnitOfWork, java.lang.String, long,
+     *      long)
+     */
+    @Override
+    public Iterator< KomodoObject > query( final UnitOfWork transaction,
+                                           final String queryStatement,
+                                           final long offset,
+                                           final long limit ) throws KException {
+        return query( transaction, queryStatement, null, offset, limit );
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Repository#query(org.komodo.spi.repository.Repository.UnitOfWork, java.lang.String,
+     *      java.util.Map, long, long)
+     */
+    @Override
+    public Iterator< KomodoObject > query( final UnitOfWork transaction,
+                                           final String queryStatement,
+                                           final Map< String, String > variables,
+                                           final long offset,
+                                           final long limit ) throws KException {
         ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
         ArgCheck.isTrue( ( transaction.getState() == org.komodo.spi.repository.Repository.UnitOfWork.State.NOT_STARTED ),
                          "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
         ArgCheck.isNotEmpty(queryStatement, "Query statement cannot be empty"); //$NON-NLS-1$
+        ArgCheck.isTrue(offset >= 0, "offset is negative"); //$NON-NLS-1$
 
         if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("find: transaction = {0}, query = {1}", //$NON-NLS-1$
+            LOGGER.debug("find: transaction = {0}, query = {1}, variables = {2}, offset = {3}, limit = {4}", //$NON-NLS-1$
                          transaction.getName(),
-                         queryStatement);
+                         queryStatement,
+                         variables,
+                         offset,
+                         limit);
         }
 
         final Session session = getSession(transaction);
-        List<KomodoObject> results = new ArrayList<KomodoObject>();
 
         try {
-            QueryManager queryMgr = session.getWorkspace().getQueryManager();
-            Query query = queryMgr.createQuery(queryStatement, Query.JCR_SQL2);
-            QueryResult result = query.execute();
-
-            NodeIterator itr = result.getNodes();
-            while (itr.hasNext()) {
-                Node node = itr.nextNode();
-                results.add(new ObjectImpl(this, node.getPath(), node.getIndex()));
+            final Query query = this.queryCache.prepare(session, queryStatement);
+
+            if ((variables != null) && !variables.isEmpty()) {
+                final ValueFactory factory = session.getValueFactory();
+
+                for (final Entry< String, String > entry : variables.entrySet()) {
+                    query.bindValue(entry.getKey(), factory.createValue(entry.getValue()));
+                }
+            }
+
+            if (offset > 0) {
+                query.setOffset(offset);
             }
+
+            if (limit >= 0) {
+                query.setLimit(limit);
+            }
+
+            final QueryResult result = query.execute();
+            return new QueryResultIterator(transaction, result.getNodes());
         } catch (final Exception e) {
             if (e instanceof KException) {
                 throw (KException)e;
@@ -574,8 +838,66 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
 
             throw new KException(e);
         }
+    }
+
+    /**
+     * Creates the {@link KomodoObject}s of a query result as they are requested.
+     */
+    private class QueryResultIterator implements Iterator< KomodoObject > {
+
+        private final NodeIterator itr;
+        private final UnitOfWork transaction;
+
+        QueryResultIterator( final UnitOfWork transaction,
+                             final NodeIterator itr ) {
+            this.transaction = transaction;
+            this.itr = itr;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see java.util.Iterator#hasNext()
+         */
+        @Override
+        public boolean hasNext() {
+            return this.itr.hasNext();
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @throws IllegalStateException
+         *         if the transaction is no longer active or the object could not be created (the cause is a {@link KException})
+         * @see java.util.Iterator#next()
+         */
+        @Override
+        public KomodoObject next() {
+            if ( this.transaction.getState() != org.komodo.spi.repository.Repository.UnitOfWork.State.NOT_STARTED ) {
+                throw new IllegalStateException( new KException( Messages.getString( Messages.Komodo.ERROR_TRANSACTION_FINISHED,
+                                                                                     this.transaction.getName(),
+                                                                                     this.transaction.getState() ) ) );
+            }
+
+            final Node node = this.itr.nextNode();
+
+            try {
+                return new ObjectImpl( RepositoryImpl.this, node.getPath(), node.getIndex() );
+            } catch ( final Exception e ) {
+                throw new IllegalStateException( ( e instanceof KException ) ? e : new KException( e ) );
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @see java.util.Iterator#remove()
+         */
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
 
-        return results;
     }
 
     /**
@@ -603,6 +925,15 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
         if (keywordCriteria == null)
             keywordCriteria = KeywordCriteria.getDefault();
 
+        final KeywordIndex index = getKeywordIndex();
+        final Set< String > paths = ((index == null) || StringUtils.isBlank(type)) ? null : index.find(property,
+                                                                                                       keywordCriteria,
+                                                                                                       keywords);
+
+        if (paths != null) {
+            return resolveKeywordMatches(transaction, type, paths);
+        }
+
         ObjectSearcher searcher = new ObjectSearcher(this);
         String typeAlias = "k1"; // where clauses need an alias so assign one to the type //$NON-NLS-1$
         searcher.addFromType(type, typeAlias);
@@ -612,6 +943,48 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
         return searchObjects;
     }
 
+    /**
+     * @return the index used to answer keyword searches or <code>null</code> if keyword searches should always be queries
+     */
+    protected KeywordIndex getKeywordIndex() {
+        return null;
+    }
+
+    /**
+     * Renditions are only cached by repositories that are told of every committed change.
+     *
+     * @return the cache of exported renditions or <code>null</code> if renditions should not be cached
+     */
+    public RenditionCache getRenditionCache() {
+        return null;
+    }
+
+    private List< KomodoObject > resolveKeywordMatches( final UnitOfWork transaction,
+                                                        final String type,
+                                                        final Set< String > paths ) throws KException {
+        final Session session = getSession(transaction);
+        final List< KomodoObject > results = new ArrayList< KomodoObject >(paths.size());
+
+        try {
+            for (final String path : paths) {
+                // the index can trail removals made by other transactions
+                if (!session.nodeExists(path)) {
+                    continue;
+                }
+
+                final Node node = session.getNode(path);
+
+                if (node.isNodeType(type)) {
+                    results.add(new ObjectImpl(this, node.getPath(), node.getIndex()));
+                }
+            }
+        } catch (final Exception e) {
+            throw new KException(e);
+        }
+
+        return results;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -775,6 +1148,16 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
         return this.id;
     }
 
+    /*
+     * The removed node's parent subtree is evicted as the indexes of its same-name siblings may have shifted.
+     */
+    private void evictCachedNodes( final UnitOfWork transaction,
+                                   final String removedPath ) {
+        final int index = removedPath.lastIndexOf( FORWARD_SLASH );
+        final String parentPath = ( ( index > 0 ) ? removedPath.substring( 0, index ) : FORWARD_SLASH );
+        ( ( UnitOfWorkImpl )transaction ).evictCachedNodes( parentPath );
+    }
+
     private Session getSession( final UnitOfWork transaction ) {
         return ((UnitOfWorkImpl)transaction).getSession();
     }
@@ -807,11 +1190,11 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
                          jcrUuid);
         }
 
-        final String sql = "SELECT * FROM [nt:unstructured] WHERE [jcr:uuid] = '" + jcrUuid + "'"; //$NON-NLS-1$ //$NON-NLS-2$
-
         try {
             assert (transaction instanceof UnitOfWorkImpl);
-            final Query query = ((UnitOfWorkImpl)transaction).getSession().getWorkspace().getQueryManager().createQuery(sql, Query.JCR_SQL2);
+            final Session session = ((UnitOfWorkImpl)transaction).getSession();
+            final Query query = this.queryCache.prepare(session, FIND_BY_UUID_QUERY);
+            query.bindValue(UUID_VARIABLE, session.getValueFactory().createValue(jcrUuid));
             final QueryResult result = query.execute();
             final NodeIterator itr = result.getNodes();
 
@@ -899,6 +1282,7 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
         try {
             final Node parent = new JcrTools().findOrCreateNode(getSession(transaction), getAbsoluteWorkspacePath(parentPath));
             final Node newNode = parent.addNode(name);
+            ((UnitOfWorkImpl)transaction).structureChanged();
             new JcrTools().uploadFile(getSession(transaction),
                                       getAbsoluteWorkspacePath(newNode.getPath(), WorkspaceItem.ORIGINAL_FILE),
                                       url.openStream());
@@ -964,6 +1348,7 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
         }
 
         final Session session = getSession(transaction);
+        ((UnitOfWorkImpl)transaction).evictCachedNodes(descriptor.getPath());
 
         try {
             final boolean exists = session.itemExists(descriptor.getPath());
@@ -1060,6 +1445,7 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
 
             try {
                 session.removeItem( absPath );
+                evictCachedNodes( transaction, absPath );
                 LOGGER.debug( "removed workspace node at path {0} in transaction {1}", absPath, transaction.getName() ); //$NON-NLS-1$
             } catch ( final Exception e ) {
                 if ( e instanceof KException ) {
@@ -1172,6 +1558,7 @@ public abstract class RepositoryImpl implements Repository, StringConstants {
             try {
                 if (session.itemExists(absPath)) {
                     session.removeItem(absPath);
+                    evictCachedNodes(transaction, absPath);
                     LOGGER.debug("removed library node at path {0} in transaction {1}", absPath, transaction.getName()); //$NON-NLS-1$
                 } else {
                     throw new KException(Messages.getString(Messages.Komodo.UNABLE_TO_UNPUBLISH_NON_EXISTENT_ARTIFACT, absPath));
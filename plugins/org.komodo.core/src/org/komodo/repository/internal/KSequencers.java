@@ -23,10 +23,17 @@ package org.komodo.repository.internal;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.jcr.Node;
 import javax.jcr.NodeIterator;
 import javax.jcr.Property;
@@ -41,8 +48,11 @@ import org.komodo.core.Messages;
 import org.komodo.modeshape.teiid.cnd.TeiidSqlLexicon;
 import org.komodo.repository.KSequencerController;
 import org.komodo.repository.KSequencerListener;
+import org.komodo.repository.RenditionCache;
+import org.komodo.spi.constants.SystemConstants;
 import org.komodo.spi.query.sql.SQLConstants;
 import org.komodo.utils.KLog;
+import org.modeshape.jcr.JcrRepository;
 import org.modeshape.jcr.api.JcrConstants;
 import org.modeshape.jcr.api.Session;
 import org.modeshape.sequencer.ddl.StandardDdlLexicon;
@@ -51,22 +61,60 @@ import org.modeshape.sequencer.teiid.lexicon.VdbLexicon;
 
 
 /**
- * Sequencers class responsible for executing all the sequencers in
- * consecutive, synchronous order.
+ * Sequencers class responsible for executing the sequencers on the properties
+ * of each committed session.
+ *
+ * Each batch of events is sequenced on a worker thread so that unrelated commits, and
+ * the DDL, TSQL and VDB sequencing of a single commit, proceed in parallel. Completion
+ * is tracked per commit, identified by the observation user data of its events, so
+ * a listener is notified as soon as the sequencing of its own commit has finished.
+ * Sequencing that writes to the same output node is serialized so the clean and the
+ * writes of one sequencer run never interleave with those of another.
+ *
+ * The same events keep the {@link KeywordIndex} current. A commit's index entries are
+ * refreshed before its listener is notified so keyword searches see the commit.
+ * They also discard the cached renditions of changed objects, which is done on the
+ * observation thread so no export that follows a commit can see a stale rendition.
  */
 public class KSequencers implements SQLConstants, EventListener, KSequencerController {
 
+    private static final KLog LOGGER = KLog.getLogger();
+
+    private static final String DEFAULT_WORKER_POOL_NAME = "modeshape-workers"; //$NON-NLS-1$
+
+    private static final int OUTPUT_LOCK_COUNT = 64;
+
+    /**
+     * The sequencing outstanding for a single commit
+     */
+    private static class CommitTracker {
+
+        // Number of event batches of the commit that have yet to be sequenced
+        private final AtomicInteger pending = new AtomicInteger();
+
+        // Identifiers of the sequencers whose events have yet to be received
+        private final Queue<String> running = new ConcurrentLinkedQueue<String>();
+
+    }
+
     private final WorkspaceIdentifier identifier;
 
     private Session session;
 
-    // Flag switched on only when a sequencing execution is started
-    private boolean sequencingActive = false;
+    private final ExecutorService workers;
+
+    // Listeners are added by the engine session workers and keyed by their commit identifier
+    private final ConcurrentMap<String, KSequencerListener> listeners = new ConcurrentHashMap<String, KSequencerListener>();
+
+    // Outstanding sequencing keyed by commit identifier
+    private final ConcurrentMap<String, CommitTracker> commits = new ConcurrentHashMap<String, CommitTracker>();
+
+    private final KeywordIndex keywordIndex;
 
-    // List appended to by running sequencers detailing their unique identifiers
-    private List<String> runningSequencers = new ArrayList<String>();
+    private final RenditionCache renditionCache = new RenditionCache();
 
-    private Set<KSequencerListener> listeners = new HashSet<KSequencerListener>();
+    // Sequencing of an output node holds the lock its path hashes to
+    private final Object[] outputLocks = new Object[OUTPUT_LOCK_COUNT];
 
     /**
      * Create new instance
@@ -77,7 +125,13 @@ public class KSequencers implements SQLConstants, EventListener, KSequencerContr
     public KSequencers(WorkspaceIdentifier identifier) throws Exception {
         this.identifier = identifier;
         this.session = ModeshapeUtils.createSession(identifier);
-        KLog.getLogger().debug("KSequencers.init: session = {0}", session.hashCode()); //$NON-NLS-1$
+        LOGGER.debug("KSequencers.init: session = {0}", session.hashCode()); //$NON-NLS-1$
+
+        this.workers = createWorkers(identifier);
+
+        for (int i = 0; i < outputLocks.length; ++i)
+            outputLocks[i] = new Object();
+        this.keywordIndex = isKeywordIndexEnabled() ? new KeywordIndex() : null;
 
         ObservationManager manager = session.getWorkspace().getObservationManager();
         manager.addEventListener(this,
@@ -92,6 +146,59 @@ public class KSequencers implements SQLConstants, EventListener, KSequencerContr
                                  null,                                          // all uuids
                                  null,                                          // all node types
                                  true);                                        // ignore events generated by this session
+
+        if (this.keywordIndex != null)
+            buildKeywordIndex();
+    }
+
+    private static boolean isKeywordIndexEnabled() {
+        String value = System.getProperty(SystemConstants.ENGINE_KEYWORD_INDEX);
+        return (value == null) || value.trim().isEmpty() || Boolean.parseBoolean(value.trim());
+    }
+
+    private void buildKeywordIndex() {
+        workers.execute(new Runnable() {
+
+            @Override
+            public void run() {
+                Session buildSession = null;
+
+                try {
+                    buildSession = ModeshapeUtils.createSession(getIdentifier());
+                    keywordIndex.build(buildSession);
+                } catch (Exception ex) {
+                    // searches keep falling back to queries
+                    LOGGER.error("KSequencers: failed to build the keyword index", ex); //$NON-NLS-1$
+                } finally {
+                    if (buildSession != null && buildSession.isLive())
+                        buildSession.logout();
+                }
+            }
+        });
+    }
+
+    private static ExecutorService createWorkers(WorkspaceIdentifier identifier) {
+        //
+        // ModeShape does not expose its sequencing thread pool so use a pool
+        // of the same name and size to sequence on behalf of the repository
+        //
+        String poolName = null;
+        JcrRepository repository = identifier.getRepository();
+        if (repository != null && repository.getConfiguration().getSequencing() != null)
+            poolName = repository.getConfiguration().getSequencing().getThreadPoolName();
+
+        final String threadPrefix = (poolName == null || poolName.isEmpty()) ? DEFAULT_WORKER_POOL_NAME : poolName;
+        final AtomicInteger threadCount = new AtomicInteger();
+
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, threadPrefix + HYPHEN + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
     }
 
     /**
@@ -99,18 +206,23 @@ public class KSequencers implements SQLConstants, EventListener, KSequencerContr
      */
     @Override
     public synchronized void dispose() {
+        workers.shutdownNow();
+
         if (session != null) {
-            KLog.getLogger().debug("KSequencers.dispose: logout session: {0}", session.hashCode()); //$NON-NLS-1$
+            LOGGER.debug("KSequencers.dispose: logout session: {0}", session.hashCode()); //$NON-NLS-1$
             session.logout();
             session = null;
         }
+
+        listeners.clear();
+        commits.clear();
     }
 
     /**
      * @param listener the listener to add
      */
     @Override
-    public synchronized void addSequencerListener(KSequencerListener listener) throws Exception {
+    public void addSequencerListener(KSequencerListener listener) throws Exception {
         //
         // Events are passed the user data using the observation manager so
         // to identifier the event with this commit request, set the user data
@@ -125,7 +237,38 @@ public class KSequencers implements SQLConstants, EventListener, KSequencerContr
 
         session.getWorkspace().getObservationManager().setUserData(id);
 
-        listeners.add(listener);
+        // Discard listeners whose commits failed before their session was saved
+        Iterator<KSequencerListener> iterator = listeners.values().iterator();
+        while (iterator.hasNext()) {
+            if (! iterator.next().session().isLive())
+                iterator.remove();
+        }
+
+        listeners.put(id, listener);
+    }
+
+    /**
+     * @param listener the listener to remove
+     */
+    @Override
+    public void removeSequencerListener(KSequencerListener listener) {
+        listeners.remove(listener.id(), listener);
+    }
+
+    /**
+     * @return the keyword index or <code>null</code> if keyword indexing has been disabled
+     */
+    @Override
+    public KeywordIndex getKeywordIndex() {
+        return this.keywordIndex;
+    }
+
+    /**
+     * @return the cache of exported renditions (never <code>null</code>)
+     */
+    @Override
+    public RenditionCache getRenditionCache() {
+        return this.renditionCache;
     }
 
     /**
@@ -218,8 +361,10 @@ public class KSequencers implements SQLConstants, EventListener, KSequencerContr
             case VDB:
                 return newNode.hasProperty(VdbLexicon.Vdb.VERSION);
             case DDL:
-            case TSQL:
                 return ModeshapeUtils.childrenCount(oldNode) < ModeshapeUtils.childrenCount(newNode);
+            case TSQL:
+                // Only the changed branches are rewritten so the number of children may not change
+                return newNode.getSession().hasPendingChanges();
         }
 
         return false;
@@ -236,7 +381,7 @@ public class KSequencers implements SQLConstants, EventListener, KSequencerContr
                         return;
 
                     session = ModeshapeUtils.createSession(getIdentifier());
-                    KLog.getLogger().debug("KSequencers.preSequenceClean: session = {0}", session.hashCode()); //$NON-NLS-1$
+                    LOGGER.debug("KSequencers.preSequenceClean: session = {0}", session.hashCode()); //$NON-NLS-1$
                     Iterator<Node> childIter = outputNode.getNodes();
                     while(childIter.hasNext()) {
                         Node child = childIter.next();
@@ -263,18 +408,11 @@ public class KSequencers implements SQLConstants, EventListener, KSequencerContr
                     return;
                 }
                 case TSQL:
-                {
-                    session = ModeshapeUtils.createSession(getIdentifier());
-                    Node parent = session.getNode(outputNode.getPath());
-                    NodeIterator children = parent.getNodes();
-                    while(children.hasNext()) {
-                        Node child = children.nextNode();
-                        if (! ModeshapeUtils.hasTypeNamespace(child, TeiidSqlLexicon.Namespace.PREFIX))
-                            continue;
-
-                        child.remove();
-                    }
-                }
+                    //
+                    // The teiid sql sequencer reuses the nodes of unchanged
+                    // branches so it removes any obsolete nodes itself
+                    //
+                    return;
             }
         } finally {
             if (session != null && session.isLive()) {
@@ -323,15 +461,15 @@ public class KSequencers implements SQLConstants, EventListener, KSequencerContr
     }
 
     private boolean sequence(SequencerType sequencerType, Property property,
-                                                 Node outputNode, String eventId) throws Exception {
-        KLog.getLogger().debug("Executing pre-sequencing of " + sequencerType.name() + " Sequencer for property " + property.getName());  //$NON-NLS-1$//$NON-NLS-2$
+                                                 Node outputNode, String eventId, String commitId) throws Exception {
+        LOGGER.debug("Executing pre-sequencing of " + sequencerType.name() + " Sequencer for property " + property.getName());  //$NON-NLS-1$//$NON-NLS-2$
         preSequenceClean(sequencerType, outputNode);
 
         Session seqSession = ModeshapeUtils.createSession(getIdentifier());
-        KLog.getLogger().debug("KSequencers.sequenceClean: session = {0}", session.hashCode()); //$NON-NLS-1$
+        LOGGER.debug("KSequencers.sequenceClean: session = {0}", session.hashCode()); //$NON-NLS-1$
 
         try {
-            KLog.getLogger().debug("Executing " + sequencerType.name() + " Sequencer on property " + property.getName());  //$NON-NLS-1$//$NON-NLS-2$
+            LOGGER.debug("Executing " + sequencerType.name() + " Sequencer on property " + property.getName());  //$NON-NLS-1$//$NON-NLS-2$
 
             Property seqProperty = seqSession.getProperty(property.getPath());
             Node seqOutputNode = seqSession.getNode(outputNode.getPath());
@@ -352,9 +490,13 @@ public class KSequencers implements SQLConstants, EventListener, KSequencerContr
                     // Adds the identifier to the user data for the 'next' event to be received by this listener
                     seqSession.getWorkspace().getObservationManager().setUserData(seqPropId);
 
-                    // Adds the identifier to the running sequencers to indicate work has been done and need to
+                    // Adds the identifier to the commit's running sequencers to indicate work has been done and need to
                     // wait for the event to run through before proclaiming eveything is complete
-                    runningSequencers.add(seqPropId);
+                    CommitTracker tracker = (commitId == null) ? null : commits.get(commitId);
+                    if (tracker != null) {
+                        tracker.pending.incrementAndGet();
+                        tracker.running.add(seqPropId);
+                    }
 
                     try {
                         analyseSequencerResults(sequencerType, seqOutputNode);
@@ -377,147 +519,254 @@ public class KSequencers implements SQLConstants, EventListener, KSequencerContr
         return eventId + HYPHEN + sequencerType.name() + HYPHEN + property.getPath();
     }
 
-    private boolean sequence(SequencerType sequencerType, Property property, String eventId) throws Exception {
-        sequencingActive = true;
+    private Object outputLock(String outputPath) {
+        int hash = outputPath.hashCode();
+        hash ^= (hash >>> 16);
+        return outputLocks[(hash & Integer.MAX_VALUE) % outputLocks.length];
+    }
 
+    private boolean sequence(SequencerType sequencerType, Property property, String eventId, String commitId) throws Exception {
         Node outputNode = property.getParent();
         if (SequencerType.VDB.equals(sequencerType))
             outputNode = outputNode.getParent();
 
-        return sequence(sequencerType, property, outputNode, eventId);
+        //
+        // Commits touching the same output node can be processed by different workers.
+        // Serialize them so one run's clean cannot remove the other's freshly written nodes.
+        //
+        synchronized (outputLock(outputNode.getPath())) {
+            // pick up whatever an earlier run saved while this one waited
+            outputNode.getSession().refresh(true);
+            return sequence(sequencerType, property, outputNode, eventId, commitId);
+        }
     }
 
-    private void notifySequencerCompletion(String eventUserData) {
-        Iterator<KSequencerListener> iterator = listeners.iterator();
-        while(iterator.hasNext()) {
-            KSequencerListener listener = iterator.next();
+    /**
+     * @param eventUserData the user data of a batch of events
+     * @return the identifier of the listener's commit that generated the events, either directly or
+     *                by sequencing, or <code>null</code> if no listener is waiting on the events
+     */
+    private String findCommitId(String eventUserData) {
+        if (eventUserData == null)
+            return null;
 
-            if (! listener.session().isLive()) {
-                iterator.remove();
+        String commitId = null;
+        for (String id : listeners.keySet()) {
+            if (! eventUserData.equals(id) && ! eventUserData.startsWith(id + HYPHEN))
                 continue;
-            }
-
-            if (eventUserData == null || ! eventUserData.startsWith(listener.id()))
-                continue; // Listener is not listening for this event
 
-            KLog.getLogger().debug("KSequencers complete. Notifying " + listener); //$NON-NLS-1$
-            listener.sequencingCompleted();
+            // Identifiers can contain hyphens so prefer the most specific match
+            if (commitId == null || id.length() > commitId.length())
+                commitId = id;
         }
-    }
 
-    private void notifySequencerError(String eventUserData, Exception exception) {
-        Iterator<KSequencerListener> iterator = listeners.iterator();
-        while (iterator.hasNext()) {
-            KSequencerListener listener = iterator.next();
+        return commitId;
+    }
 
-            if (! listener.session().isLive()) {
-                iterator.remove();
-                continue;
-            }
+    private void notifySequencerCompletion(String commitId) {
+        KSequencerListener listener = listeners.remove(commitId);
+        if (listener == null || ! listener.session().isLive())
+            return;
 
-            if (eventUserData == null || ! eventUserData.startsWith(listener.id()))
-                continue; // Listener is not listening for this event
+        LOGGER.debug("KSequencers complete. Notifying " + listener); //$NON-NLS-1$
+        listener.sequencingCompleted();
+    }
 
-            KLog.getLogger().error("KSequencers error. Notifying " + listener + " of exception", exception); //$NON-NLS-1$ //$NON-NLS-2$
-            listener.sequencingError(exception);
+    private void notifySequencerError(String commitId, String eventUserData, Exception exception) {
+        KSequencerListener listener = (commitId == null) ? null : listeners.remove(commitId);
+        if (listener == null || ! listener.session().isLive()) {
+            LOGGER.error("KSequencers error sequencing events " + eventUserData, exception); //$NON-NLS-1$
+            return;
         }
+
+        LOGGER.error("KSequencers error. Notifying " + listener + " of exception", exception); //$NON-NLS-1$ //$NON-NLS-2$
+        listener.sequencingError(exception);
     }
 
     @Override
     public void onEvent(EventIterator events) {
-        KLog.getLogger().debug("KSequencers: onEvent() called"); //$NON-NLS-1$
+        LOGGER.debug("KSequencers: onEvent() called"); //$NON-NLS-1$
 
+        //
+        // The events are only valid on the observation thread so collect the
+        // paths of the properties to be checked before handing them to a worker
+        //
+        final List<String> propertyPaths = new ArrayList<String>();
+        final List<String> changedPropertyPaths = new ArrayList<String>();
+        final List<String> changedNodePaths = new ArrayList<String>();
+        final List<String> addedNodePaths = new ArrayList<String>();
         String eventUserData = null;
+        boolean received = false;
+
         try {
             while (events.hasNext()) {
                 Event event = events.nextEvent();
-                String eventPath = event.getPath();
                 eventUserData = event.getUserData();
+                received = true;
 
                 switch (event.getType()) {
-                    case Event.NODE_ADDED:
                     case Event.NODE_MOVED:
+                        Object sourcePath = event.getInfo().get("srcAbsPath"); //$NON-NLS-1$
+                        if (sourcePath != null)
+                            changedNodePaths.add(sourcePath.toString());
+                        //$FALL-THROUGH$
                     case Event.NODE_REMOVED:
-                    case Event.PROPERTY_REMOVED:
+                        changedNodePaths.add(event.getPath());
+                        continue;
+                    case Event.NODE_ADDED:
+                        addedNodePaths.add(event.getPath());
                         //
                         // Even though we do nothing with these events the
                         // sequencer still must fire on them in order to ensure the
                         // listeners are always notified that the sequencer has finished
                         //
                         continue;
+                    case Event.PROPERTY_REMOVED:
+                        changedPropertyPaths.add(event.getPath());
+                        continue;
                     case Event.PROPERTY_ADDED:
                     case Event.PROPERTY_CHANGED:
-                        KLog.getLogger().debug("KSequencers: processing event " + eventUserData + " for path " + eventPath); //$NON-NLS-1$ //$NON-NLS-2$
+                        propertyPaths.add(event.getPath());
+                        changedPropertyPaths.add(event.getPath());
+                }
+            }
+        } catch (Exception ex) {
+            notifySequencerError(findCommitId(eventUserData), eventUserData, ex);
+            return;
+        }
 
-                        if (! session.propertyExists(eventPath)) {
-                            // property never got as far as being visible to this session
-                            // implies modeshape is shutting down maybe
-                            continue;
-                        }
+        if (! received)
+            return;
 
-                        Property property = session.getProperty(eventPath);
-                        SequencerType sequencerType = isSequenceable(property);
-                        if (sequencerType == null)
-                            continue;
+        invalidateRenditions(addedNodePaths);
+        invalidateRenditions(changedNodePaths);
+        invalidateRenditions(changedPropertyPaths);
 
-                        sequence(sequencerType, property, eventUserData);
-                }
-            }
+        final String userData = eventUserData;
+        final String commitId = findCommitId(userData);
 
+        if (commitId != null && commitId.equals(userData)) {
             //
-            // Event looping has completed.
+            // The events of the commit itself. Count them as outstanding work so
+            // the commit cannot complete before they have been sequenced. The events
+            // of sequencers were counted when those sequencers saved.
             //
+            CommitTracker tracker = new CommitTracker();
+            CommitTracker existing = commits.putIfAbsent(commitId, tracker);
+            (existing == null ? tracker : existing).pending.incrementAndGet();
+        }
 
-            if (! sequencingActive) {
-                notifySequencerCompletion(eventUserData);
-                return; // No sequencers started so nothing further to do
-            }
+        try {
+            workers.execute(new Runnable() {
 
-            //
-            // Sequencers add a user-data object to their events [ see sequence(SequencerType, Property, Node) ].
-            // The object is the same as that added to runningSequencers
-            //
-            // If this set of events has a user-data object, try removing it from runningSequencers
-            // since this confirms that this set of events is the completion of that particular sequencer.
-            //
-            if (eventUserData != null) {
-                boolean removed = runningSequencers.remove(eventUserData);
-                if (removed)
-                    KLog.getLogger().debug("Sequencer with id " + eventUserData + " has completed"); //$NON-NLS-1$ //$NON-NLS-2$
-            }
+                @Override
+                public void run() {
+                    refreshKeywordIndex(userData, changedNodePaths, changedPropertyPaths);
+                    process(commitId, userData, propertyPaths);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // Shutting down
+            LOGGER.debug("KSequencers: discarding events " + userData + " as sequencing has been stopped"); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+    }
 
-            //
-            // Determine if runningSequencers is empty. This can happen if
-            // a) no sequencers had been running (in which case sequencingActive would be false)
-            // b) the last sequencer identifier has been removed
-            //
-            if (runningSequencers.isEmpty()) {
-                //
-                // All sequencers have completed so reset sequencingActive
-                //
-                sequencingActive = false;
+    private void invalidateRenditions(List<String> paths) {
+        for (String path : paths)
+            renditionCache.invalidate(path);
+    }
 
-                //
-                // Notify clients that sequencing has completed
-                //
-                notifySequencerCompletion(eventUserData);
-            } else {
-                //
-                // Still sequencers are currently executing
-                //
-                if (KLog.getLogger().isDebugEnabled()) {
-                    StringBuffer buffer = new StringBuffer("Current Sequencing Train: "); //$NON-NLS-1$
-                    for (String id : runningSequencers)
-                        buffer.append(id).append(TAB);
+    private void refreshKeywordIndex(String eventUserData, List<String> nodePaths, List<String> propertyPaths) {
+        if (keywordIndex == null || (nodePaths.isEmpty() && propertyPaths.isEmpty()))
+            return;
+
+        Session indexSession = null;
+
+        try {
+            indexSession = ModeshapeUtils.createSession(getIdentifier());
+
+            for (String nodePath : nodePaths)
+                keywordIndex.refreshSubtree(indexSession, nodePath);
 
-                    KLog.getLogger().debug(buffer.toString());
+            for (String propertyPath : propertyPaths)
+                keywordIndex.refreshProperty(indexSession, propertyPath);
+        } catch (Exception ex) {
+            // an out of date index only affects keyword searches so do not fail the commit
+            LOGGER.error("KSequencers: failed to update the keyword index for events " + eventUserData, ex); //$NON-NLS-1$
+        } finally {
+            if (indexSession != null && indexSession.isLive())
+                indexSession.logout();
+        }
+    }
+
+    private void process(String commitId, String eventUserData, List<String> propertyPaths) {
+        Session workerSession = null;
+
+        try {
+            for (String eventPath : propertyPaths) {
+                LOGGER.debug("KSequencers: processing event " + eventUserData + " for path " + eventPath); //$NON-NLS-1$ //$NON-NLS-2$
+
+                if (workerSession == null)
+                    workerSession = ModeshapeUtils.createSession(getIdentifier());
+
+                if (! workerSession.propertyExists(eventPath)) {
+                    // property never got as far as being visible to this session
+                    // implies modeshape is shutting down maybe
+                    continue;
                 }
+
+                Property property = workerSession.getProperty(eventPath);
+                SequencerType sequencerType = isSequenceable(property);
+                if (sequencerType == null)
+                    continue;
+
+                sequence(sequencerType, property, eventUserData, commitId);
             }
         } catch (Exception ex) {
-            sequencingActive = false;
-            runningSequencers.clear();
-            notifySequencerError(eventUserData, ex);
+            if (commitId != null)
+                commits.remove(commitId);
+
+            notifySequencerError(commitId, eventUserData, ex);
+            return;
+        } finally {
+            if (workerSession != null && workerSession.isLive())
+                workerSession.logout();
+        }
+
+        //
+        // Event looping has completed.
+        //
+        CommitTracker tracker = (commitId == null) ? null : commits.get(commitId);
+        if (tracker == null)
+            return; // No listener is waiting on these events or the commit has already failed
+
+        //
+        // Sequencers add a user-data object to their events [ see sequence(SequencerType, Property, Node) ].
+        // The object is the same as that added to the commit's running sequencers so removing it
+        // confirms that this set of events is the completion of that particular sequencer.
+        //
+        if (tracker.running.remove(eventUserData))
+            LOGGER.debug("Sequencer with id " + eventUserData + " has completed"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        if (tracker.pending.decrementAndGet() > 0) {
+            //
+            // Still sequencers of this commit are currently executing
+            //
+            if (LOGGER.isDebugEnabled()) {
+                StringBuffer buffer = new StringBuffer("Current Sequencing Train for " + commitId + ": "); //$NON-NLS-1$ //$NON-NLS-2$
+                for (String id : tracker.running)
+                    buffer.append(id).append(TAB);
+
+                LOGGER.debug(buffer.toString());
+            }
+
             return;
         }
+
+        //
+        // All sequencers of the commit have completed so notify its listener
+        //
+        if (commits.remove(commitId, tracker))
+            notifySequencerCompletion(commitId);
     }
 }
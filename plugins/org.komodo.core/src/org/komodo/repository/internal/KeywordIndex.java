@@ -0,0 +1,484 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.repository.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.jcr.Node;
+import javax.jcr.NodeIterator;
+import javax.jcr.Property;
+import javax.jcr.PropertyIterator;
+import javax.jcr.PropertyType;
+import javax.jcr.Session;
+import javax.jcr.Value;
+import org.komodo.repository.RepositoryImpl;
+import org.komodo.spi.constants.StringConstants;
+import org.komodo.spi.repository.Repository.KeywordCriteria;
+import org.komodo.utils.KLog;
+
+/**
+ * An inverted index of the words found in the string properties of the Komodo tree.
+ *
+ * The index is kept current by {@link KSequencers}, which refreshes the paths named by the observation events of each commit
+ * before the commit completes. Refreshing always reads the persisted state of a path so the order events are processed in
+ * does not matter. The index is held in memory and is rebuilt when the engine starts. Searches return <code>null</code>
+ * whenever the index cannot answer them so callers can fall back to a query.
+ */
+public class KeywordIndex implements StringConstants {
+
+    private static final KLog LOGGER = KLog.getLogger();
+
+    private static final String[] SYSTEM_PREFIXES = { "jcr:", "mode:", "nt:", "mix:" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Property name to word to the paths of the nodes whose property contains that word.
+     */
+    private final Map< String, Map< String, Set< String > > > postings = new HashMap<>();
+
+    /**
+     * Node path to property name to the words of that property. Sorted so subtrees can be removed.
+     */
+    private final TreeMap< String, Map< String, Set< String > > > words = new TreeMap<>();
+
+    /**
+     * The names of the properties that have had values that are not strings, whose values are not indexed.
+     */
+    private final Set< String > unindexedProperties = new HashSet<>();
+
+    private volatile boolean ready = false;
+
+    /**
+     * @param propertyName
+     *        the name of the property (can be empty)
+     * @return <code>true</code> if the string values of the property are indexed
+     */
+    public static boolean isIndexed( final String propertyName ) {
+        // a wildcard searches all the properties, which the index does not cover
+        if ( ( propertyName == null ) || propertyName.isEmpty() || ( propertyName.indexOf( '*' ) >= 0 ) ) {
+            return false;
+        }
+
+        for ( final String prefix : SYSTEM_PREFIXES ) {
+            if ( propertyName.startsWith( prefix ) ) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isIndexedPath( final String path ) {
+        return path.equals( RepositoryImpl.KOMODO_ROOT ) || path.startsWith( RepositoryImpl.KOMODO_ROOT + FORWARD_SLASH );
+    }
+
+    /**
+     * Splits text into lower case words of letters and digits.
+     *
+     * @param text
+     *        the text (can be <code>null</code>)
+     * @param result
+     *        the set the words are added to (cannot be <code>null</code>)
+     */
+    static void tokenize( final String text,
+                          final Set< String > result ) {
+        if ( text == null ) {
+            return;
+        }
+
+        final int length = text.length();
+        int start = -1;
+
+        for ( int i = 0; i <= length; ++i ) {
+            final boolean wordChar = ( i < length ) && Character.isLetterOrDigit( text.charAt( i ) );
+
+            if ( wordChar && ( start < 0 ) ) {
+                start = i;
+            } else if ( !wordChar && ( start >= 0 ) ) {
+                result.add( text.substring( start, i ).toLowerCase() );
+                start = -1;
+            }
+        }
+    }
+
+    /**
+     * @return <code>true</code> once the initial build has completed
+     */
+    public boolean isReady() {
+        return this.ready;
+    }
+
+    /**
+     * Indexes the whole Komodo tree. Searches are not answered by the index until this completes. Each node is indexed under
+     * a separate lock so commits are not held up while the index is built.
+     *
+     * @param session
+     *        the session used to read the tree (cannot be <code>null</code>)
+     * @throws Exception
+     *         if an error occurs
+     */
+    public void build( final Session session ) throws Exception {
+        final long start = System.currentTimeMillis();
+
+        if ( session.nodeExists( RepositoryImpl.KOMODO_ROOT ) ) {
+            final List< Node > pending = new ArrayList<>();
+            pending.add( session.getNode( RepositoryImpl.KOMODO_ROOT ) );
+
+            while ( !pending.isEmpty() ) {
+                final Node node = pending.remove( pending.size() - 1 );
+
+                this.lock.writeLock().lock();
+
+                try {
+                    refreshNode( session, node.getPath(), false );
+                } finally {
+                    this.lock.writeLock().unlock();
+                }
+
+                final NodeIterator itr = node.getNodes();
+
+                while ( itr.hasNext() ) {
+                    pending.add( itr.nextNode() );
+                }
+            }
+        }
+
+        this.ready = true;
+
+        if ( LOGGER.isDebugEnabled() ) {
+            LOGGER.debug( "KeywordIndex: indexed {0} nodes in {1} ms", this.words.size(), System.currentTimeMillis() - start ); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Brings the entries of a property up to date with its persisted value.
+     *
+     * @param session
+     *        a session that sees the persisted state (cannot be <code>null</code>)
+     * @param propertyPath
+     *        the absolute path of the property that was added, changed or removed (cannot be empty)
+     * @throws Exception
+     *         if an error occurs
+     */
+    public void refreshProperty( final Session session,
+                                 final String propertyPath ) throws Exception {
+        final int index = propertyPath.lastIndexOf( FORWARD_SLASH );
+
+        if ( ( index <= 0 ) || !isIndexedPath( propertyPath ) ) {
+            return;
+        }
+
+        final String nodePath = propertyPath.substring( 0, index );
+        final String propertyName = propertyPath.substring( index + 1 );
+
+        if ( !isIndexed( propertyName ) ) {
+            return;
+        }
+
+        this.lock.writeLock().lock();
+
+        try {
+            removeProperty( nodePath, propertyName );
+
+            if ( session.propertyExists( propertyPath ) ) {
+                addProperty( nodePath, session.getProperty( propertyPath ) );
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Brings the entries of a node and its descendants up to date with their persisted state.
+     *
+     * @param session
+     *        a session that sees the persisted state (cannot be <code>null</code>)
+     * @param nodePath
+     *        the absolute path of the node that was added, moved or removed (cannot be empty)
+     * @throws Exception
+     *         if an error occurs
+     */
+    public void refreshSubtree( final Session session,
+                                final String nodePath ) throws Exception {
+        if ( !isIndexedPath( nodePath ) ) {
+            return;
+        }
+
+        this.lock.writeLock().lock();
+
+        try {
+            refreshNode( session, nodePath, true );
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    private void refreshNode( final Session session,
+                              final String nodePath,
+                              final boolean deep ) throws Exception {
+        removeNode( nodePath );
+
+        if ( deep ) {
+            final String prefix = nodePath + FORWARD_SLASH;
+            final Iterator< Entry< String, Map< String, Set< String > > > > itr = this.words.subMap( prefix,
+                                                                                                  prefix + Character.MAX_VALUE )
+                                                                                          .entrySet().iterator();
+
+            while ( itr.hasNext() ) {
+                final Entry< String, Map< String, Set< String > > > entry = itr.next();
+                itr.remove();
+                removePostings( entry.getKey(), entry.getValue() );
+            }
+        }
+
+        if ( !session.nodeExists( nodePath ) ) {
+            return;
+        }
+
+        final Node node = session.getNode( nodePath );
+        final PropertyIterator props = node.getProperties();
+
+        while ( props.hasNext() ) {
+            final Property property = props.nextProperty();
+
+            if ( isIndexed( property.getName() ) ) {
+                addProperty( nodePath, property );
+            }
+        }
+
+        if ( deep ) {
+            final NodeIterator kids = node.getNodes();
+
+            while ( kids.hasNext() ) {
+                refreshNode( session, kids.nextNode().getPath(), true );
+            }
+        }
+    }
+
+    private void addProperty( final String nodePath,
+                              final Property property ) throws Exception {
+        if ( property.getType() != PropertyType.STRING ) {
+            this.unindexedProperties.add( property.getName() );
+            return;
+        }
+
+        final Set< String > propertyWords = new HashSet<>();
+
+        if ( property.isMultiple() ) {
+            for ( final Value value : property.getValues() ) {
+                tokenize( value.getString(), propertyWords );
+            }
+        } else {
+            tokenize( property.getString(), propertyWords );
+        }
+
+        if ( propertyWords.isEmpty() ) {
+            return;
+        }
+
+        final String propertyName = property.getName();
+        Map< String, Set< String > > nodeWords = this.words.get( nodePath );
+
+        if ( nodeWords == null ) {
+            nodeWords = new HashMap<>();
+            this.words.put( nodePath, nodeWords );
+        }
+
+        nodeWords.put( propertyName, propertyWords );
+
+        Map< String, Set< String > > propertyPostings = this.postings.get( propertyName );
+
+        if ( propertyPostings == null ) {
+            propertyPostings = new HashMap<>();
+            this.postings.put( propertyName, propertyPostings );
+        }
+
+        for ( final String word : propertyWords ) {
+            Set< String > paths = propertyPostings.get( word );
+
+            if ( paths == null ) {
+                paths = new HashSet<>();
+                propertyPostings.put( word, paths );
+            }
+
+            paths.add( nodePath );
+        }
+    }
+
+    private void removeNode( final String nodePath ) {
+        removePostings( nodePath, this.words.remove( nodePath ) );
+    }
+
+    private void removeProperty( final String nodePath,
+                                 final String propertyName ) {
+        final Map< String, Set< String > > nodeWords = this.words.get( nodePath );
+
+        if ( nodeWords == null ) {
+            return;
+        }
+
+        final Set< String > propertyWords = nodeWords.remove( propertyName );
+
+        if ( nodeWords.isEmpty() ) {
+            this.words.remove( nodePath );
+        }
+
+        if ( propertyWords != null ) {
+            removePostings( nodePath, Collections.singletonMap( propertyName, propertyWords ) );
+        }
+    }
+
+    private void removePostings( final String nodePath,
+                                 final Map< String, Set< String > > nodeWords ) {
+        if ( nodeWords == null ) {
+            return;
+        }
+
+        for ( final Entry< String, Set< String > > entry : nodeWords.entrySet() ) {
+            final Map< String, Set< String > > propertyPostings = this.postings.get( entry.getKey() );
+
+            if ( propertyPostings == null ) {
+                continue;
+            }
+
+            for ( final String word : entry.getValue() ) {
+                final Set< String > paths = propertyPostings.get( word );
+
+                if ( ( paths != null ) && paths.remove( nodePath ) && paths.isEmpty() ) {
+                    propertyPostings.remove( word );
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the nodes whose property contains the keywords. A keyword of several words matches when all of its words are
+     * found.
+     *
+     * @param propertyName
+     *        the name of the property being searched (can be empty)
+     * @param keywordCriteria
+     *        the search criteria (cannot be <code>null</code>)
+     * @param keywords
+     *        the keywords (can be empty)
+     * @return the sorted paths of the matching nodes or <code>null</code> if the index cannot answer the search, such as a
+     *         search of all the properties or of a property with values that are not strings
+     */
+    public Set< String > find( final String propertyName,
+                               final KeywordCriteria keywordCriteria,
+                               final String... keywords ) {
+        if ( !this.ready || !isIndexed( propertyName ) || ( keywordCriteria == KeywordCriteria.NONE )
+             || ( keywords == null ) || ( keywords.length == 0 ) ) {
+            return null;
+        }
+
+        // keywords using full-text syntax are left to the query engine
+        final List< Set< String > > keywordTerms = new ArrayList<>( keywords.length );
+
+        for ( final String keyword : keywords ) {
+            if ( ( keyword == null ) || keyword.isEmpty() || ( keyword.indexOf( '*' ) >= 0 ) || ( keyword.indexOf( '?' ) >= 0 )
+                 || ( keyword.indexOf( '"' ) >= 0 ) || keyword.startsWith( HYPHEN ) ) {
+                return null;
+            }
+
+            final Set< String > terms = new HashSet<>();
+            tokenize( keyword, terms );
+
+            if ( terms.isEmpty() ) {
+                return null;
+            }
+
+            keywordTerms.add( terms );
+        }
+
+        this.lock.readLock().lock();
+
+        try {
+            if ( this.unindexedProperties.contains( propertyName ) ) {
+                return null;
+            }
+
+            final Map< String, Set< String > > propertyPostings = this.postings.get( propertyName );
+            final Set< String > result = new TreeSet<>();
+
+            if ( propertyPostings == null ) {
+                return result;
+            }
+
+            if ( keywordCriteria == KeywordCriteria.ALL ) {
+                final Set< String > all = new HashSet<>();
+
+                for ( final Set< String > terms : keywordTerms ) {
+                    all.addAll( terms );
+                }
+
+                result.addAll( matchAll( propertyPostings, all ) );
+            } else {
+                for ( final Set< String > terms : keywordTerms ) {
+                    result.addAll( matchAll( propertyPostings, terms ) );
+                }
+            }
+
+            return result;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private Set< String > matchAll( final Map< String, Set< String > > propertyPostings,
+                                    final Set< String > terms ) {
+        Set< String > matches = null;
+
+        for ( final String word : terms ) {
+            final Set< String > paths = propertyPostings.get( word );
+
+            if ( ( paths == null ) || paths.isEmpty() ) {
+                return Collections.emptySet();
+            }
+
+            if ( matches == null ) {
+                matches = new HashSet<>( paths );
+            } else {
+                matches.retainAll( paths );
+
+                if ( matches.isEmpty() ) {
+                    break;
+                }
+            }
+        }
+
+        return ( ( matches == null ) ? Collections.< String >emptySet() : matches );
+    }
+
+}
@@ -27,11 +27,21 @@ import java.io.FileWriter;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.jcr.Node;
 import javax.jcr.NodeIterator;
 import javax.jcr.Session;
@@ -44,8 +54,10 @@ import org.komodo.core.KomodoLexicon.Komodo;
 import org.komodo.repository.KSequencerController;
 import org.komodo.repository.KSequencerListener;
 import org.komodo.repository.Messages;
+import org.komodo.repository.RenditionCache;
 import org.komodo.repository.RepositoryImpl;
 import org.komodo.spi.constants.StringConstants;
+import org.komodo.spi.constants.SystemConstants;
 import org.komodo.spi.repository.Repository;
 import org.komodo.utils.ArgCheck;
 import org.komodo.utils.KLog;
@@ -136,6 +148,8 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
 
         private RequestCallback callback;
 
+        private long queuedAt;
+
         /**
          * @param requestType
          *        type of request (cannot be <code>null</code>)
@@ -206,18 +220,106 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
 
     }
 
+    /**
+     * Statistics on the requests made to the engine thread and its session workers.
+     */
+    public static class RequestMetrics {
+
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong totalWait = new AtomicLong();
+        private final AtomicLong maxWait = new AtomicLong();
+
+        void queued( final Request request ) {
+            request.queuedAt = System.nanoTime();
+            this.pending.incrementAndGet();
+        }
+
+        void started( final Request request ) {
+            final long wait = System.nanoTime() - request.queuedAt;
+
+            this.pending.decrementAndGet();
+            this.processed.incrementAndGet();
+            this.totalWait.addAndGet(wait);
+
+            long max = this.maxWait.get();
+            while ((wait > max) && !this.maxWait.compareAndSet(max, wait)) {
+                max = this.maxWait.get();
+            }
+        }
+
+        /**
+         * @return the number of requests accepted but not yet started
+         */
+        public int getQueueDepth() {
+            return this.pending.get();
+        }
+
+        /**
+         * @return the number of requests that have been started
+         */
+        public long getProcessedCount() {
+            return this.processed.get();
+        }
+
+        /**
+         * @param unit
+         *        the unit of the returned value (cannot be <code>null</code>)
+         * @return the average time requests waited before being started
+         */
+        public long getAverageWaitTime( final TimeUnit unit ) {
+            final long count = this.processed.get();
+            return (count == 0) ? 0 : unit.convert(this.totalWait.get() / count, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * @param unit
+         *        the unit of the returned value (cannot be <code>null</code>)
+         * @return the longest time a request waited before being started
+         */
+        public long getMaxWaitTime( final TimeUnit unit ) {
+            return unit.convert(this.maxWait.get(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public String toString() {
+            return "RequestMetrics [queueDepth=" + getQueueDepth() + ", processed=" + getProcessedCount() //$NON-NLS-1$ //$NON-NLS-2$
+                   + ", averageWaitMs=" + getAverageWaitTime(TimeUnit.MILLISECONDS) //$NON-NLS-1$
+                   + ", maxWaitMs=" + getMaxWaitTime(TimeUnit.MILLISECONDS) + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+    }
+
     private final static ModeShapeEngine msEngine = new ModeShapeEngine();
     private static final KLog LOGGER = KLog.getLogger();
 
+    /*
+     * The minutes to wait for the session workers to process the requests already accepted.
+     */
+    private static final long SESSION_WORKER_TIMEOUT = 1;
+
     private BlockingQueue< Request > queue = new LinkedBlockingQueue< Request >();
 
+    /*
+     * Session requests are executed by these single-threaded workers once the engine has started. A session is always
+     * assigned the same worker so the requests of one transaction are processed in order while different transactions
+     * are processed in parallel.
+     */
+    private volatile ExecutorService[] sessionWorkers;
+
+    private final AtomicInteger nextWorker = new AtomicInteger();
+
+    private final RequestMetrics metrics = new RequestMetrics();
+
+    private volatile SessionPool sessionPool;
+
     private volatile boolean stop = false;
 
     private final WorkspaceIdentifier identifier;
 
     private final Repository.Id repoId;
 
-    private KSequencerController sequencers;
+    private volatile KSequencerController sequencers;
 
     /**
      * Create this thread and give it a name
@@ -247,14 +349,34 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
     }
 
     private void logoutSession(final Session session) {
-        if (session == null || ! session.isLive())
+        if (session == null)
             return;
 
         LOGGER.debug("ModeShapeEngineThread.logoutSession: {0}", session.hashCode()); //$NON-NLS-1$
-        session.logout();
+
+        final SessionPool pool = this.sessionPool;
+        if (pool == null) {
+            if (session.isLive())
+                session.logout();
+        } else {
+            // sessions that have been saved are not reused so top the pool back up
+            pool.discard(session);
+            pool.replenish();
+        }
     }
 
-    private synchronized void commitSession( final Request request ) {
+    private void releaseSession(final Session session) {
+        final SessionPool pool = this.sessionPool;
+
+        if (pool == null) {
+            logoutSession(session);
+        } else {
+            LOGGER.debug("ModeShapeEngineThread.releaseSession: {0}", session.hashCode()); //$NON-NLS-1$
+            pool.release(session);
+        }
+    }
+
+    private void commitSession( final Request request ) {
         ArgCheck.isTrue(request.getRequestType() == RequestType.COMMIT_SESSION,
                         "commitSession called when request is not a commit session"); //$NON-NLS-1$
         final SessionRequest commitRequest = (SessionRequest)request;
@@ -262,6 +384,7 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
         final String commitRequestId = commitRequest.getName() + HYPHEN + session.hashCode();
 
         LOGGER.debug("commit session for request {0}", commitRequest.getName()); //$NON-NLS-1$
+        KSequencerListener sequencerListener = null;
 
         try {
             //
@@ -271,7 +394,7 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
                 try {
                     respondCallback(request, null);
                 } finally {
-                    logoutSession(session);
+                    releaseSession(session);
                 }
                 return;
             }
@@ -281,7 +404,7 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
             // then attach a listener to the sequencers controller class, which will be responsible
             // for responding to the callback and finalising the session.
             //
-            KSequencerListener sequencerListener = new KSequencerListener() {
+            sequencerListener = new KSequencerListener() {
 
                 @Override
                 public String id() {
@@ -324,16 +447,22 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
             LOGGER.debug("commit session request {0} has been saved", commitRequest.getName()); //$NON-NLS-1$
 
         } catch (final Exception e) {
+            //
+            // The listener would otherwise stay registered against the session and could
+            // respond to, and log out the session of, whichever request used it next.
+            // The session is discarded rather than pooled for the same reason.
+            //
+            if (sequencerListener != null)
+                sequencers.removeSequencerListener(sequencerListener);
+
             request.requestType = RequestType.ROLLBACK_SESSION;
-            rollbackSession(request);
+            rollbackSession(request, false);
 
             if (request.getCallback() == null) {
                 LOGGER.error(Messages.getString(Messages.Komodo.ERROR_TRYING_TO_COMMIT, e, commitRequest.getName()));
             } else {
                 request.getCallback().errorOccurred(e);
             }
-
-            logoutSession(session);
         }
     }
 
@@ -345,7 +474,11 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
                     ModeshapeUtils.isRepositoryRunning(identifier.getRepository());
     }
 
-    private synchronized void rollbackSession( final Request request ) {
+    private void rollbackSession( final Request request ) {
+        rollbackSession(request, true);
+    }
+
+    private void rollbackSession( final Request request, final boolean reuseSession ) {
         ArgCheck.isTrue(request.getRequestType() == RequestType.ROLLBACK_SESSION,
                         "rollbackSession called when request is not a rollback session"); //$NON-NLS-1$
         final SessionRequest rollbackRequest = (SessionRequest)request;
@@ -362,7 +495,10 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
             LOGGER.error(Messages.getString(Messages.Komodo.ERROR_TRYING_TO_ROLLBACK, e, rollbackRequest.getName()));
             errorCallback(request, e);
         } finally {
-            logoutSession(session);
+            if (reuseSession)
+                releaseSession(session);
+            else
+                logoutSession(session);
         }
     }
 
@@ -376,7 +512,7 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
      * @return the repository configuration
      */
     private RepositoryConfiguration initialiseRepositoryConfiguration(URL configUrl) throws Exception {
-        RepositoryConfiguration config = RepositoryConfiguration.read(configUrl);
+        RepositoryConfiguration config = excludeIndexes(RepositoryConfiguration.read(configUrl));
         if (config.getCacheConfiguration() == null)
             return config; // No cache configuration specified so nothing to do
 
@@ -441,6 +577,39 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
         return config;
     }
 
+    /**
+     * Removes the indexes named by the {@link SystemConstants#ENGINE_EXCLUDED_INDEXES} system property from the configuration.
+     *
+     * @param config the repository configuration
+     * @return the configuration without the excluded indexes
+     */
+    private RepositoryConfiguration excludeIndexes(RepositoryConfiguration config) {
+        final String value = System.getProperty(SystemConstants.ENGINE_EXCLUDED_INDEXES);
+
+        if (value == null || value.trim().isEmpty())
+            return config;
+
+        Editor editor = config.edit();
+        EditableDocument indexesDoc = editor.getDocument(FieldName.INDEXES);
+
+        if (indexesDoc == null)
+            return config;
+
+        for (String indexName : value.split(COMMA)) {
+            indexName = indexName.trim();
+
+            if (indexName.isEmpty())
+                continue;
+
+            if (indexesDoc.remove(indexName) == null)
+                LOGGER.warn("ModeshapeEngineThread: unknown index \"{0}\" in {1}", indexName, SystemConstants.ENGINE_EXCLUDED_INDEXES); //$NON-NLS-1$
+            else
+                LOGGER.debug("ModeshapeEngineThread: index \"{0}\" excluded", indexName); //$NON-NLS-1$
+        }
+
+        return new RepositoryConfiguration(editor, config.getName());
+    }
+
     private synchronized void startEngine(Request request) {
         if (ModeshapeUtils.isEngineRunning(msEngine))
             return;
@@ -503,6 +672,9 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
             // Add the sequencing listener
             sequencers = new KSequencers( identifier );
 
+            startSessionWorkers();
+            startSessionPool();
+
             respondCallback(request, null);
         } catch (Exception ex) {
             LOGGER.error(Messages.getString(Messages.Komodo.ERROR_STARTING_ENGINE, ex));
@@ -512,6 +684,9 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
 
     private synchronized void stopEngine(Request request) {
         try {
+            stopSessionWorkers();
+            stopSessionPool();
+
             if (sequencers != null) {
                 sequencers.dispose();
                 sequencers = null;
@@ -531,6 +706,9 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
     }
 
     private synchronized void clear(Request request)  throws Exception {
+        // commits already handed to the session workers must not land after the clear
+        drainSessionWorkers();
+
         Session session = ModeshapeUtils.createSession(identifier);
         if (session == null || !session.isLive())
             return;
@@ -601,7 +779,7 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
         commitSession(saveRequest);
     }
 
-    private synchronized void createSession(final Request request) {
+    private void createSession(final Request request) {
         Object results = null;
         try {
             results = ModeshapeUtils.createSession(identifier);
@@ -612,6 +790,210 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
         }
     }
 
+    private static int getSessionWorkerCount() {
+        final int defaultCount = Runtime.getRuntime().availableProcessors();
+        final String value = System.getProperty(SystemConstants.ENGINE_SESSION_WORKERS);
+
+        if (value == null || value.trim().isEmpty())
+            return defaultCount;
+
+        try {
+            final int count = Integer.parseInt(value.trim());
+            return (count > 0) ? count : defaultCount;
+        } catch (final NumberFormatException ex) {
+            LOGGER.warn("ModeshapeEngineThread: invalid value \"{0}\" for {1}", value, SystemConstants.ENGINE_SESSION_WORKERS); //$NON-NLS-1$
+            return defaultCount;
+        }
+    }
+
+    private void startSessionWorkers() {
+        if (this.sessionWorkers != null)
+            return;
+
+        final int count = getSessionWorkerCount();
+        final ExecutorService[] workers = new ExecutorService[count];
+
+        for (int i = 0; i < count; ++i) {
+            final String threadName = getName() + " Session Worker " + i; //$NON-NLS-1$
+            workers[i] = Executors.newSingleThreadExecutor(new ThreadFactory() {
+
+                @Override
+                public Thread newThread( final Runnable runnable ) {
+                    final Thread thread = new Thread(runnable, threadName);
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+
+        LOGGER.debug("ModeshapeEngineThread: started {0} session workers", count); //$NON-NLS-1$
+        this.sessionWorkers = workers;
+    }
+
+    private void stopSessionWorkers() throws InterruptedException {
+        final ExecutorService[] workers = this.sessionWorkers;
+        if (workers == null)
+            return;
+
+        this.sessionWorkers = null;
+
+        for (final ExecutorService worker : workers) {
+            worker.shutdown();
+        }
+
+        // allow commits already accepted to complete before the engine is shutdown
+        for (final ExecutorService worker : workers) {
+            if (!worker.awaitTermination(SESSION_WORKER_TIMEOUT, TimeUnit.MINUTES)) {
+                final List<Runnable> abandoned = worker.shutdownNow();
+                LOGGER.warn("ModeshapeEngineThread: session worker did not finish within {0} minute(s), {1} request(s) abandoned", //$NON-NLS-1$
+                            SESSION_WORKER_TIMEOUT,
+                            abandoned.size());
+            }
+        }
+    }
+
+    /*
+     * Each worker is single-threaded, so once a no-op queued behind its requests has run every request accepted before it
+     * has been processed.
+     */
+    private void drainSessionWorkers() throws InterruptedException {
+        final ExecutorService[] workers = this.sessionWorkers;
+        if (workers == null)
+            return;
+
+        final List<Future<?>> markers = new ArrayList<>(workers.length);
+
+        for (final ExecutorService worker : workers) {
+            try {
+                markers.add(worker.submit(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        // nothing to do
+                    }
+                }));
+            } catch (final RejectedExecutionException ex) {
+                // worker is being shutdown and so is already draining
+            }
+        }
+
+        for (final Future<?> marker : markers) {
+            try {
+                marker.get(SESSION_WORKER_TIMEOUT, TimeUnit.MINUTES);
+            } catch (final ExecutionException ex) {
+                // cannot happen as the marker does nothing
+            } catch (final TimeoutException ex) {
+                LOGGER.warn("ModeshapeEngineThread: session worker did not finish its requests within {0} minute(s)", //$NON-NLS-1$
+                            SESSION_WORKER_TIMEOUT);
+            }
+        }
+    }
+
+    private void startSessionPool() throws Exception {
+        final int size = SessionPool.getConfiguredSize();
+
+        if (size == 0 || this.sessionPool != null)
+            return;
+
+        final SessionPool pool = new SessionPool(this.identifier, size, SessionPool.DEFAULT_LEAK_THRESHOLD);
+        pool.warm();
+        this.sessionPool = pool;
+    }
+
+    private void stopSessionPool() {
+        final SessionPool pool = this.sessionPool;
+        if (pool == null)
+            return;
+
+        this.sessionPool = null;
+        pool.checkForLeaks(true);
+        pool.dispose();
+    }
+
+    /**
+     * @return the keyword index or <code>null</code> if the engine is not running or keyword indexing is disabled
+     */
+    public KeywordIndex getKeywordIndex() {
+        final KSequencerController controller = this.sequencers;
+        return ((controller == null) ? null : controller.getKeywordIndex());
+    }
+
+    /**
+     * @return the cache of exported renditions or <code>null</code> if the engine is not running
+     */
+    public RenditionCache getRenditionCache() {
+        final KSequencerController controller = this.sequencers;
+        return ((controller == null) ? null : controller.getRenditionCache());
+    }
+
+    /**
+     * @return the pool of pre-created sessions or <code>null</code> if the engine is not running or pooling is disabled
+     */
+    public SessionPool getSessionPool() {
+        return this.sessionPool;
+    }
+
+    /**
+     * Opens a session on the calling thread rather than through the request queue.
+     *
+     * @return a new session (never <code>null</code>)
+     * @throws Exception if the repository is not running or the session cannot be created
+     */
+    public Session openSession() throws Exception {
+        return ModeshapeUtils.createSession(this.identifier);
+    }
+
+    private ExecutorService selectSessionWorker(final Request request) {
+        final ExecutorService[] workers = this.sessionWorkers;
+
+        if (workers == null || !RequestType.isSessionRequest(request.getRequestType()))
+            return null;
+
+        int index;
+        if (request instanceof SessionRequest) {
+            index = System.identityHashCode(((SessionRequest)request).getSession());
+        } else {
+            index = this.nextWorker.getAndIncrement();
+        }
+
+        return workers[(index & Integer.MAX_VALUE) % workers.length];
+    }
+
+    private void process(final Request request) throws Exception {
+        this.metrics.started(request);
+
+        switch (request.getRequestType()) {
+            case START:
+                startEngine(request);
+                break;
+            case STOP:
+                stopEngine(request);
+                stop = true;
+                break;
+            case CLEAR:
+                clear(request);
+                break;
+            case CREATE_SESSION:
+                createSession(request);
+                break;
+            case COMMIT_SESSION:
+                commitSession(request);
+                break;
+            case ROLLBACK_SESSION:
+                rollbackSession(request);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * @return the statistics of the requests made to this engine (never <code>null</code>)
+     */
+    public RequestMetrics getMetrics() {
+        return this.metrics;
+    }
+
     @Override
     public void run() {
         while (!stop) {
@@ -620,29 +1002,7 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
 
                 if (request == null) continue;
 
-                switch (request.getRequestType()) {
-                    case START:
-                        startEngine(request);
-                        break;
-                    case STOP:
-                        stopEngine(request);
-                        stop = true;
-                        break;
-                    case CLEAR:
-                        clear(request);
-                        break;
-                    case CREATE_SESSION:
-                        createSession(request);
-                        break;
-                    case COMMIT_SESSION:
-                        commitSession(request);
-                        break;
-                    case ROLLBACK_SESSION:
-                        rollbackSession(request);
-                        break;
-                    default:
-                        break;
-                }
+                process(request);
 
             } catch (final Exception e) {
                 stop = true;
@@ -657,7 +1017,31 @@ public class ModeshapeEngineThread extends Thread implements StringConstants {
      * @param request
      *        the request made to the engine
      */
-    public void accept( Request request ) {
+    public void accept( final Request request ) {
+        this.metrics.queued(request);
+
+        final ExecutorService worker = selectSessionWorker(request);
+
+        if (worker != null) {
+            try {
+                worker.execute(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        try {
+                            process(request);
+                        } catch (final Exception e) {
+                            KEngine.getInstance().getErrorHandler().error(Messages.getString(Messages.LocalRepository.General_Exception), e);
+                        }
+                    }
+                });
+
+                return;
+            } catch (final RejectedExecutionException ex) {
+                // workers are being shutdown so let the engine thread process the request
+            }
+        }
+
         try {
             queue.put(request);
         } catch (InterruptedException ex) {
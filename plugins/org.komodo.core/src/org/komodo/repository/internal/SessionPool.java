@@ -0,0 +1,368 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.repository.internal;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.jcr.Session;
+import org.komodo.repository.Messages;
+import org.komodo.spi.constants.SystemConstants;
+import org.komodo.utils.ArgCheck;
+import org.komodo.utils.KLog;
+
+/**
+ * A bounded pool of pre-created JCR sessions for a workspace.
+ *
+ * Idle sessions are kept in two lanes, one for read-only transactions and one for transactions that may be committed, so
+ * that a burst of readers cannot starve writers. Sessions are refreshed when borrowed so they never expose state left over
+ * from a previous transaction. Borrowed sessions are tracked and any session held longer than the leak threshold is
+ * reported. The read-write lane is topped up on a background thread so callers never wait for sessions to be created.
+ */
+public class SessionPool {
+
+    /**
+     * The default number of idle sessions kept in each lane of the pool.
+     */
+    public static final int DEFAULT_SIZE = 4;
+
+    /**
+     * The default time, in milliseconds, a session can be borrowed before it is reported as leaked.
+     */
+    public static final long DEFAULT_LEAK_THRESHOLD = TimeUnit.MINUTES.toMillis(5);
+
+    private static final KLog LOGGER = KLog.getLogger();
+
+    private static final long LEAK_CHECK_INTERVAL = TimeUnit.SECONDS.toMillis(30);
+
+    private static final long DISPOSE_TIMEOUT = TimeUnit.SECONDS.toMillis(5);
+
+    private static class Lease {
+
+        private final String name;
+        private final boolean readOnly;
+        private final long borrowedAt;
+        private boolean reported;
+
+        Lease( final String name,
+               final boolean readOnly ) {
+            this.name = name;
+            this.readOnly = readOnly;
+            this.borrowedAt = System.currentTimeMillis();
+        }
+
+    }
+
+    private final WorkspaceIdentifier identifier;
+    private final int size;
+    private final long leakThreshold;
+    private final BlockingQueue< Session > readOnlySessions;
+    private final BlockingQueue< Session > readWriteSessions;
+    private final Map< Session, Lease > leases = new ConcurrentHashMap< Session, Lease >();
+    private final AtomicLong lastLeakCheck = new AtomicLong(System.currentTimeMillis());
+    private final AtomicBoolean replenishQueued = new AtomicBoolean();
+    private final ExecutorService replenisher;
+    private volatile boolean disposed = false;
+
+    /**
+     * @param identifier
+     *        the identifier of the workspace the sessions are created for (cannot be <code>null</code>)
+     * @param size
+     *        the maximum number of idle sessions kept in each lane (must be positive)
+     * @param leakThreshold
+     *        the time, in milliseconds, a session can be borrowed before being reported as leaked
+     */
+    public SessionPool( final WorkspaceIdentifier identifier,
+                        final int size,
+                        final long leakThreshold ) {
+        ArgCheck.isNotNull(identifier, "identifier"); //$NON-NLS-1$
+        ArgCheck.isTrue(size > 0, "size must be positive"); //$NON-NLS-1$
+
+        this.identifier = identifier;
+        this.size = size;
+        this.leakThreshold = leakThreshold;
+        this.readOnlySessions = new LinkedBlockingQueue< Session >(size);
+        this.readWriteSessions = new LinkedBlockingQueue< Session >(size);
+        this.replenisher = Executors.newSingleThreadExecutor(new ThreadFactory() {
+
+            @Override
+            public Thread newThread( final Runnable runnable ) {
+                final Thread thread = new Thread(runnable, "SessionPool Replenisher"); //$NON-NLS-1$
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * @return the configured number of idle sessions for each lane or zero if pooling has been disabled
+     * @see SystemConstants#ENGINE_SESSION_POOL_SIZE
+     */
+    public static int getConfiguredSize() {
+        final String value = System.getProperty(SystemConstants.ENGINE_SESSION_POOL_SIZE);
+
+        if (value == null || value.trim().isEmpty())
+            return DEFAULT_SIZE;
+
+        try {
+            return Math.max(0, Integer.parseInt(value.trim()));
+        } catch (final NumberFormatException ex) {
+            LOGGER.warn("SessionPool: invalid value \"{0}\" for {1}", value, SystemConstants.ENGINE_SESSION_POOL_SIZE); //$NON-NLS-1$
+            return DEFAULT_SIZE;
+        }
+    }
+
+    private BlockingQueue< Session > lane( final boolean readOnly ) {
+        return (readOnly ? this.readOnlySessions : this.readWriteSessions);
+    }
+
+    private void logout( final Session session ) {
+        if (session != null && session.isLive()) {
+            LOGGER.debug("SessionPool.logout: {0}", session.hashCode()); //$NON-NLS-1$
+            session.logout();
+        }
+    }
+
+    private void fill( final BlockingQueue< Session > lane ) throws Exception {
+        while (!this.disposed && (lane.remainingCapacity() > 0)) {
+            final Session session = ModeshapeUtils.createSession(this.identifier);
+
+            if (!lane.offer(session)) {
+                logout(session);
+                break;
+            }
+        }
+    }
+
+    /**
+     * Pre-creates sessions so that both lanes of the pool are full.
+     *
+     * @throws Exception
+     *         if a session cannot be created
+     */
+    public void warm() throws Exception {
+        fill(this.readOnlySessions);
+        fill(this.readWriteSessions);
+        LOGGER.debug("SessionPool.warm: {0} read-only and {1} read-write sessions available", //$NON-NLS-1$
+                     this.readOnlySessions.size(),
+                     this.readWriteSessions.size());
+    }
+
+    /**
+     * Tops up the read-write lane on the pool's background thread and returns immediately. Read-write sessions are not
+     * returned to the pool after a commit so this should be called once a committed session has been discarded. Calls made
+     * while a top up is already queued are folded into it.
+     */
+    public void replenish() {
+        if (this.disposed || !this.replenishQueued.compareAndSet(false, true))
+            return;
+
+        try {
+            this.replenisher.execute(new Runnable() {
+
+                @Override
+                public void run() {
+                    // cleared first so a session discarded while filling queues another pass
+                    SessionPool.this.replenishQueued.set(false);
+
+                    try {
+                        fill(SessionPool.this.readWriteSessions);
+                    } catch (final Exception e) {
+                        LOGGER.debug("SessionPool.replenish: unable to create session", e); //$NON-NLS-1$
+                    }
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            // disposed
+            this.replenishQueued.set(false);
+        }
+    }
+
+    /**
+     * @param name
+     *        the name of the transaction borrowing the session (cannot be empty)
+     * @param readOnly
+     *        <code>true</code> if the session will only be used for reading and will not be committed
+     * @return a refreshed, live session (never <code>null</code>)
+     * @throws Exception
+     *         if a session cannot be obtained
+     */
+    public Session borrow( final String name,
+                           final boolean readOnly ) throws Exception {
+        ArgCheck.isNotEmpty(name, "name"); //$NON-NLS-1$
+        checkForLeaks(false);
+
+        final BlockingQueue< Session > lane = lane(readOnly);
+        Session session = null;
+
+        while ((session = lane.poll()) != null) {
+            if (!session.isLive())
+                continue;
+
+            try {
+                // discard anything cached by the previous borrower and pick up changes saved since
+                session.refresh(false);
+                break;
+            } catch (final Exception e) {
+                LOGGER.debug("SessionPool.borrow: discarding session that could not be refreshed", e); //$NON-NLS-1$
+                logout(session);
+            }
+        }
+
+        if (session == null) {
+            session = ModeshapeUtils.createSession(this.identifier);
+        }
+
+        this.leases.put(session, new Lease(name, readOnly));
+        LOGGER.debug("SessionPool.borrow: transaction = {0}, session = {1}, readOnly = {2}", name, session.hashCode(), readOnly); //$NON-NLS-1$
+        return session;
+    }
+
+    /**
+     * Returns a borrowed session to the pool. Sessions with pending changes, or that do not fit in the pool, are logged out.
+     *
+     * @param session
+     *        the session being returned (can be <code>null</code>)
+     */
+    public void release( final Session session ) {
+        if (session == null)
+            return;
+
+        final Lease lease = this.leases.remove(session);
+
+        try {
+            if (this.disposed || (lease == null) || !session.isLive() || session.hasPendingChanges()
+                || !lane(lease.readOnly).offer(session)) {
+                logout(session);
+            }
+        } catch (final Exception e) {
+            logout(session);
+        }
+    }
+
+    /**
+     * Logs out a borrowed session without returning it to the pool.
+     *
+     * @param session
+     *        the session being discarded (can be <code>null</code>)
+     */
+    public void discard( final Session session ) {
+        if (session == null)
+            return;
+
+        this.leases.remove(session);
+        logout(session);
+    }
+
+    /**
+     * @param readOnly
+     *        <code>true</code> for the read-only lane
+     * @return the number of idle sessions in the lane
+     */
+    public int getIdleCount( final boolean readOnly ) {
+        return lane(readOnly).size();
+    }
+
+    /**
+     * @return the number of sessions currently borrowed
+     */
+    public int getBorrowedCount() {
+        return this.leases.size();
+    }
+
+    /**
+     * Reports sessions that have been borrowed for longer than the leak threshold. Each leaked session is only reported once.
+     *
+     * @param force
+     *        <code>true</code> if the check should be run even if one was recently done
+     * @return the number of sessions currently considered leaked
+     */
+    public int checkForLeaks( final boolean force ) {
+        final long now = System.currentTimeMillis();
+        final long lastCheck = this.lastLeakCheck.get();
+
+        if (!force && (((now - lastCheck) < LEAK_CHECK_INTERVAL) || !this.lastLeakCheck.compareAndSet(lastCheck, now)))
+            return 0;
+
+        int leaked = 0;
+
+        for (final Entry< Session, Lease > entry : this.leases.entrySet()) {
+            final Lease lease = entry.getValue();
+            final long held = now - lease.borrowedAt;
+
+            if (held < this.leakThreshold)
+                continue;
+
+            if (!entry.getKey().isLive()) {
+                // logged out by someone else so no longer a leak
+                this.leases.remove(entry.getKey());
+                continue;
+            }
+
+            ++leaked;
+
+            if (!lease.reported) {
+                lease.reported = true;
+                LOGGER.warn(Messages.getString(Messages.LocalRepository.Session_Leak,
+                                               lease.name,
+                                               TimeUnit.MILLISECONDS.toSeconds(held)));
+            }
+        }
+
+        return leaked;
+    }
+
+    /**
+     * Stops replenishing and logs out all idle sessions. Borrowed sessions are left to their transactions.
+     */
+    public void dispose() {
+        this.disposed = true;
+        this.replenisher.shutdownNow();
+
+        try {
+            // a session being created when disposed is offered to the lane so wait for it before draining
+            if (!this.replenisher.awaitTermination(DISPOSE_TIMEOUT, TimeUnit.MILLISECONDS))
+                LOGGER.debug("SessionPool.dispose: replenisher did not stop within {0}ms", DISPOSE_TIMEOUT); //$NON-NLS-1$
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        Session session = null;
+        while ((session = this.readOnlySessions.poll()) != null)
+            logout(session);
+
+        while ((session = this.readWriteSessions.poll()) != null)
+            logout(session);
+
+        this.leases.clear();
+    }
+
+}
@@ -389,4 +389,25 @@ public class ObjectSearcher implements SQLConstants {
         List<KomodoObject> objects = searchObjects(uow, statement);
         return objects;
     }
+
+    /**
+     * Performs the search using the parameters of this object searcher returning only one page of the results. The objects
+     * are created as the returned iterator advances.
+     *
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> or have a state that is not {@link State#NOT_STARTED})
+     * @param offset
+     *        the number of results to skip (cannot be negative)
+     * @param limit
+     *        the maximum number of results or {@link Repository#NO_LIMIT} if all remaining results should be returned
+     * @return the {@link KomodoObject}s resulting from this search (never <code>null</code>)
+     * @throws KException if error occurs
+     */
+    public Iterator<KomodoObject> searchObjects(final UnitOfWork transaction, long offset, long limit) throws KException {
+        ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
+        ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
+
+        String statement = createStatement();
+        return getRepository().query(transaction, statement, offset, limit);
+    }
 }
@@ -22,10 +22,12 @@
 package org.komodo.importer;
 
 import java.io.BufferedInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileReader;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.TimeUnit;
 import org.komodo.importer.ImportOptions.ExistingNodeOptions;
 import org.komodo.importer.ImportOptions.OptionKeys;
@@ -107,19 +109,21 @@ public abstract class AbstractImporter implements StringConstants {
         return true;
     }
 
+    private String read(Reader reader) throws Exception {
+        // Read the contents
+        char[] buf = new char[FileUtils.DEFAULT_BUFFER_SIZE];
+        StringBuilder builder = new StringBuilder();
+        for (int charTot = reader.read(buf); charTot >= 0; charTot = reader.read(buf))
+            builder.append(buf, 0, charTot);
+
+        return builder.toString();
+    }
+
     protected String toString(File aFile) throws Exception {
-        StringBuilder builder;
         FileReader fileReader = null;
         try {
             fileReader = new FileReader(aFile);
-
-            // Read the file contents
-            char[] buf = new char[FileUtils.DEFAULT_BUFFER_SIZE];
-            builder = new StringBuilder();
-            for (int charTot = fileReader.read(buf); charTot >= 0; charTot = fileReader.read(buf))
-                builder.append(buf, 0, charTot);
-
-            return builder.toString();
+            return read(fileReader);
         } finally {
             if (fileReader != null)
                 fileReader.close();
@@ -127,16 +131,7 @@ public abstract class AbstractImporter implements StringConstants {
     }
 
     protected String toString(InputStream inputStream) throws Exception {
-        BufferedInputStream bis = new BufferedInputStream(inputStream);
-        ByteArrayOutputStream buf = new ByteArrayOutputStream();
-        int result = bis.read();
-        while (result != -1) {
-            byte b = (byte)result;
-            buf.write(b);
-            result = bis.read();
-        }
-
-        return buf.toString();
+        return read(new InputStreamReader(inputStream));
     }
 
     protected boolean handleExistingNode(UnitOfWork transaction,
@@ -170,6 +165,25 @@ public abstract class AbstractImporter implements StringConstants {
                                                                                     ImportOptions importOptions,
                                                                                     ImportMessages importMessages) throws KException;
 
+    /*
+     * Importers that can store their content as a binary override this so that the content is streamed
+     * into the repository rather than being read into a string first. By default the content is read as
+     * UTF-8 and imported as a string.
+     */
+    protected KomodoObject executeImport(UnitOfWork transaction,
+                                                                 InputStream content,
+                                                                 ImportOptions importOptions,
+                                                                 ImportMessages importMessages) throws KException {
+        String contentString;
+        try {
+            contentString = read(new InputStreamReader(content, StandardCharsets.UTF_8));
+        } catch (Exception ex) {
+            throw new KException(ex);
+        }
+
+        return executeImport(transaction, contentString, importOptions, importMessages);
+    }
+
     protected KomodoObject prepareImport(String content, ImportOptions importOptions, ImportMessages importMessages) throws Exception {
 
         if(StringUtils.isEmpty(content)) {
@@ -177,6 +191,27 @@ public abstract class AbstractImporter implements StringConstants {
             return null;
         }
 
+        return doImport(content, null, importOptions, importMessages);
+    }
+
+    protected KomodoObject prepareImport(InputStream content, ImportOptions importOptions, ImportMessages importMessages) throws Exception {
+        ArgCheck.isNotNull(content);
+
+        //
+        // Only peek at the first byte as the content is streamed into the repository
+        //
+        BufferedInputStream stream = new BufferedInputStream(content, FileUtils.DEFAULT_BUFFER_SIZE);
+        stream.mark(1);
+        if (stream.read() == -1) {
+            importMessages.addErrorMessage(Messages.getString(IMPORTER.errorEmptyMsg));
+            return null;
+        }
+        stream.reset();
+
+        return doImport(null, stream, importOptions, importMessages);
+    }
+
+    private KomodoObject doImport(String content, InputStream stream, ImportOptions importOptions, ImportMessages importMessages) throws Exception {
         ArgCheck.isNotNull(importType);
 
         SynchronousCallback callback = new SynchronousCallback();
@@ -191,7 +226,8 @@ public abstract class AbstractImporter implements StringConstants {
         //
         // Create object in workspace
         //
-        KomodoObject resultNode = executeImport(transaction, content, importOptions, importMessages);
+        KomodoObject resultNode = (stream == null) ? executeImport(transaction, content, importOptions, importMessages) :
+                                                                             executeImport(transaction, stream, importOptions, importMessages);
 
         //
         // Commit the operations performed in handling existing node
@@ -207,7 +243,7 @@ public abstract class AbstractImporter implements StringConstants {
         // Ensure that the result node has really been created in the repository
         //
         if (resultNode != null) {
-            transaction = getRepository().createTransaction(IMPORT_TRANSACTION_NAME, true, null);
+            transaction = getRepository().createReadOnlyTransaction(IMPORT_TRANSACTION_NAME, null);
             KomodoObject node = null;
             try {
                 node = getRepository().getFromWorkspace(transaction, resultNode.getAbsolutePath());
@@ -223,30 +259,36 @@ public abstract class AbstractImporter implements StringConstants {
         //
         // Check whether the transaction or sequencers produced an error
         //
-        if (callback.hasError()) {
-            Throwable exception = callback.error();
-            while (exception.getCause() != null) {
-                //
-                // Zero down to the root cause of the exception
-                //
-                exception = exception.getCause();
-            }
+        if (callback.hasError())
+            addErrorMessage(callback.error(), importMessages);
 
-            String message = exception.getLocalizedMessage();
-            if (exception instanceof TeiidDdlParsingException) {
-                TeiidDdlParsingException teiidEx = (TeiidDdlParsingException) exception;
-                Position position = teiidEx.getPosition();
+        return resultNode;
+    }
 
-                message = Messages.getString(Messages.IMPORTER.teiidParserException,
-                                                                   teiidEx.getMessage(),
-                                                                   position.getLine(),
-                                                                   position.getColumn());
-            }
+    /*
+     * Add the root cause of the given error to the import messages
+     */
+    protected void addErrorMessage(Throwable error, ImportMessages importMessages) {
+        Throwable exception = error;
+        while (exception.getCause() != null) {
+            //
+            // Zero down to the root cause of the exception
+            //
+            exception = exception.getCause();
+        }
 
-            importMessages.addErrorMessage(message);
+        String message = exception.getLocalizedMessage();
+        if (exception instanceof TeiidDdlParsingException) {
+            TeiidDdlParsingException teiidEx = (TeiidDdlParsingException) exception;
+            Position position = teiidEx.getPosition();
+
+            message = Messages.getString(Messages.IMPORTER.teiidParserException,
+                                                               teiidEx.getMessage(),
+                                                               position.getLine(),
+                                                               position.getColumn());
         }
 
-        return resultNode;
+        importMessages.addErrorMessage(message);
     }
 
     protected String determineNewName(UnitOfWork transaction, String nodeName) throws KException {
@@ -77,7 +77,13 @@ public class ImportOptions {
         /**
          * What to do if there is already a vdb with the same name
          */
-        HANDLE_EXISTING(ExistingNodeOptions.OVERWRITE);
+        HANDLE_EXISTING(ExistingNodeOptions.OVERWRITE),
+
+        /**
+         * Number of DDL statements sequenced and committed per transaction. The default of zero imports the
+         * whole DDL in a single transaction.
+         */
+        BULK_CHUNK_SIZE(0);
 
         private Object defaultValue;
 
@@ -48,7 +48,15 @@ public class Messages implements StringConstants {
         newNameFailure,
         nodeCreated,
         nodeCreationFailed,
-        teiidParserException;
+        teiidParserException,
+        bulkChunkImported,
+        bulkChunkFailed,
+        bulkChunkTimedOut,
+        bulkImportComplete,
+        bulkImportRemoved,
+        fileImported,
+        fileImportFailed,
+        parallelImportComplete;
 
         @Override
         public String toString() {
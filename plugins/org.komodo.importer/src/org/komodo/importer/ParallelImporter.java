@@ -0,0 +1,314 @@
+/*************************************************************************************
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership. Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ ************************************************************************************/
+package org.komodo.importer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.komodo.importer.ImportOptions.OptionKeys;
+import org.komodo.importer.ddl.DdlImporter;
+import org.komodo.importer.vdb.VdbImporter;
+import org.komodo.spi.constants.StringConstants;
+import org.komodo.spi.constants.SystemConstants;
+import org.komodo.spi.repository.KomodoObject;
+import org.komodo.spi.repository.Repository;
+import org.komodo.utils.ArgCheck;
+import org.komodo.utils.KLog;
+
+/**
+ * Imports a set of DDL and VDB files concurrently. Each file is imported by its own {@link DdlImporter} or {@link VdbImporter}
+ * and so in its own transaction. The messages of every import are collected into one summary that records how long each
+ * file took.
+ */
+public class ParallelImporter implements StringConstants {
+
+    /**
+     * The glob pattern used to find the files of a directory when no pattern is supplied.
+     */
+    public static final String DEFAULT_FILE_PATTERN = "*.{ddl,xml}"; //$NON-NLS-1$
+
+    private static final String DDL_EXTENSION = DOT + "ddl"; //$NON-NLS-1$
+
+    private static final String XML_EXTENSION = DOT + "xml"; //$NON-NLS-1$
+
+    private static final KLog LOGGER = KLog.getLogger();
+
+    /**
+     * The result of importing one file.
+     */
+    public static class FileImport {
+
+        private final File file;
+        private final ImportMessages importMessages = new ImportMessages();
+        private KomodoObject result;
+        private long elapsed;
+
+        FileImport(final File file) {
+            this.file = file;
+        }
+
+        /**
+         * @return the elapsed time of the import in milliseconds
+         */
+        public long getElapsedTime() {
+            return this.elapsed;
+        }
+
+        /**
+         * @return the file that was imported (never <code>null</code>)
+         */
+        public File getFile() {
+            return this.file;
+        }
+
+        /**
+         * @return the messages of this file's import (never <code>null</code>)
+         */
+        public ImportMessages getImportMessages() {
+            return this.importMessages;
+        }
+
+        /**
+         * @return the object created by the import or <code>null</code> if the import failed
+         */
+        public KomodoObject getResult() {
+            return this.result;
+        }
+
+    }
+
+    private static int getWorkerCount() {
+        final int defaultCount = Runtime.getRuntime().availableProcessors();
+        final String value = System.getProperty(SystemConstants.IMPORT_WORKERS);
+
+        if (value == null || value.trim().isEmpty()) {
+            return defaultCount;
+        }
+
+        try {
+            final int count = Integer.parseInt(value.trim());
+            return (count > 0) ? count : defaultCount;
+        } catch (final NumberFormatException ex) {
+            LOGGER.warn("ParallelImporter: invalid value \"{0}\" for {1}", value, SystemConstants.IMPORT_WORKERS); //$NON-NLS-1$
+            return defaultCount;
+        }
+    }
+
+    /**
+     * @param directory
+     *        the directory whose files are being requested (cannot be <code>null</code>)
+     * @param filePattern
+     *        the glob pattern the file names must match (can be empty if {@link #DEFAULT_FILE_PATTERN} should be used)
+     * @return the matching files sorted by name (never <code>null</code> but can be empty)
+     * @throws IOException
+     *         if the directory cannot be read
+     */
+    public static List<File> findFiles(final File directory,
+                                       final String filePattern) throws IOException {
+        ArgCheck.isNotNull(directory, "directory"); //$NON-NLS-1$
+
+        final String glob = (filePattern == null || filePattern.isEmpty()) ? DEFAULT_FILE_PATTERN : filePattern;
+        final List<File> files = new ArrayList<>();
+
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(directory.toPath(), glob)) {
+            for (final Path path : stream) {
+                if (Files.isRegularFile(path)) {
+                    files.add(path.toFile());
+                }
+            }
+        }
+
+        Collections.sort(files);
+        return files;
+    }
+
+    private final Repository repository;
+    private final int workers;
+
+    /**
+     * Uses the number of workers set by the {@link SystemConstants#IMPORT_WORKERS} system property or, if not set, the number
+     * of available processors.
+     *
+     * @param repository
+     *        the repository the files are imported into (cannot be <code>null</code>)
+     */
+    public ParallelImporter(final Repository repository) {
+        this(repository, getWorkerCount());
+    }
+
+    /**
+     * @param repository
+     *        the repository the files are imported into (cannot be <code>null</code>)
+     * @param workers
+     *        the maximum number of files imported at the same time (must be positive)
+     */
+    public ParallelImporter(final Repository repository,
+                            final int workers) {
+        ArgCheck.isNotNull(repository, "repository"); //$NON-NLS-1$
+        ArgCheck.isTrue(workers > 0, "workers must be positive"); //$NON-NLS-1$
+
+        this.repository = repository;
+        this.workers = workers;
+    }
+
+    /**
+     * Files ending in <code>.ddl</code> are imported as models and all other files are imported as VDBs. The imported object
+     * is named after its file.
+     *
+     * @param files
+     *        the files being imported (cannot be <code>null</code>)
+     * @param importOptions
+     *        the options shared by all the imports (can be <code>null</code> if the defaults should be used)
+     * @param importMessages
+     *        the summary of all the imports (cannot be <code>null</code>)
+     * @return the result of each file's import in the same order as the files (never <code>null</code>)
+     * @throws InterruptedException
+     *         if interrupted while waiting for the imports to finish
+     */
+    public List<FileImport> importFiles(final List<File> files,
+                                        final ImportOptions importOptions,
+                                        final ImportMessages importMessages) throws InterruptedException {
+        ArgCheck.isNotNull(files, "files"); //$NON-NLS-1$
+        ArgCheck.isNotNull(importMessages, "importMessages"); //$NON-NLS-1$
+
+        final List<FileImport> imports = new ArrayList<>(files.size());
+
+        if (files.isEmpty()) {
+            return imports;
+        }
+
+        final long start = System.currentTimeMillis();
+        final ExecutorService executor = createExecutor(Math.min(this.workers, files.size()));
+        final List<Future<FileImport>> futures = new ArrayList<>(files.size());
+
+        try {
+            for (final File file : files) {
+                futures.add(executor.submit(new Callable<FileImport>() {
+
+                    @Override
+                    public FileImport call() throws Exception {
+                        return importFile(file, importOptions);
+                    }
+                }));
+            }
+
+            for (int i = 0; i < futures.size(); ++i) {
+                FileImport fileImport = null;
+
+                try {
+                    fileImport = futures.get(i).get();
+                } catch (final ExecutionException ex) {
+                    fileImport = new FileImport(files.get(i));
+                    fileImport.importMessages.addErrorMessage(ex.getCause().getLocalizedMessage());
+                }
+
+                imports.add(fileImport);
+                summarize(fileImport, importMessages);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        importMessages.addProgressMessage(Messages.getString(Messages.IMPORTER.parallelImportComplete,
+                                                            files.size(),
+                                                            System.currentTimeMillis() - start));
+        return imports;
+    }
+
+    private ExecutorService createExecutor(final int count) {
+        final AtomicInteger threadCount = new AtomicInteger();
+
+        return Executors.newFixedThreadPool(count, new ThreadFactory() {
+
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(runnable, ParallelImporter.class.getSimpleName() + HYPHEN
+                                                         + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    private FileImport importFile(final File file,
+                                  final ImportOptions importOptions) {
+        final FileImport fileImport = new FileImport(file);
+        final ImportOptions options = new ImportOptions();
+
+        if (importOptions != null) {
+            options.mergeOptions(importOptions);
+        }
+
+        options.setOption(OptionKeys.NAME, file.getName());
+
+        final long start = System.currentTimeMillis();
+
+        if (file.getName().toLowerCase().endsWith(DDL_EXTENSION)) {
+            final DdlImporter importer = new DdlImporter(this.repository);
+            importer.setImportType(ImportType.MODEL);
+            fileImport.result = importer.importDdl(file, options, fileImport.importMessages);
+        } else {
+            if (!file.getName().toLowerCase().endsWith(XML_EXTENSION)) {
+                LOGGER.debug("ParallelImporter: importing \"{0}\" as a VDB", file); //$NON-NLS-1$
+            }
+
+            options.setOption(OptionKeys.VDB_FILE_PATH, file.getAbsolutePath());
+            final VdbImporter importer = new VdbImporter(this.repository);
+            fileImport.result = importer.importVdb(file, options, fileImport.importMessages);
+        }
+
+        fileImport.elapsed = System.currentTimeMillis() - start;
+        return fileImport;
+    }
+
+    private void summarize(final FileImport fileImport,
+                           final ImportMessages importMessages) {
+        final String fileName = fileImport.file.getName();
+
+        if (fileImport.importMessages.hasError() || fileImport.result == null) {
+            importMessages.addProgressMessage(Messages.getString(Messages.IMPORTER.fileImportFailed,
+                                                                fileName,
+                                                                fileImport.elapsed));
+
+            for (final String error : fileImport.importMessages.getErrorMessages()) {
+                importMessages.addErrorMessage(fileName + COLON + SPACE + error);
+            }
+        } else {
+            importMessages.addProgressMessage(Messages.getString(Messages.IMPORTER.fileImported,
+                                                                fileName,
+                                                                fileImport.elapsed));
+        }
+    }
+
+}
@@ -22,7 +22,24 @@
 package org.komodo.importer.ddl;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.jcr.Node;
+import javax.jcr.NodeIterator;
+import javax.jcr.Property;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+import javax.jcr.Value;
 import org.komodo.importer.AbstractImporter;
 import org.komodo.importer.ImportMessages;
 import org.komodo.importer.ImportOptions;
@@ -32,13 +49,19 @@ import org.komodo.importer.Messages;
 import org.komodo.relational.model.Model;
 import org.komodo.relational.model.Schema;
 import org.komodo.relational.vdb.Vdb;
+import org.komodo.repository.KSequencerController.SequencerType;
+import org.komodo.repository.RepositoryImpl.UnitOfWorkImpl;
+import org.komodo.repository.SynchronousCallback;
 import org.komodo.spi.KException;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.Repository;
 import org.komodo.spi.repository.Repository.UnitOfWork;
 import org.komodo.utils.ArgCheck;
+import org.komodo.utils.KLog;
 import org.komodo.utils.ModelType;
+import org.komodo.utils.StringUtils;
 import org.modeshape.sequencer.ddl.StandardDdlLexicon;
+import org.modeshape.sequencer.ddl.dialect.teiid.TeiidDdlLexicon.Constraint;
 import org.modeshape.sequencer.ddl.dialect.teiid.TeiidDdlParser;
 
 /**
@@ -46,6 +69,67 @@ import org.modeshape.sequencer.ddl.dialect.teiid.TeiidDdlParser;
  */
 public class DdlImporter extends AbstractImporter {
 
+    private static final String BULK_TRANSACTION_NAME = "bulk-import-ddl"; //$NON-NLS-1$
+
+    private static final String BULK_CHUNK_NODE = "bulkImportChunk"; //$NON-NLS-1$
+
+    private static final String BULK_CHUNK_PROPERTY = "bulkImportDdl"; //$NON-NLS-1$
+
+    private static final String IDENTIFIER = "\"(?:[^\"]|\"\")*\"|[^\\s(),;]+"; //$NON-NLS-1$
+
+    private static final Pattern CREATE_TABLE_PATTERN =
+        Pattern.compile("^CREATE\\s+(?:(?:FOREIGN|VIRTUAL|GLOBAL\\s+TEMPORARY)\\s+)?(?:TABLE|VIEW)\\s+(" + IDENTIFIER + ")", //$NON-NLS-1$ //$NON-NLS-2$
+                        Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern FOREIGN_KEY_PATTERN =
+        Pattern.compile("FOREIGN\\s+KEY\\s*\\(([^)]*)\\)\\s*REFERENCES\\s+(" + IDENTIFIER + ")(?:\\s*\\(([^)]*)\\))?", //$NON-NLS-1$ //$NON-NLS-2$
+                        Pattern.CASE_INSENSITIVE);
+
+    /*
+     * A foreign key of a bulk imported table. The parser only resolves the table a foreign key references when both are in
+     * the same chunk, so the names are read from the DDL to resolve the references that cross chunks.
+     */
+    private static class ForeignKeyReference {
+
+        private final String table;
+        private final List<String> columns;
+        private final String referencedTable;
+        private final List<String> referencedColumns;
+
+        ForeignKeyReference(String table, List<String> columns, String referencedTable, List<String> referencedColumns) {
+            this.table = table;
+            this.columns = columns;
+            this.referencedTable = referencedTable;
+            this.referencedColumns = referencedColumns;
+        }
+
+        /*
+         * Find the foreign key constraint sequenced for this reference if the parser could not resolve its table
+         */
+        Node findUnresolvedConstraint(Node target) throws RepositoryException {
+            Node tableNode = getChild(target, this.table);
+            if (tableNode == null)
+                return null;
+
+            NodeIterator children = tableNode.getNodes();
+            while (children.hasNext()) {
+                Node child = children.nextNode();
+                if (! child.isNodeType(Constraint.FOREIGN_KEY_CONSTRAINT) || child.hasProperty(Constraint.TABLE_REFERENCE)
+                    || ! child.hasProperty(Constraint.REFERENCES))
+                    continue;
+
+                List<String> names = new ArrayList<>();
+                for (Value value : child.getProperty(Constraint.REFERENCES).getValues())
+                    names.add(child.getSession().getNodeByIdentifier(value.getString()).getName());
+
+                if (names.equals(this.columns))
+                    return child;
+            }
+
+            return null;
+        }
+    }
+
     /**
      * constructor
      *
@@ -56,10 +140,10 @@ public class DdlImporter extends AbstractImporter {
         super(repository, ImportType.MODEL);
     }
 
-    @Override
-    protected KomodoObject executeImport(UnitOfWork transaction, String content,
-                                                                     ImportOptions importOptions,
-                                                                     ImportMessages importMessages) throws KException {
+    /*
+     * Create the model (and its vdb) or the schema that will be the parent of the sequenced DDL
+     */
+    private KomodoObject createTarget(UnitOfWork transaction, ImportOptions importOptions) throws KException {
         String name = importOptions.getOption(OptionKeys.NAME).toString();
 
         switch(importType) {
@@ -69,14 +153,12 @@ public class DdlImporter extends AbstractImporter {
                 Vdb vdb = getWorkspaceManager().createVdb(transaction, getWorkspace(transaction), "vdb-for-" + name, name); //$NON-NLS-1$
                 Model model = getWorkspaceManager().createModel(transaction, vdb, name);
                 model.setModelType(transaction, Model.Type.valueOf(modelType.toString()));
-                model.setModelDefinition(transaction, content);
                 model.setProperty(transaction, StandardDdlLexicon.PARSER_ID, TeiidDdlParser.ID);
                 return model;
             }
             case SCHEMA:
             {
                 Schema schema = getWorkspaceManager().createSchema(transaction, getWorkspace(transaction), name);
-                schema.setRendition(transaction, content);
                 schema.setProperty(transaction, StandardDdlLexicon.PARSER_ID, TeiidDdlParser.ID);
                 return schema;
             }
@@ -85,8 +167,311 @@ public class DdlImporter extends AbstractImporter {
         }
     }
 
+    @Override
+    protected KomodoObject executeImport(UnitOfWork transaction, String content,
+                                                                     ImportOptions importOptions,
+                                                                     ImportMessages importMessages) throws KException {
+        KomodoObject target = createTarget(transaction, importOptions);
+
+        if (target instanceof Model)
+            ((Model) target).setModelDefinition(transaction, content);
+        else
+            ((Schema) target).setRendition(transaction, content);
+
+        return target;
+    }
+
+    private int getBulkChunkSize(ImportOptions importOptions) {
+        Object chunkSize = importOptions.getOption(OptionKeys.BULK_CHUNK_SIZE);
+        if (chunkSize instanceof Number)
+            return ((Number) chunkSize).intValue();
+
+        return Integer.parseInt(chunkSize.toString());
+    }
+
+    /*
+     * Reads the DDL a statement at a time, sequencing and committing every chunk of statements in its own transaction.
+     * Each chunk is only read once the previous chunk has been committed so at most one chunk is held in memory.
+     *
+     * Unlike a normal import the DDL is not stored as the model definition or schema rendition. Storing it would hold the
+     * whole DDL in memory and have it sequenced again when committed, so the DDL of a bulk imported target has to be
+     * obtained by exporting it instead.
+     *
+     * If any chunk fails the target is removed again so a failed import does not leave a partial target in the workspace.
+     */
+    protected KomodoObject bulkImport(Reader ddlReader, ImportOptions importOptions, ImportMessages importMessages) throws Exception {
+        ArgCheck.isNotNull(importType);
+        int chunkSize = getBulkChunkSize(importOptions);
+        long start = System.currentTimeMillis();
+
+        //
+        // Create the empty model or schema
+        //
+        SynchronousCallback callback = new SynchronousCallback();
+        UnitOfWork transaction = getRepository().createTransaction(BULK_TRANSACTION_NAME, false, callback);
+
+        if (! handleExistingNode(transaction, importOptions, importMessages)) {
+            // Handling existing node advises not to continue
+            transaction.rollback();
+            return null;
+        }
+
+        KomodoObject target = null;
+        String createdPath = null;
+        try {
+            target = createTarget(transaction, importOptions);
+            if (target instanceof Model) {
+                ((Model) target).setMetadataType(transaction, Model.DEFAULT_METADATA_TYPE);
+                // the vdb was only created to hold the model
+                createdPath = target.getParent(transaction).getAbsolutePath();
+            } else
+                createdPath = target.getAbsolutePath();
+        } catch (Exception ex) {
+            transaction.rollback();
+            throw ex;
+        }
+
+        transaction.commit();
+
+        //
+        // Sequence the statements a chunk at a time
+        //
+        String targetPath = target.getAbsolutePath();
+        List<ForeignKeyReference> foreignKeys = new ArrayList<>();
+        StringBuilder chunk = new StringBuilder();
+        int chunkStatements = 0;
+        int chunks = 0;
+        int total = 0;
+        boolean imported = false;
+
+        try (DdlStatementReader reader = new DdlStatementReader(ddlReader)) {
+            if (! awaitChunk(callback, 0, importMessages)) {
+                importMessages.addErrorMessage(Messages.getString(Messages.IMPORTER.nodeCreationFailed));
+                return null;
+            }
+
+            String statement = reader.nextStatement();
+
+            while (statement != null || chunkStatements > 0) {
+                if (statement != null) {
+                    chunk.append(statement).append(NEW_LINE);
+                    foreignKeys.addAll(parseForeignKeys(statement));
+                    ++chunkStatements;
+                    statement = reader.nextStatement();
+
+                    if (statement != null && chunkStatements < chunkSize)
+                        continue;
+                }
+
+                ++chunks;
+                if (! sequenceChunk(targetPath, chunk.toString(), chunks, foreignKeys, importMessages))
+                    return null;
+
+                total += chunkStatements;
+                importMessages.addProgressMessage(Messages.getString(Messages.IMPORTER.bulkChunkImported,
+                                                                     chunks,
+                                                                     chunkStatements,
+                                                                     total));
+                chunk.setLength(0);
+                chunkStatements = 0;
+            }
+
+            for (ForeignKeyReference foreignKey : foreignKeys) {
+                KLog.getLogger().debug("The table {0} referenced by a foreign key of {1} was not found", //$NON-NLS-1$
+                                       foreignKey.referencedTable, foreignKey.table);
+            }
+
+            imported = true;
+        } finally {
+            if (! imported)
+                removeTarget(createdPath, importMessages);
+        }
+
+        if (total == 0) {
+            importMessages.addErrorMessage(Messages.getString(Messages.IMPORTER.errorEmptyMsg));
+            return target;
+        }
+
+        importMessages.addProgressMessage(Messages.getString(Messages.IMPORTER.bulkImportComplete,
+                                                             total,
+                                                             chunks,
+                                                             System.currentTimeMillis() - start));
+        return target;
+    }
+
+    /*
+     * Remove the target of a failed bulk import in its own transaction. Failures are only logged so they do not hide the
+     * error that failed the import.
+     */
+    private void removeTarget(String path, ImportMessages importMessages) {
+        try {
+            SynchronousCallback callback = new SynchronousCallback();
+            UnitOfWork transaction = getRepository().createTransaction(BULK_TRANSACTION_NAME, false, callback);
+
+            if (getRepository().getFromWorkspace(transaction, path) == null) {
+                // creation of the target was never committed
+                transaction.rollback();
+                return;
+            }
+
+            getRepository().remove(transaction, path);
+            transaction.commit();
+
+            if (! callback.await(3, TimeUnit.MINUTES) || callback.hasError()) {
+                KLog.getLogger().error("Failed to remove {0} after its bulk import failed", callback.error(), path); //$NON-NLS-1$
+                return;
+            }
+
+            importMessages.addProgressMessage(Messages.getString(Messages.IMPORTER.bulkImportRemoved, path));
+        } catch (Exception ex) {
+            KLog.getLogger().error("Failed to remove {0} after its bulk import failed", ex, path); //$NON-NLS-1$
+        }
+    }
+
+    /*
+     * Read the foreign keys of a CREATE TABLE or CREATE VIEW statement
+     */
+    private static List<ForeignKeyReference> parseForeignKeys(String statement) {
+        List<ForeignKeyReference> foreignKeys = new ArrayList<>();
+        Matcher createMatcher = CREATE_TABLE_PATTERN.matcher(statement);
+        if (! createMatcher.find())
+            return foreignKeys;
+
+        String table = unquote(createMatcher.group(1));
+        Matcher matcher = FOREIGN_KEY_PATTERN.matcher(statement);
+        matcher.region(createMatcher.end(), statement.length());
+        while (matcher.find()) {
+            foreignKeys.add(new ForeignKeyReference(table,
+                                                    parseIdentifiers(matcher.group(1)),
+                                                    unquote(matcher.group(2)),
+                                                    parseIdentifiers(matcher.group(3))));
+        }
+
+        return foreignKeys;
+    }
+
+    private static List<String> parseIdentifiers(String identifiers) {
+        List<String> names = new ArrayList<>();
+        if (identifiers == null)
+            return names;
+
+        for (String identifier : identifiers.split(COMMA))
+            names.add(unquote(identifier.trim()));
+
+        return names;
+    }
+
+    private static String unquote(String identifier) {
+        if (identifier.length() > 1 && identifier.startsWith(SPEECH_MARK) && identifier.endsWith(SPEECH_MARK))
+            return identifier.substring(1, identifier.length() - 1).replace(SPEECH_MARK + SPEECH_MARK, SPEECH_MARK);
+
+        return identifier;
+    }
+
+    private static Node getChild(Node parent, String name) {
+        try {
+            return parent.hasNode(name) ? parent.getNode(name) : null;
+        } catch (RepositoryException ex) {
+            // not a valid node name so there is no such child
+            return null;
+        }
+    }
+
+    /*
+     * Resolve the foreign keys whose referenced table was sequenced by an earlier chunk or by this one. A foreign key that
+     * the parser resolved, or whose table was not created, is dropped and one whose referenced table is still to come is
+     * kept for the later chunks.
+     */
+    private static void resolveForeignKeys(Node target, List<ForeignKeyReference> foreignKeys) throws RepositoryException {
+        Iterator<ForeignKeyReference> iter = foreignKeys.iterator();
+        while (iter.hasNext()) {
+            ForeignKeyReference foreignKey = iter.next();
+            Node constraint = foreignKey.findUnresolvedConstraint(target);
+            if (constraint == null) {
+                iter.remove();
+                continue;
+            }
+
+            Node referencedTable = getChild(target, foreignKey.referencedTable);
+            if (referencedTable == null)
+                continue;
+
+            constraint.setProperty(Constraint.TABLE_REFERENCE, referencedTable);
+
+            List<Value> columns = new ArrayList<>();
+            for (String name : foreignKey.referencedColumns) {
+                Node column = getChild(referencedTable, name);
+                if (column == null)
+                    KLog.getLogger().debug("The column {0} of {1} referenced by a foreign key was not found", name, foreignKey.referencedTable); //$NON-NLS-1$
+                else
+                    columns.add(target.getSession().getValueFactory().createValue(column));
+            }
+
+            if (! columns.isEmpty())
+                constraint.setProperty(Constraint.TABLE_REFERENCE_REFERENCES, columns.toArray(new Value[columns.size()]));
+
+            iter.remove();
+        }
+    }
+
+    /*
+     * Sequence the chunk of DDL beneath the target node and wait for the transaction to be committed. The chunk is staged on
+     * a child node that is removed before the commit so only the sequenced statements are persisted.
+     */
+    private boolean sequenceChunk(String targetPath, String ddl, int chunkNumber, List<ForeignKeyReference> foreignKeys,
+                                  ImportMessages importMessages) throws Exception {
+        SynchronousCallback callback = new SynchronousCallback();
+        UnitOfWork transaction = getRepository().createTransaction(BULK_TRANSACTION_NAME, false, callback);
+
+        try {
+            Session session = ((UnitOfWorkImpl) transaction).getSession();
+            Node target = session.getNode(targetPath);
+            Node chunkNode = target.addNode(BULK_CHUNK_NODE);
+            Property input = chunkNode.setProperty(BULK_CHUNK_PROPERTY, ddl);
+
+            boolean sequenced = ((org.modeshape.jcr.api.Session) session).sequence(SequencerType.DDL.toString(), input, target);
+            chunkNode.remove();
+
+            if (! sequenced) {
+                transaction.rollback();
+                importMessages.addErrorMessage(Messages.getString(Messages.IMPORTER.bulkChunkFailed, chunkNumber));
+                return false;
+            }
+
+            resolveForeignKeys(target, foreignKeys);
+        } catch (Exception ex) {
+            KLog.getLogger().debug("Bulk import of chunk {0} failed", ex, chunkNumber); //$NON-NLS-1$
+            transaction.rollback();
+            addErrorMessage(ex, importMessages);
+            return false;
+        }
+
+        transaction.commit();
+        return awaitChunk(callback, chunkNumber, importMessages);
+    }
+
+    /*
+     * Waiting for each commit before reading any more DDL is the back-pressure that stops the reader from getting ahead of
+     * the repository
+     */
+    private boolean awaitChunk(SynchronousCallback callback, int chunkNumber, ImportMessages importMessages) throws Exception {
+        if (! callback.await(3, TimeUnit.MINUTES)) {
+            importMessages.addErrorMessage(Messages.getString(Messages.IMPORTER.bulkChunkTimedOut, chunkNumber));
+            return false;
+        }
+
+        if (callback.hasError()) {
+            addErrorMessage(callback.error(), importMessages);
+            return false;
+        }
+
+        return true;
+    }
+
     /**
      * Perform the model import using the specified DDL File.  The DDL constructs must be valid to put directly beneath a model.
+     * If the {@link OptionKeys#BULK_CHUNK_SIZE bulk chunk size} option is set the file is streamed and committed in chunks,
+     * the DDL is then not stored as the model definition or schema rendition and a target whose import fails is removed.
      * @param ddlFile the DDL file
      * @param importOptions the options for the import
      * @param importMessages the messages recorded during the import
@@ -99,7 +484,12 @@ public class DdlImporter extends AbstractImporter {
             return ko;
 
         try {
-            ko = prepareImport(toString(ddlFile), importOptions, importMessages);
+            if (getBulkChunkSize(importOptions) > 0) {
+                try (Reader ddlReader = new InputStreamReader(new FileInputStream(ddlFile), StandardCharsets.UTF_8)) {
+                    ko = bulkImport(ddlReader, importOptions, importMessages);
+                }
+            } else
+                ko = prepareImport(toString(ddlFile), importOptions, importMessages);
         } catch (Exception ex) {
             importMessages.addErrorMessage(ex.getLocalizedMessage());
         }
@@ -119,7 +509,10 @@ public class DdlImporter extends AbstractImporter {
 
         KomodoObject ko = null;
         try {
-            ko = prepareImport(toString(ddlStream), importOptions, importMessages);
+            if (getBulkChunkSize(importOptions) > 0)
+                ko = bulkImport(new InputStreamReader(ddlStream, StandardCharsets.UTF_8), importOptions, importMessages);
+            else
+                ko = prepareImport(toString(ddlStream), importOptions, importMessages);
         } catch (Exception ex) {
             importMessages.addErrorMessage(ex.getLocalizedMessage());
         }
@@ -137,7 +530,10 @@ public class DdlImporter extends AbstractImporter {
     public KomodoObject importDdl(String ddl, ImportOptions importOptions, ImportMessages importMessages) {
         KomodoObject ko = null;
         try {
-            ko = prepareImport(ddl, importOptions, importMessages);
+            if (getBulkChunkSize(importOptions) > 0 && ! StringUtils.isEmpty(ddl))
+                ko = bulkImport(new StringReader(ddl), importOptions, importMessages);
+            else
+                ko = prepareImport(ddl, importOptions, importMessages);
         } catch (Exception ex) {
             importMessages.addErrorMessage(ex.getLocalizedMessage());
         }
@@ -0,0 +1,198 @@
+/*************************************************************************************
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership. Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ ************************************************************************************/
+package org.komodo.importer.ddl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import org.komodo.spi.constants.StringConstants;
+
+/**
+ * Reads DDL one statement at a time so that large DDL files never have to be held in memory. Statements end with a semicolon
+ * that is not inside a quoted string, a comment or a <code>BEGIN</code> ... <code>END</code> (or <code>CASE</code> ...
+ * <code>END</code>) block. The returned statements include their terminating semicolon.
+ */
+public class DdlStatementReader implements Closeable, StringConstants {
+
+    private static final char SEMICOLON_CHAR = ';';
+
+    private final Reader reader;
+    private int pushedBack = -1;
+
+    /**
+     * @param reader
+     *        the reader of the DDL (cannot be <code>null</code>)
+     */
+    public DdlStatementReader( final Reader reader ) {
+        this.reader = reader;
+    }
+
+    private int read() throws IOException {
+        if ( this.pushedBack >= 0 ) {
+            final int c = this.pushedBack;
+            this.pushedBack = -1;
+            return c;
+        }
+
+        return this.reader.read();
+    }
+
+    /**
+     * @return the next statement or <code>null</code> if there are no more statements
+     * @throws IOException
+     *         if the DDL cannot be read
+     */
+    public String nextStatement() throws IOException {
+        final StringBuilder statement = new StringBuilder();
+        final StringBuilder word = new StringBuilder();
+        int depth = 0;
+        int c;
+
+        while ( ( c = read() ) != -1 ) {
+            if ( Character.isLetterOrDigit( c ) || ( c == '_' ) ) {
+                word.append( ( char )c );
+                statement.append( ( char )c );
+                continue;
+            }
+
+            depth = endWord( word, depth );
+
+            if ( ( c == '\'' ) || ( c == '"' ) ) {
+                statement.append( ( char )c );
+                readQuoted( c, statement );
+            } else if ( c == '-' ) {
+                final int next = read();
+
+                if ( next == '-' ) {
+                    skipLineComment( statement );
+                } else {
+                    statement.append( ( char )c );
+                    this.pushedBack = next;
+                }
+            } else if ( c == '/' ) {
+                final int next = read();
+
+                if ( next == '*' ) {
+                    skipBlockComment( statement );
+                } else {
+                    statement.append( ( char )c );
+                    this.pushedBack = next;
+                }
+            } else {
+                statement.append( ( char )c );
+
+                if ( ( c == SEMICOLON_CHAR ) && ( depth <= 0 ) ) {
+                    final String result = statement.toString().trim();
+
+                    if ( !result.equals( SEMI_COLON ) ) {
+                        return result;
+                    }
+
+                    // empty statement
+                    statement.setLength( 0 );
+                    depth = 0;
+                }
+            }
+        }
+
+        endWord( word, depth );
+        final String result = statement.toString().trim();
+        return ( result.isEmpty() ? null : result );
+    }
+
+    private static int endWord( final StringBuilder word,
+                                int depth ) {
+        if ( word.length() == 0 ) {
+            return depth;
+        }
+
+        final String text = word.toString();
+        word.setLength( 0 );
+
+        if ( "BEGIN".equalsIgnoreCase( text ) || "CASE".equalsIgnoreCase( text ) ) { //$NON-NLS-1$ //$NON-NLS-2$
+            return depth + 1;
+        }
+
+        if ( "END".equalsIgnoreCase( text ) ) { //$NON-NLS-1$
+            return depth - 1;
+        }
+
+        return depth;
+    }
+
+    private void readQuoted( final int quote,
+                             final StringBuilder statement ) throws IOException {
+        int c;
+
+        while ( ( c = read() ) != -1 ) {
+            statement.append( ( char )c );
+
+            if ( c == quote ) {
+                final int next = read();
+
+                if ( next != quote ) {
+                    this.pushedBack = next;
+                    return;
+                }
+
+                // escaped quote
+                statement.append( ( char )next );
+            }
+        }
+    }
+
+    private void skipLineComment( final StringBuilder statement ) throws IOException {
+        int c;
+
+        while ( ( c = read() ) != -1 ) {
+            if ( c == '\n' ) {
+                statement.append( ( char )c );
+                return;
+            }
+        }
+    }
+
+    private void skipBlockComment( final StringBuilder statement ) throws IOException {
+        int previous = -1;
+        int c;
+
+        while ( ( c = read() ) != -1 ) {
+            if ( ( previous == '*' ) && ( c == '/' ) ) {
+                statement.append( SPACE );
+                return;
+            }
+
+            previous = c;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+
+}
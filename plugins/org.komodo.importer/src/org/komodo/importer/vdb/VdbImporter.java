@@ -22,6 +22,7 @@
 package org.komodo.importer.vdb;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.InputStream;
 import org.komodo.importer.AbstractImporter;
 import org.komodo.importer.ImportMessages;
@@ -57,6 +58,19 @@ public class VdbImporter extends AbstractImporter {
                                                                      ImportOptions importOptions,
                                                                      ImportMessages importMessages) throws KException {
 
+        return createVdb(transaction, content, importOptions);
+    }
+
+    @Override
+    protected KomodoObject executeImport(UnitOfWork transaction,
+                                                                     InputStream content,
+                                                                     ImportOptions importOptions,
+                                                                     ImportMessages importMessages) throws KException {
+        // The stream is written to a binary so large files go straight to the binary store
+        return createVdb(transaction, content, importOptions);
+    }
+
+    private Vdb createVdb(UnitOfWork transaction, Object content, ImportOptions importOptions) throws KException {
         String vdbName = importOptions.getOption(OptionKeys.NAME).toString();
         String vdbFilePath = importOptions.getOption(OptionKeys.VDB_FILE_PATH).toString();
         KomodoObject workspace = getWorkspace(transaction);
@@ -80,7 +94,7 @@ public class VdbImporter extends AbstractImporter {
 
         KomodoObject ko = null;
         try {
-            ko = prepareImport(toString(vdbStream), importOptions, importMessages);
+            ko = prepareImport(vdbStream, importOptions, importMessages);
         } catch (Exception ex) {
             importMessages.addErrorMessage(ex.getLocalizedMessage());
         }
@@ -102,10 +116,20 @@ public class VdbImporter extends AbstractImporter {
         if (!validFile(vdbXmlFile, importMessages))
             return ko;
 
+        InputStream vdbStream = null;
         try {
-            ko = prepareImport(toString(vdbXmlFile), importOptions, importMessages);
+            vdbStream = new FileInputStream(vdbXmlFile);
+            ko = prepareImport(vdbStream, importOptions, importMessages);
         } catch (Exception ex) {
             importMessages.addErrorMessage(ex.getLocalizedMessage());
+        } finally {
+            if (vdbStream != null) {
+                try {
+                    vdbStream.close();
+                } catch (Exception ex) {
+                    // nothing to do
+                }
+            }
         }
 
         return ko;
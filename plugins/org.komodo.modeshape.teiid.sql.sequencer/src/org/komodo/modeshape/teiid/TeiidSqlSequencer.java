@@ -24,25 +24,39 @@ package org.komodo.modeshape.teiid;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
 import javax.jcr.Binary;
 import javax.jcr.NamespaceRegistry;
 import javax.jcr.Node;
+import javax.jcr.NodeIterator;
 import javax.jcr.Property;
+import javax.jcr.PropertyIterator;
 import javax.jcr.RepositoryException;
 import javax.jcr.Value;
 import javax.jcr.ValueFactory;
+import javax.jcr.nodetype.NodeType;
 import org.komodo.modeshape.teiid.cnd.TeiidSqlLexicon;
 import org.komodo.modeshape.teiid.parser.SQQueryParser;
 import org.komodo.modeshape.teiid.sql.lang.ASTNode;
+import org.komodo.spi.constants.StringConstants;
+import org.komodo.spi.constants.SystemConstants;
 import org.komodo.spi.runtime.version.TeiidVersion;
 import org.komodo.spi.runtime.version.TeiidVersionProvider;
+import org.komodo.utils.ChecksumUtils;
 import org.komodo.utils.KLog;
-import org.modeshape.common.annotation.NotThreadSafe;
+import org.modeshape.common.annotation.ThreadSafe;
 import org.modeshape.common.text.ParsingException;
 import org.modeshape.common.util.CheckArg;
 import org.modeshape.common.util.IoUtil;
@@ -54,12 +68,171 @@ import org.modeshape.jcr.api.sequencer.Sequencer;
 
 /**
  * A sequencer for Teiid SQL files.
+ *
+ * Parsers are reused by the thread that created them and the parse results of
+ * recently sequenced sql are cached, so sql repeated across models is only parsed once.
+ * Cached {@link ASTNode} trees are shared so are never modified while being converted.
  */
-@NotThreadSafe
-public class TeiidSqlSequencer extends Sequencer {
+@ThreadSafe
+public class TeiidSqlSequencer extends Sequencer implements StringConstants {
+
+    /**
+     * The checksum of the sql, added to the root of the sequenced nodes, used to avoid
+     * sequencing unchanged sql again
+     */
+    public static final String SQL_CHECKSUM_PROP_NAME = TeiidSqlLexicon.Namespace.PREFIX + COLON + "sqlChecksum"; //$NON-NLS-1$
+
+    /**
+     * The default number of parsed sql statements that are cached
+     */
+    public static final int DEFAULT_PARSE_CACHE_SIZE = 100;
 
     private static final KLog LOGGER = KLog.getLogger();
 
+    /**
+     * Identifies a parsed sql statement in the cache
+     */
+    private static class ParseKey {
+
+        private final String teiidVersion;
+        private final long checksum;
+        private final String sql;
+
+        ParseKey(String teiidVersion, long checksum, String sql) {
+            this.teiidVersion = teiidVersion;
+            this.checksum = checksum;
+            this.sql = sql;
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 * teiidVersion.hashCode()) + (int)(checksum ^ (checksum >>> 32));
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (! (obj instanceof ParseKey))
+                return false;
+
+            // Compare the sql too since different statements can share a checksum
+            ParseKey other = (ParseKey)obj;
+            return checksum == other.checksum && teiidVersion.equals(other.teiidVersion) && sql.equals(other.sql);
+        }
+    }
+
+    /**
+     * The state of a single conversion of an {@link ASTNode} tree. Everything that is the same
+     * for all the nodes of the tree is only computed once.
+     */
+    private static class Conversion {
+
+        private final Session session;
+
+        private final ValueFactory valueFactory;
+
+        private final String teiidVersion;
+
+        private final Value teiidVersionValue;
+
+        // The ast nodes in the order their properties are to be written
+        private final List<ASTNode> astNodes = new ArrayList<ASTNode>();
+
+        // Ast nodes override equals so must be compared by identity
+        private final Map<ASTNode, Node> nodes = new IdentityHashMap<ASTNode, Node>();
+
+        // Ast nodes whose jcr nodes have been created rather than reused
+        private final Set<ASTNode> created = Collections.newSetFromMap(new IdentityHashMap<ASTNode, Boolean>());
+
+        // Encoded jcr names keyed by ast identifier
+        private final Map<String, String> jcrNames = new HashMap<String, String>();
+
+        Conversion(Session session, String teiidVersion) throws RepositoryException {
+            this.session = session;
+            this.valueFactory = session.getValueFactory();
+            this.teiidVersion = teiidVersion;
+            this.teiidVersionValue = valueFactory.createValue(teiidVersion);
+        }
+
+        void add(ASTNode astNode, Node node) {
+            astNodes.add(astNode);
+            nodes.put(astNode, node);
+        }
+
+        void addCreated(ASTNode astNode, Node node) {
+            add(astNode, node);
+            created.add(astNode);
+        }
+
+        boolean isCreated(ASTNode astNode) {
+            return created.contains(astNode);
+        }
+
+        String jcrName(ASTNode astNode) {
+            String astIdentifier = astNode.astIdentifier();
+            String jcrName = jcrNames.get(astIdentifier);
+            if (jcrName != null)
+                return jcrName;
+
+            jcrName = astIdentifier;
+            // if first character is a '{' then the name is prefixed by the namespace URL
+            if ((jcrName.charAt(0) == '{') && (jcrName.indexOf('}') != -1)) {
+                final int index = jcrName.indexOf('}');
+                String localName = jcrName.substring(index + 1);
+                localName = session.encode(localName);
+
+                jcrName = jcrName.substring(0, (index + 1)) + localName;
+            } else {
+                jcrName = session.encode(jcrName);
+            }
+
+            jcrNames.put(astIdentifier, jcrName);
+            return jcrName;
+        }
+
+        Node getNode(ASTNode astNode) {
+            if (astNode == null)
+                return null;
+
+            return nodes.get(astNode);
+        }
+    }
+
+    private final ThreadLocal<SQQueryParser> parsers = new ThreadLocal<SQQueryParser>();
+
+    private final Map<ParseKey, ASTNode> parseCache;
+
+    /**
+     * Create new instance
+     */
+    public TeiidSqlSequencer() {
+        final int cacheSize = getParseCacheSize();
+        this.parseCache = Collections.synchronizedMap(new LinkedHashMap<ParseKey, ASTNode>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ParseKey, ASTNode> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    private static int getParseCacheSize() {
+        String value = System.getProperty(SystemConstants.TSQL_PARSE_CACHE_SIZE);
+
+        if (value == null || value.trim().isEmpty())
+            return DEFAULT_PARSE_CACHE_SIZE;
+
+        try {
+            return Math.max(0, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException ex) {
+            LOGGER.warn("TeiidSqlSequencer: invalid value \"{0}\" for {1}", value, SystemConstants.TSQL_PARSE_CACHE_SIZE); //$NON-NLS-1$
+            return DEFAULT_PARSE_CACHE_SIZE;
+        }
+    }
+
     /**
      * @return the teiidVersion
      */
@@ -77,6 +250,36 @@ public class TeiidSqlSequencer extends Sequencer {
         return queryParser;
     }
 
+    /**
+     * @return the query parser of the current thread for the current teiid version
+     */
+    protected SQQueryParser getParser() {
+        SQQueryParser parser = parsers.get();
+        if (parser == null || ! parser.getTeiidVersion().equals(getTeiidVersion())) {
+            parser = createParser();
+            parsers.set(parser);
+        }
+
+        return parser;
+    }
+
+    /**
+     * @param sql the sql to be parsed
+     * @param checksum the checksum of the sql
+     * @return the cached or newly parsed {@link ASTNode} tree of the sql
+     * @throws Exception if the sql cannot be parsed
+     */
+    protected ASTNode parse(String sql, long checksum) throws Exception {
+        ParseKey key = new ParseKey(getTeiidVersion().toString(), checksum, sql);
+        ASTNode rootNode = parseCache.get(key);
+        if (rootNode != null)
+            return rootNode;
+
+        rootNode = getParser().parseDesignerCommand(sql);
+        parseCache.put(key, rootNode);
+        return rootNode;
+    }
+
     @Override
     public void initialize(NamespaceRegistry registry, NodeTypeManager nodeTypeManager) throws RepositoryException, IOException {
         registerNodeTypes("cnd/TeiidSql.cnd", nodeTypeManager, true); //$NON-NLS-1$
@@ -89,11 +292,22 @@ public class TeiidSqlSequencer extends Sequencer {
 
         // Perform the parsing
         final ASTNode rootNode;
-        SQQueryParser parser = createParser();
+        final long checksum;
         InputStream stream = sqlContent.getStream();
         try {
             String sql = IoUtil.read(stream);
-            rootNode = parser.parseDesignerCommand(sql);
+
+            //
+            // Nothing to do if the sql has already been sequenced
+            // by the same teiid version
+            //
+            checksum = ChecksumUtils.computeChecksum(sql);
+            if (isSequenced(outputNode, checksum)) {
+                LOGGER.debug("TeiidSqlSequencer: sql of {0} is unchanged so not re-sequenced", outputNode.getPath()); //$NON-NLS-1$
+                return false;
+            }
+
+            rootNode = parse(sql, checksum);
         } catch (ParsingException e) {
             LOGGER.error(Messages.getString(Messages.TeiidSqlSequencer.ErrorParsingContent), e, e.getLocalizedMessage());
             return false;
@@ -104,26 +318,108 @@ public class TeiidSqlSequencer extends Sequencer {
             stream.close();
         }
 
-        convertASTNode(rootNode, outputNode);
+        Node sequencedRoot = convertASTNode(rootNode, outputNode);
+        sequencedRoot.setProperty(SQL_CHECKSUM_PROP_NAME, checksum);
         return true;
     }
 
+    private boolean isSequenced(Node outputNode, long checksum) throws RepositoryException {
+        String teiidVersion = getTeiidVersion().toString();
+
+        NodeIterator children = outputNode.getNodes();
+        while (children.hasNext()) {
+            Node child = children.nextNode();
+            if (! child.hasProperty(SQL_CHECKSUM_PROP_NAME) ||
+                    ! child.hasProperty(TeiidSqlLexicon.LanguageObject.TEIID_VERSION_PROP_NAME))
+                continue;
+
+            return child.getProperty(SQL_CHECKSUM_PROP_NAME).getLong() == checksum &&
+                        teiidVersion.equals(child.getProperty(TeiidSqlLexicon.LanguageObject.TEIID_VERSION_PROP_NAME).getString());
+        }
+
+        return false;
+    }
+
+    private boolean isTeiidSqlNode(Node node) throws RepositoryException {
+        for (NodeType mixin : node.getMixinNodeTypes()) {
+            if (mixin.getName().startsWith(TeiidSqlLexicon.Namespace.PREFIX + COLON))
+                return true;
+        }
+
+        return false;
+    }
+
     /**
      * Converts the given {@link ASTNode} to a jcr {@link Node} and appends
      * it to the given output node.
      *
+     * Any teiid sql nodes previously sequenced beneath the output node are
+     * reused where they match the {@link ASTNode} tree so that only the
+     * branches that have changed are rewritten.
+     *
+     * The {@link ASTNode} tree is not modified so can be converted again.
+     *
      * @param rootNode ast node to be converted
      * @param outputNode node to have results appended to
+     * @return the jcr node converted from the root ast node
      * @throws RepositoryException if conversion is invalid
      */
-    public void convertASTNode(final ASTNode rootNode, Node outputNode) throws RepositoryException {
+    public Node convertASTNode(final ASTNode rootNode, Node outputNode) throws RepositoryException {
+        String rootName = rootNode.getAbsolutePath().substring(1);
+        Node existingRoot = null;
+
+        //
+        // Only one teiid sql tree is sequenced beneath the output node so
+        // keep the one matching the new root and remove any others
+        //
+        NodeIterator children = outputNode.getNodes();
+        while (children.hasNext()) {
+            Node child = children.nextNode();
+            if (! isTeiidSqlNode(child))
+                continue;
+
+            if (existingRoot == null && child.getName().equals(rootName) && isSameType(rootNode, child)) {
+                existingRoot = child;
+                continue;
+            }
+
+            child.remove();
+        }
+
+        // The nodes are all created first so that reference properties can always be resolved
+        Conversion conversion = new Conversion((Session)outputNode.getSession(), getTeiidVersion().toString());
+        if (existingRoot == null) {
+            createSubtree(outputNode, rootNode, conversion);
+        } else {
+            mergeSubtree(rootNode, existingRoot, conversion);
+        }
+
+        for (ASTNode astNode : conversion.astNodes) {
+            appendNodeProperties(astNode, conversion);
+        }
+
+        return conversion.getNode(rootNode);
+    }
+
+    private boolean isSameType(ASTNode astNode, Node node) throws RepositoryException {
+        if (! node.getPrimaryNodeType().getName().equals(astNode.getPrimaryType()))
+            return false;
+
+        Set<String> mixins = new HashSet<String>();
+        for (NodeType mixin : node.getMixinNodeTypes()) {
+            mixins.add(mixin.getName());
+        }
+
+        return mixins.equals(new HashSet<String>(astNode.getMixins()));
+    }
+
+    private void createSubtree(Node parent, ASTNode subtreeRoot, Conversion conversion) throws RepositoryException {
         Queue<ASTNode> queue = new LinkedList<ASTNode>();
-        queue.add(rootNode);
+        queue.add(subtreeRoot);
 
         while (queue.peek() != null) {
             ASTNode astNode = queue.poll();
-            Node sequenceNode = createFromASTNode(outputNode, astNode);
-            appendNodeProperties(astNode, sequenceNode);
+            createFromASTNode(parent, astNode, conversion);
 
             // Add the children to the queue ...
             Iterator<ASTNode> childIter = astNode.getChildren();
@@ -133,18 +429,131 @@ public class TeiidSqlSequencer extends Sequencer {
         }
     }
 
-    private void appendNodeProperties(ASTNode astNode, Node sequenceNode) throws RepositoryException {
-        ValueFactory valueFactory = sequenceNode.getSession().getValueFactory();
+    private void mergeSubtree(ASTNode astNode, Node existingNode, Conversion conversion) throws RepositoryException {
+        conversion.add(astNode, existingNode);
+        removeStaleProperties(astNode, existingNode);
+
+        if (! existingNode.hasProperty(TeiidSqlLexicon.LanguageObject.TEIID_VERSION_PROP_NAME) ||
+                ! conversion.teiidVersion.equals(existingNode.getProperty(TeiidSqlLexicon.LanguageObject.TEIID_VERSION_PROP_NAME).getString()))
+            existingNode.setProperty(TeiidSqlLexicon.LanguageObject.TEIID_VERSION_PROP_NAME, conversion.teiidVersionValue);
+
+        List<Node> existingChildren = new ArrayList<Node>();
+        NodeIterator nodeIter = existingNode.getNodes();
+        while (nodeIter.hasNext()) {
+            existingChildren.add(nodeIter.nextNode());
+        }
+
+        //
+        // Children are matched by position, name and type. From the first child that
+        // does not match, the existing children are removed and the new branches created
+        // in their place so that the order of the children is preserved.
+        //
+        int index = 0;
+        Iterator<ASTNode> childIter = astNode.getChildren();
+        while (childIter.hasNext()) {
+            ASTNode astChild = childIter.next();
+            Node existingChild = (index < existingChildren.size()) ? existingChildren.get(index) : null;
+
+            if (existingChild != null && existingChild.getName().equals(conversion.jcrName(astChild))
+                    && isSameType(astChild, existingChild)) {
+                mergeSubtree(astChild, existingChild, conversion);
+                ++index;
+                continue;
+            }
+
+            for (int i = index; i < existingChildren.size(); ++i) {
+                existingChildren.get(i).remove();
+            }
+            index = existingChildren.size();
+
+            createSubtree(existingNode, astChild, conversion);
+            while (childIter.hasNext()) {
+                createSubtree(existingNode, childIter.next(), conversion);
+            }
+        }
+
+        for (int i = index; i < existingChildren.size(); ++i) {
+            existingChildren.get(i).remove();
+        }
+    }
+
+    private void removeStaleProperties(ASTNode astNode, Node existingNode) throws RepositoryException {
+        List<String> propertyNames = astNode.getPropertyNames();
+
+        PropertyIterator propIter = existingNode.getProperties();
+        while (propIter.hasNext()) {
+            Property property = propIter.nextProperty();
+            String name = property.getName();
+
+            if (name.equals(TeiidSqlLexicon.LanguageObject.TEIID_VERSION_PROP_NAME) || name.equals(SQL_CHECKSUM_PROP_NAME))
+                continue;
+
+            if (property.getDefinition().isProtected() || propertyNames.contains(name))
+                continue;
+
+            property.remove();
+        }
+    }
+
+    private boolean isTypeProperty(String propertyName) {
+        return JcrConstants.JCR_PRIMARY_TYPE.equals(propertyName) || JcrConstants.JCR_MIXIN_TYPES.equals(propertyName);
+    }
+
+    private void appendNodeProperties(ASTNode astNode, Conversion conversion) throws RepositoryException {
+        Node sequenceNode = conversion.getNode(astNode);
+
+        //
+        // A created node has no properties to compare against
+        // so its properties can be written straight away
+        //
+        boolean created = conversion.isCreated(astNode);
 
         for (String propertyName : astNode.getPropertyNames()) {
+            // The types are added when the node is created
+            if (isTypeProperty(propertyName))
+                continue;
+
             Object astNodePropertyValue = astNode.getProperty(propertyName);
             if (astNodePropertyValue == null) {
-                sequenceNode.setProperty(propertyName, (Value) null);
+                if (! created && sequenceNode.hasProperty(propertyName))
+                    sequenceNode.setProperty(propertyName, (Value) null);
+                continue;
+            }
+
+            if (! (astNodePropertyValue instanceof Collection)) {
+                Value value = convertToPropertyValue(astNodePropertyValue, conversion);
+                if (! created && sequenceNode.hasProperty(propertyName)) {
+                    Property existing = sequenceNode.getProperty(propertyName);
+                    if (! existing.isMultiple() && existing.getValue().equals(value))
+                        continue;
+
+                    if (existing.isMultiple())
+                        existing.remove();
+                }
+
+                sequenceNode.setProperty(propertyName, value);
                 continue;
             }
 
-            List<Value> valuesList = convertToPropertyValues(astNodePropertyValue, valueFactory);
-            if (valuesList.size() == 1) {
+            List<Value> valuesList = new ArrayList<Value>();
+            convertToPropertyValues((Collection<?>)astNodePropertyValue, conversion, valuesList);
+            boolean multiple = valuesList.size() != 1;
+
+            if (! created && sequenceNode.hasProperty(propertyName)) {
+                //
+                // Only rewrite the property of an existing node if its value has changed
+                //
+                Property existing = sequenceNode.getProperty(propertyName);
+                if (existing.isMultiple() == multiple) {
+                    if (multiple ? Arrays.equals(existing.getValues(), valuesList.toArray(new Value[0]))
+                                 : existing.getValue().equals(valuesList.get(0)))
+                        continue;
+                } else {
+                    existing.remove();
+                }
+            }
+
+            if (! multiple) {
                 sequenceNode.setProperty(propertyName, valuesList.get(0));
             } else {
                 sequenceNode.setProperty(propertyName, valuesList.toArray(new Value[0]));
@@ -152,77 +561,56 @@ public class TeiidSqlSequencer extends Sequencer {
         }
     }
 
-    private Node createFromASTNode(Node parent, ASTNode astNode) throws RepositoryException {
-        String relativePath = astNode.getAbsolutePath().substring(1);
+    private Node createFromASTNode(Node parent, ASTNode astNode, Conversion conversion) throws RepositoryException {
         Node sequenceNode = null;
 
         // for SNS the absolute path will use first node it finds as the parent so find real parent if possible
-        Node parentNode = getNode(astNode.getParent());
+        Node parentNode = conversion.getNode(astNode.getParent());
 
         if (parentNode == null) {
+            String relativePath = astNode.getAbsolutePath().substring(1);
             sequenceNode = parent.addNode(relativePath, astNode.getPrimaryType());
         } else {
-            final Session session = (Session)parentNode.getSession();
-            String jcrName = astNode.astIdentifier();
-            // if first character is a '{' then the name is prefixed by the namespace URL
-            if ((jcrName.charAt(0) == '{') && (jcrName.indexOf('}') != -1)) {
-                final int index = jcrName.indexOf('}');
-                String localName = jcrName.substring(index + 1);
-                localName = session.encode(localName);
-
-                jcrName = jcrName.substring(0, (index + 1)) + localName;
-            } else {
-                jcrName = session.encode(jcrName);
-            }
-
-            sequenceNode = parentNode.addNode(jcrName, astNode.getPrimaryType());
+            sequenceNode = parentNode.addNode(conversion.jcrName(astNode), astNode.getPrimaryType());
         }
 
         // Add the mixin types to the sequence node
-        astNode.setSequencedNode(sequenceNode);
+        conversion.addCreated(astNode, sequenceNode);
         for (String mixin : astNode.getMixins()) {
             sequenceNode.addMixin(mixin);
         }
-        astNode.removeProperty(JcrConstants.JCR_MIXIN_TYPES);
-        astNode.removeProperty(JcrConstants.JCR_PRIMARY_TYPE);
 
         // Add the teiid version to the sequence node
-        sequenceNode.setProperty(TeiidSqlLexicon.LanguageObject.TEIID_VERSION_PROP_NAME, getTeiidVersion().toString());
+        sequenceNode.setProperty(TeiidSqlLexicon.LanguageObject.TEIID_VERSION_PROP_NAME, conversion.teiidVersionValue);
 
         return sequenceNode;
     }
 
-    private List<Value> convertToPropertyValues(Object objectValue, ValueFactory valueFactory) throws RepositoryException {
-        List<Value> result = new ArrayList<Value>();
-        if (objectValue instanceof Collection) {
-            Collection<?> objects = (Collection<?>)objectValue;
-            for (Object childObjectValue : objects) {
-                List<Value> childValues = convertToPropertyValues(childObjectValue, valueFactory);
-                result.addAll(childValues);
-            }
-        } else if (objectValue instanceof Boolean) {
-            result.add(valueFactory.createValue((Boolean)objectValue));
+    private void convertToPropertyValues(Collection<?> objectValues, Conversion conversion, List<Value> result) throws RepositoryException {
+        for (Object childObjectValue : objectValues) {
+            if (childObjectValue instanceof Collection)
+                convertToPropertyValues((Collection<?>)childObjectValue, conversion, result);
+            else
+                result.add(convertToPropertyValue(childObjectValue, conversion));
+        }
+    }
+
+    private Value convertToPropertyValue(Object objectValue, Conversion conversion) throws RepositoryException {
+        ValueFactory valueFactory = conversion.valueFactory;
+        if (objectValue instanceof Boolean) {
+            return valueFactory.createValue((Boolean)objectValue);
         } else if (objectValue instanceof Integer) {
-            result.add(valueFactory.createValue((Integer)objectValue));
+            return valueFactory.createValue((Integer)objectValue);
         } else if (objectValue instanceof Long) {
-            result.add(valueFactory.createValue((Long)objectValue));
+            return valueFactory.createValue((Long)objectValue);
         } else if (objectValue instanceof Double) {
-            result.add(valueFactory.createValue((Double)objectValue));
+            return valueFactory.createValue((Double)objectValue);
         } else if (objectValue instanceof Float) {
-            result.add(valueFactory.createValue((Float)objectValue));
+            return valueFactory.createValue((Float)objectValue);
         } else if (objectValue instanceof ASTNode) {
-            result.add(valueFactory.createValue(getNode((ASTNode)objectValue)));
-        } else {
-            result.add(valueFactory.createValue(objectValue.toString()));
+            return valueFactory.createValue(conversion.getNode((ASTNode)objectValue));
         }
-        return result;
-    }
-
-    private Node getNode(final ASTNode node) {
-        if (node == null)
-            return null;
 
-        Node sequencedNode = node.getSequencedNode();
-        return sequencedNode;
+        return valueFactory.createValue(objectValue.toString());
     }
 }
@@ -83,6 +83,13 @@ public class SQQueryParser implements QueryParser, StringConstants {
 	    return teiidParser;
 	}
 
+    /**
+     * @return the teiid version of this parser
+     */
+    public TeiidVersion getTeiidVersion() {
+        return this.teiidVersion;
+    }
+
     /**
      * @return the teiidParser
      */
@@ -21,6 +21,8 @@
  */
 package org.komodo.modeshape.visitor;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -80,7 +82,11 @@ public class DdlNodeVisitor extends AbstractNodeVisitor
         EXCLUDE_FUNCTIONS
     }
 
-    private StringBuilder ddlBuffer = new StringBuilder();
+    private final StringBuilder ddlBuffer;
+
+    private final Writer ddlWriter;
+
+    private boolean empty = true;
 
     private boolean includeTables = true;
 
@@ -238,8 +244,21 @@ public class DdlNodeVisitor extends AbstractNodeVisitor
      * @param exclusions any items that should be excluded from visiting
      */
     public DdlNodeVisitor(TeiidVersion version, boolean startOnNewLine, VisitorExclusions... exclusions) {
+        this(version, startOnNewLine, null, exclusions);
+    }
+
+    /**
+     * @param version teiid version
+     * @param startOnNewLine prepend new line to start of ddl string
+     * @param writer the writer the ddl is streamed to or <code>null</code> if the ddl should be collected by {@link #getDdl()}
+     * @param exclusions any items that should be excluded from visiting
+     */
+    public DdlNodeVisitor(TeiidVersion version, boolean startOnNewLine, Writer writer, VisitorExclusions... exclusions) {
         super(version);
 
+        this.ddlWriter = writer;
+        this.ddlBuffer = (writer == null) ? new StringBuilder() : null;
+
         if (exclusions != null) {
             for (VisitorExclusions exclusion : exclusions) {
                 switch (exclusion) {
@@ -256,14 +275,17 @@ public class DdlNodeVisitor extends AbstractNodeVisitor
             }
         }
         if( startOnNewLine ) {
-        	ddlBuffer.append(NEW_LINE);
+        	write(NEW_LINE);
         }
     }
 
     /**
-     * @return the complete visited ddl string
+     * @return the complete visited ddl string (never <code>null</code> but empty if the ddl was streamed to a writer)
      */
     public String getDdl() {
+        if (ddlBuffer == null)
+            return EMPTY_STRING;
+
         String ddl = ddlBuffer.toString();
 
         if (ddl.trim().isEmpty())
@@ -278,15 +300,42 @@ public class DdlNodeVisitor extends AbstractNodeVisitor
     }
 
     private DdlNodeVisitor append(Object o) {
-        if (NEW_LINE.equals(o) && ddlBuffer.length() == 0) {
+        if (NEW_LINE.equals(o) && empty) {
             // Ignore new line calls at the start of the whole text
             return this;
         }
 
-        ddlBuffer.append(o);
+        write(String.valueOf(o));
         return this;
     }
 
+    private void write(String text) {
+        empty = false;
+
+        if (ddlWriter == null) {
+            ddlBuffer.append(text);
+            return;
+        }
+
+        try {
+            ddlWriter.write(text);
+        } catch (IOException ex) {
+            throw new DdlWriteException(ex);
+        }
+    }
+
+    /*
+     * Carries a failure to write to the writer out of the visiting methods, none of which can throw an IOException
+     */
+    private static class DdlWriteException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        DdlWriteException(IOException cause) {
+            super(cause);
+        }
+    }
+
     private Set<DataTypeName> getLengthDataTypes() {
         if (lengthDataTypes == null) {
             lengthDataTypes = new HashSet<DataTypeName>();
@@ -951,6 +1000,8 @@ public class DdlNodeVisitor extends AbstractNodeVisitor
                     // Not a node we are interested in but may contain such nodes
                     visitChildren(node);
             }
+        } catch (DdlWriteException ex) {
+            throw new RepositoryException(ex.getCause());
         } catch (Exception ex) {
             throw new RepositoryException(ex);
         }
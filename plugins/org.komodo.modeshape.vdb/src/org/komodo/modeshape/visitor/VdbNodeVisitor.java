@@ -22,6 +22,7 @@
 package org.komodo.modeshape.visitor;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -172,6 +173,8 @@ public class VdbNodeVisitor extends AbstractNodeVisitor implements StringConstan
     
     private boolean showTabs;
 
+    private Map<String, String> modelDdl = Collections.emptyMap();
+
     /**
      * Create new visitor that writes to the given xml stream writer
      *
@@ -197,6 +200,16 @@ public class VdbNodeVisitor extends AbstractNodeVisitor implements StringConstan
     	this.showTabs = showTabs;
     }
 
+    /**
+     * Supplies DDL already generated for the models of the vdb, for instance concurrently, so
+     * it is not generated while the manifest is written. Models without DDL are visited as usual.
+     *
+     * @param modelDdl the DDL of each model keyed by the model's node path (can be <code>null</code>)
+     */
+    public void setModelDdl(Map<String, String> modelDdl) {
+        this.modelDdl = (modelDdl == null) ? Collections.<String, String>emptyMap() : modelDdl;
+    }
+
     private void writeNewLine(int total) throws XMLStreamException {
         for (int i = 0; i < total; ++i)
             writer.writeCharacters(NEW_LINE);
@@ -455,10 +468,14 @@ public class VdbNodeVisitor extends AbstractNodeVisitor implements StringConstan
         // Sources
         visitChild(node, NodeTypeName.SOURCES.getId());
 
-        DdlNodeVisitor visitor = new DdlNodeVisitor(getVersion(), showTabs);
-        visitor.visit(node);
+        String ddl = modelDdl.get(node.getPath());
+        if (ddl == null) {
+            DdlNodeVisitor visitor = new DdlNodeVisitor(getVersion(), showTabs);
+            visitor.visit(node);
+            ddl = visitor.getDdl();
+        }
 
-        if (! visitor.getDdl().isEmpty()) {
+        if (! ddl.isEmpty()) {
         	writeTab(ElementTabValue.MODEL_METADATA);
             writeStartElement(VdbLexicon.ManifestIds.METADATA);
             Property metaTypeProp = property(node, VdbLexicon.Model.METADATA_TYPE);
@@ -466,7 +483,7 @@ public class VdbNodeVisitor extends AbstractNodeVisitor implements StringConstan
             
         	writeNewLine();
         	writeTab(ElementTabValue.MODEL_METADATA + 1);
-            writeCData(visitor.getDdl());
+            writeCData(ddl);
 
             // end metadata tag
         	writeNewLine();
@@ -21,9 +21,12 @@
  */
 package org.komodo.relational.internal;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.komodo.relational.model.AccessPattern;
 import org.komodo.relational.model.internal.AccessPatternImpl;
@@ -57,21 +60,12 @@ import org.komodo.relational.vdb.internal.VdbImpl;
 import org.komodo.relational.vdb.internal.VdbImportImpl;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.KomodoType;
-import org.komodo.spi.utils.KeyInValueHashMap;
-import org.komodo.spi.utils.KeyInValueHashMap.KeyFromValueAdapter;
 
 /**
  *
  */
 public class TypeResolverRegistry {
 
-    private class KTypeAdapter implements KeyFromValueAdapter<KomodoType, TypeResolver<?>> {
-        @Override
-        public KomodoType getKey(TypeResolver<?> value) {
-            return value.identifier();
-        }
-    }
-
     private static TypeResolverRegistry instance;
 
     /**
@@ -84,12 +78,18 @@ public class TypeResolverRegistry {
         return instance;
     }
 
-    private KeyInValueHashMap<KomodoType, TypeResolver<?>> kTypeIndex =
-                    new KeyInValueHashMap<KomodoType, TypeResolver<?>>(new KTypeAdapter());
+    private Map<KomodoType, TypeResolver<?>> kTypeIndex = new EnumMap<KomodoType, TypeResolver<?>>(KomodoType.class);
 
     private Map<Class<? extends KomodoObject>, TypeResolver<?>> kClassIndex =
                     new HashMap<Class<? extends KomodoObject>, TypeResolver<?>>();
 
+    /**
+     * Each resolver once, in registration order.
+     */
+    private final List<TypeResolver<?>> resolvers = new ArrayList<TypeResolver<?>>();
+
+    private final Collection<TypeResolver<?>> unmodifiableResolvers = Collections.unmodifiableList(resolvers);
+
     private TypeResolverRegistry() {
 
         index(KomodoType.ACCESS_PATTERN, AccessPatternImpl.RESOLVER);
@@ -153,7 +153,8 @@ public class TypeResolverRegistry {
 
     @SuppressWarnings( "unchecked" )
     private void index(KomodoType kType, TypeResolver<?> resolver) {
-        kTypeIndex.add(resolver);
+        kTypeIndex.put(resolver.identifier(), resolver);
+        resolvers.add(resolver);
 
         // Indexes the impl class
         Class<? extends KomodoObject> owningClass = resolver.owningClass();
@@ -170,10 +171,10 @@ public class TypeResolverRegistry {
     }
 
     /**
-     * @return all registered resolvers
+     * @return all registered resolvers, each one only once and in registration order
      */
     public Collection<TypeResolver<?>> getResolvers() {
-      return Collections.unmodifiableCollection(kClassIndex.values());
+      return unmodifiableResolvers;
     }
 
     /**
@@ -7,6 +7,7 @@
  */
 package org.komodo.relational.model.internal;
 
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
@@ -33,6 +34,9 @@ import org.komodo.relational.vdb.ModelSource;
 import org.komodo.relational.vdb.Vdb;
 import org.komodo.relational.vdb.internal.ModelSourceImpl;
 import org.komodo.repository.ObjectImpl;
+import org.komodo.repository.RenditionCache;
+import org.komodo.repository.RenditionCache.Rendition;
+import org.komodo.repository.RenditionCache.RenditionWriter;
 import org.komodo.spi.KException;
 import org.komodo.spi.Messages;
 import org.komodo.spi.repository.KomodoObject;
@@ -761,10 +765,24 @@ public final class ModelImpl extends RelationalObjectImpl implements Model {
     }
 
     private String exportDdl(UnitOfWork transaction, Properties exportProperties) throws Exception {
+        RenditionCache cache = getRenditionCache(transaction);
+
+        if (cache != null) {
+            Rendition rendition = cache.get(getAbsolutePath(), RenditionCache.DDL);
+
+            if (rendition != null)
+                return rendition.getText();
+        }
+
+        long generation = ((cache == null) ? 0 : cache.getGeneration());
         DdlNodeVisitor visitor = new DdlNodeVisitor(TeiidVersionProvider.getInstance().getTeiidVersion(), false);
         visitor.visit(node(transaction));
 
         String result = visitor.getDdl();
+
+        if (cache != null)
+            cache.put(getAbsolutePath(), RenditionCache.DDL, result, generation);
+
         return result;
     }
 
@@ -796,4 +814,48 @@ public final class ModelImpl extends RelationalObjectImpl implements Model {
             throw handleError(e);
         }
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Exportable#export(org.komodo.spi.repository.Repository.UnitOfWork, java.util.Properties,
+     *      java.io.Writer)
+     */
+    @Override
+    public void export( final UnitOfWork transaction, final Properties exportProperties, final Writer writer ) throws KException {
+        ArgCheck.isNotNull(transaction);
+        ArgCheck.isNotNull(writer, "writer"); //$NON-NLS-1$
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("modelimpl-export: transaction = {0}", transaction.getName()); //$NON-NLS-1$
+        }
+
+        try {
+            RenditionCache cache = getRenditionCache(transaction);
+
+            if (cache == null) {
+                DdlNodeVisitor visitor = new DdlNodeVisitor(TeiidVersionProvider.getInstance().getTeiidVersion(), false, writer);
+                visitor.visit(node(transaction));
+                return;
+            }
+
+            Rendition rendition = cache.get(getAbsolutePath(), RenditionCache.DDL);
+
+            if (rendition != null) {
+                writer.write(rendition.getText());
+                return;
+            }
+
+            // stream the DDL, caching it only if it is short enough
+            long generation = cache.getGeneration();
+            RenditionWriter capture = cache.capture(writer);
+            DdlNodeVisitor visitor = new DdlNodeVisitor(TeiidVersionProvider.getInstance().getTeiidVersion(), false, capture);
+            visitor.visit(node(transaction));
+
+            if (capture.getText() != null)
+                cache.put(getAbsolutePath(), RenditionCache.DDL, capture.getText(), generation);
+        } catch (final Exception e) {
+            throw handleError(e);
+        }
+    }
 }
@@ -21,6 +21,7 @@
  */
 package org.komodo.relational.model.internal;
 
+import java.io.Writer;
 import java.util.Properties;
 import javax.jcr.Node;
 import org.komodo.core.KomodoLexicon;
@@ -31,6 +32,9 @@ import org.komodo.relational.internal.TypeResolver;
 import org.komodo.relational.model.Schema;
 import org.komodo.relational.workspace.WorkspaceManager;
 import org.komodo.repository.ObjectImpl;
+import org.komodo.repository.RenditionCache;
+import org.komodo.repository.RenditionCache.Rendition;
+import org.komodo.repository.RenditionCache.RenditionWriter;
 import org.komodo.spi.KException;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.KomodoType;
@@ -143,6 +147,17 @@ public class SchemaImpl extends RelationalObjectImpl implements Schema {
         ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
 
         try {
+            final RenditionCache cache = getRenditionCache( transaction );
+
+            if ( cache != null ) {
+                final Rendition rendition = cache.get( getAbsolutePath(), RenditionCache.DDL );
+
+                if ( rendition != null ) {
+                    return rendition.getText();
+                }
+            }
+
+            final long generation = ( ( cache == null ) ? 0 : cache.getGeneration() );
             final StringBuffer result = new StringBuffer();
             final Node schemaNode = node( transaction );
 
@@ -150,12 +165,60 @@ public class SchemaImpl extends RelationalObjectImpl implements Schema {
             visitor.visit( schemaNode );
             result.append( visitor.getDdl() );
 
+            if ( cache != null ) {
+                cache.put( getAbsolutePath(), RenditionCache.DDL, result.toString(), generation );
+            }
+
             return result.toString();
         } catch ( final Exception e ) {
             throw handleError( e );
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Exportable#export(org.komodo.spi.repository.Repository.UnitOfWork, java.util.Properties,
+     *      java.io.Writer)
+     */
+    @Override
+    public void export( final UnitOfWork transaction,
+                        final Properties properties,
+                        final Writer writer ) throws KException {
+        ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
+        ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
+        ArgCheck.isNotNull( writer, "writer" ); //$NON-NLS-1$
+
+        try {
+            final RenditionCache cache = getRenditionCache( transaction );
+
+            if ( cache == null ) {
+                final DdlNodeVisitor visitor = new DdlNodeVisitor( TeiidVersionProvider.getInstance().getTeiidVersion(), false, writer );
+                visitor.visit( node( transaction ) );
+                return;
+            }
+
+            final Rendition rendition = cache.get( getAbsolutePath(), RenditionCache.DDL );
+
+            if ( rendition != null ) {
+                writer.write( rendition.getText() );
+                return;
+            }
+
+            // stream the DDL, caching it only if it is short enough
+            final long generation = cache.getGeneration();
+            final RenditionWriter capture = cache.capture( writer );
+            final DdlNodeVisitor visitor = new DdlNodeVisitor( TeiidVersionProvider.getInstance().getTeiidVersion(), false, capture );
+            visitor.visit( node( transaction ) );
+
+            if ( capture.getText() != null ) {
+                cache.put( getAbsolutePath(), RenditionCache.DDL, capture.getText(), generation );
+            }
+        } catch ( final Exception e ) {
+            throw handleError( e );
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
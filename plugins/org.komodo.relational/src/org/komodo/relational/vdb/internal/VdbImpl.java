@@ -9,13 +9,23 @@ package org.komodo.relational.vdb.internal;
 
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamWriter;
+import org.komodo.modeshape.visitor.DdlNodeVisitor;
 import org.komodo.modeshape.visitor.VdbNodeVisitor;
 import org.komodo.relational.Messages;
 import org.komodo.relational.Messages.Relational;
@@ -34,6 +44,9 @@ import org.komodo.relational.workspace.WorkspaceManager;
 import org.komodo.repository.DescriptorImpl;
 import org.komodo.repository.ObjectImpl;
 import org.komodo.repository.PropertyDescriptorImpl;
+import org.komodo.repository.RenditionCache;
+import org.komodo.repository.RenditionCache.Rendition;
+import org.komodo.repository.RenditionCache.RenditionWriter;
 import org.komodo.spi.KException;
 import org.komodo.spi.constants.ExportConstants;
 import org.komodo.spi.repository.Descriptor;
@@ -45,6 +58,7 @@ import org.komodo.spi.repository.PropertyValueType;
 import org.komodo.spi.repository.Repository;
 import org.komodo.spi.repository.Repository.UnitOfWork;
 import org.komodo.spi.repository.Repository.UnitOfWork.State;
+import org.komodo.spi.runtime.version.TeiidVersion;
 import org.komodo.spi.runtime.version.TeiidVersionProvider;
 import org.komodo.utils.ArgCheck;
 import org.modeshape.sequencer.teiid.lexicon.VdbLexicon;
@@ -62,6 +76,12 @@ public final class VdbImpl extends RelationalObjectImpl implements Vdb {
     private static final KomodoType[] CHILD_TYPES = new KomodoType[] { DataRole.IDENTIFIER, Entry.IDENTIFIER, Model.IDENTIFIER,
                                                                       Translator.IDENTIFIER, VdbImport.IDENTIFIER };
 
+    /**
+     * The variants of the cached manifest renditions.
+     */
+    private static final String MANIFEST_RENDITION = "manifest"; //$NON-NLS-1$
+    private static final String TABBED_MANIFEST_RENDITION = "tabbedManifest"; //$NON-NLS-1$
+
 	/**
 	 * Include the special properties into the primary type descriptor.
 	 *
@@ -161,20 +181,7 @@ public final class VdbImpl extends RelationalObjectImpl implements Vdb {
         VdbManifestImpl( final UnitOfWork transaction,
                          final VdbImpl vdb, final Properties exportProperties ) throws KException {
             final StringWriter writer = new StringWriter();
-
-            try {
-                final XMLOutputFactory xof = XMLOutputFactory.newInstance();
-                final XMLStreamWriter xsw = xof.createXMLStreamWriter(writer);
-
-                final VdbNodeVisitor visitor = new VdbNodeVisitor(TeiidVersionProvider.getInstance().getTeiidVersion(), xsw);
-                if( exportProperties != null && !exportProperties.isEmpty() ) {
-                	boolean useTabs = exportProperties.containsKey(ExportConstants.USE_TABS_PROP_KEY);
-                	visitor.setShowTabs(useTabs);
-                }
-                visitor.visit(vdb.node(transaction));
-            } catch (final Exception e) {
-                throw new KException(e);
-            }
+            vdb.writeManifest( transaction, exportProperties, writer );
 
             // Create an XML Document from the filled writer
             this.xml = writer.toString().trim();
@@ -225,6 +232,21 @@ public final class VdbImpl extends RelationalObjectImpl implements Vdb {
             return this.xml;
         }
 
+        /**
+         * {@inheritDoc}
+         *
+         * @see org.komodo.spi.repository.Exportable#export(org.komodo.spi.repository.Repository.UnitOfWork,
+         *      java.util.Properties, java.io.Writer)
+         */
+        @Override
+        public void export( final UnitOfWork transaction, Properties properties, Writer writer ) throws KException {
+            try {
+                writer.write( this.xml );
+            } catch ( final Exception e ) {
+                throw new KException( e );
+            }
+        }
+
     }
 
     /**
@@ -407,6 +429,168 @@ public final class VdbImpl extends RelationalObjectImpl implements Vdb {
         return result;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.komodo.spi.repository.Exportable#export(org.komodo.spi.repository.Repository.UnitOfWork, java.util.Properties,
+     *      java.io.Writer)
+     */
+    @Override
+    public void export( final UnitOfWork transaction,
+                        final Properties properties,
+                        final Writer writer ) throws KException {
+        ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
+        ArgCheck.isTrue( ( transaction.getState() == State.NOT_STARTED ), "transaction state is not NOT_STARTED" ); //$NON-NLS-1$
+        ArgCheck.isNotNull( writer, "writer" ); //$NON-NLS-1$
+
+        writeManifest( transaction, properties, writer );
+    }
+
+    private void writeManifest( final UnitOfWork transaction,
+                                final Properties exportProperties,
+                                final Writer writer ) throws KException {
+        final boolean useTabs = ( ( exportProperties != null )
+                                  && exportProperties.containsKey( ExportConstants.USE_TABS_PROP_KEY ) );
+        final RenditionCache cache = getRenditionCache( transaction );
+
+        final int threads = getExportThreads( exportProperties );
+
+        if ( cache == null ) {
+            visitManifest( transaction, useTabs, threads, writer );
+            return;
+        }
+
+        final String variant = ( useTabs ? TABBED_MANIFEST_RENDITION : MANIFEST_RENDITION );
+        final Rendition rendition = cache.get( getAbsolutePath(), variant );
+
+        if ( rendition != null ) {
+            try {
+                writer.write( rendition.getText() );
+            } catch ( final Exception e ) {
+                throw new KException( e );
+            }
+
+            return;
+        }
+
+        // stream the manifest, caching it only if it is short enough
+        final long generation = cache.getGeneration();
+        final RenditionWriter capture = cache.capture( writer );
+        visitManifest( transaction, useTabs, threads, capture );
+
+        if ( capture.getText() != null ) {
+            cache.put( getAbsolutePath(), variant, capture.getText(), generation );
+        }
+    }
+
+    private static int getExportThreads( final Properties exportProperties ) {
+        final String value = ( ( exportProperties == null ) ? null
+                                                            : exportProperties.getProperty( ExportConstants.EXPORT_THREADS_PROP_KEY ) );
+
+        if ( ( value == null ) || value.trim().isEmpty() ) {
+            return 1;
+        }
+
+        try {
+            return Math.max( 1, Integer.parseInt( value.trim() ) );
+        } catch ( final NumberFormatException e ) {
+            LOGGER.warn( "VdbImpl: invalid value \"{0}\" for export property {1}", value, ExportConstants.EXPORT_THREADS_PROP_KEY ); //$NON-NLS-1$
+            return 1;
+        }
+    }
+
+    private void visitManifest( final UnitOfWork transaction,
+                                final boolean useTabs,
+                                final int threads,
+                                final Writer writer ) throws KException {
+        final Map< String, String > modelDdl = ( ( threads > 1 ) ? generateModelDdl( transaction, useTabs, threads ) : null );
+
+        try {
+            final XMLOutputFactory xof = XMLOutputFactory.newInstance();
+            final XMLStreamWriter xsw = xof.createXMLStreamWriter(writer);
+
+            final VdbNodeVisitor visitor = new VdbNodeVisitor(TeiidVersionProvider.getInstance().getTeiidVersion(), xsw);
+            visitor.setShowTabs(useTabs);
+            visitor.setModelDdl(modelDdl);
+            visitor.visit(node(transaction));
+            xsw.flush();
+        } catch (final Exception e) {
+            throw new KException(e);
+        }
+    }
+
+    /**
+     * Generates the DDL of each model concurrently, each in its own read-only transaction. The manifest is still written in
+     * model order by the calling thread.
+     *
+     * @return the DDL keyed by model path or <code>null</code> if the models should be visited in turn
+     */
+    private Map< String, String > generateModelDdl( final UnitOfWork transaction,
+                                                    final boolean useTabs,
+                                                    final int threads ) throws KException {
+        // other transactions cannot see changes that have not been committed
+        try {
+            if ( getSession( transaction ).hasPendingChanges() ) {
+                return null;
+            }
+        } catch ( final Exception e ) {
+            throw handleError( e );
+        }
+
+        final Model[] models = getModels( transaction );
+
+        if ( models.length < 2 ) {
+            return null;
+        }
+
+        final TeiidVersion version = TeiidVersionProvider.getInstance().getTeiidVersion();
+        final ExecutorService executor = Executors.newFixedThreadPool( Math.min( threads, models.length ) );
+        final Map< String, Future< String > > futures = new LinkedHashMap< >();
+
+        try {
+            for ( final Model model : models ) {
+                final String modelPath = model.getAbsolutePath();
+
+                futures.put( modelPath, executor.submit( new Callable< String >() {
+
+                    @Override
+                    public String call() throws Exception {
+                        return generateDdl( version, useTabs, modelPath );
+                    }
+                } ) );
+            }
+
+            final Map< String, String > modelDdl = new HashMap< >();
+
+            for ( final Map.Entry< String, Future< String > > entry : futures.entrySet() ) {
+                modelDdl.put( entry.getKey(), entry.getValue().get() );
+            }
+
+            return modelDdl;
+        } catch ( final ExecutionException e ) {
+            throw handleError( ( e.getCause() instanceof Exception ) ? ( Exception )e.getCause() : e );
+        } catch ( final InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw handleError( e );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private String generateDdl( final TeiidVersion version,
+                                final boolean useTabs,
+                                final String modelPath ) throws Exception {
+        final UnitOfWork uow = getRepository().createReadOnlyTransaction( "VdbImpl-generateDdl", null ); //$NON-NLS-1$
+
+        try {
+            final DdlNodeVisitor visitor = new DdlNodeVisitor( version, useTabs );
+            visitor.visit( getSession( uow ).getNode( modelPath ) );
+            return visitor.getDdl();
+        } finally {
+            uow.rollback();
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
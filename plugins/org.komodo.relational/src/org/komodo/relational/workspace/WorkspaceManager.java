@@ -23,7 +23,9 @@ package org.komodo.relational.workspace;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import org.komodo.core.KomodoLexicon;
 import org.komodo.relational.Messages;
 import org.komodo.relational.Messages.Relational;
@@ -74,6 +76,9 @@ public class WorkspaceManager extends RelationalObjectImpl {
      */
     public static final int TYPE_ID = WorkspaceManager.class.hashCode();
 
+    private static final String NAME_PATTERN_VARIABLE = "namePattern"; //$NON-NLS-1$
+
+    // The selector type and the descendant path cannot be bind variables in JCR-SQL2 so they remain part of the statement
     // @formatter:off
     private static final String FIND_ALL_QUERY_PATTERN = "SELECT [jcr:path] FROM [%s]" //$NON-NLS-1$
                                                          + " WHERE ISDESCENDANTNODE('%s')" //$NON-NLS-1$
@@ -81,7 +86,7 @@ public class WorkspaceManager extends RelationalObjectImpl {
 
     private static final String FIND_MATCHING_QUERY_PATTERN = "SELECT [jcr:path] FROM [%s]"  //$NON-NLS-1$
                                                               + " WHERE ISDESCENDANTNODE('%s')" //$NON-NLS-1$
-                                                              + " AND [jcr:name] LIKE '%s'" //$NON-NLS-1$
+                                                              + " AND [jcr:name] LIKE $" + NAME_PATTERN_VARIABLE //$NON-NLS-1$
                                                               + " ORDER BY [jcr:path] ASC"; //$NON-NLS-1$
     // @formatter:on
 
@@ -106,7 +111,7 @@ public class WorkspaceManager extends RelationalObjectImpl {
      * @throws KException
      *         if there is an error obtaining the workspace manager
      */
-    public static WorkspaceManager getInstance( Repository repository ) throws KException {
+    public static synchronized WorkspaceManager getInstance( Repository repository ) throws KException {
         WorkspaceManager instance = instances.get(repository.getId());
 
         if ( instance == null ) {
@@ -152,7 +157,7 @@ public class WorkspaceManager extends RelationalObjectImpl {
      *
      * @param repository remove instance with given repository
      */
-    public static void uncacheInstance(final Repository repository) {
+    public static synchronized void uncacheInstance(final Repository repository) {
         if (repository == null)
             return;
 
@@ -168,7 +173,9 @@ public class WorkspaceManager extends RelationalObjectImpl {
             public void eventOccurred() {
                 // Disposal observer
                 if (getRepository() == null || State.NOT_REACHABLE == getRepository().getState() || !(getRepository().ping())) {
-                    instances.remove(WorkspaceManager.this);
+                    synchronized (WorkspaceManager.class) {
+                        instances.remove(WorkspaceManager.this);
+                    }
                 }
             }
         });
@@ -344,8 +351,54 @@ public class WorkspaceManager extends RelationalObjectImpl {
      */
     public String[] findByType( final UnitOfWork transaction,
                                 final String type,
-                                String parentPath,
+                                final String parentPath,
                                 final String namePattern ) throws KException {
+        final Iterator< KomodoObject > itr = findByType( transaction, type, parentPath, namePattern, 0, Repository.NO_LIMIT );
+
+        if ( !itr.hasNext() ) {
+            return StringConstants.EMPTY_ARRAY;
+        }
+
+        final List< String > result = new ArrayList< String >();
+
+        try {
+            while ( itr.hasNext() ) {
+                result.add( itr.next().getAbsolutePath() );
+            }
+        } catch ( final IllegalStateException e ) {
+            throw handleError( ( e.getCause() instanceof Exception ) ? ( Exception )e.getCause() : e );
+        }
+
+        return result.toArray( new String[ result.size() ] );
+    }
+
+    /**
+     * Finds one page of the objects of the specified type. The objects are only created as the returned iterator advances so
+     * callers can display the first results right away.
+     *
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> and must have a state of
+     *        {@link org.komodo.spi.repository.Repository.UnitOfWork.State#NOT_STARTED})
+     * @param type
+     *        the lexicon node type name of objects being found (cannot be empty)
+     * @param parentPath
+     *        the parent path whose children recursively will be checked (can be empty if searching from the workspace root)
+     * @param namePattern
+     *        the regex used to match object names (can be empty if all objects of the given type are being requested)
+     * @param offset
+     *        the number of objects to skip (cannot be negative)
+     * @param limit
+     *        the maximum number of objects or {@link Repository#NO_LIMIT} if all remaining objects should be returned
+     * @return the objects under the specified parent path with the specified type ordered by path (never <code>null</code>)
+     * @throws KException
+     *         if an error occurs
+     */
+    public Iterator< KomodoObject > findByType( final UnitOfWork transaction,
+                                                final String type,
+                                                String parentPath,
+                                                final String namePattern,
+                                                final long offset,
+                                                final long limit ) throws KException {
         ArgCheck.isNotNull( transaction, "transaction" ); //$NON-NLS-1$
         ArgCheck.isTrue( ( transaction.getState() == org.komodo.spi.repository.Repository.UnitOfWork.State.NOT_STARTED ),
                          "transaction state must be NOT_STARTED and was " + transaction.getState() ); //$NON-NLS-1$
@@ -357,28 +410,16 @@ public class WorkspaceManager extends RelationalObjectImpl {
 
         try {
             String queryText = null;
+            Map< String, String > variables = null;
 
             if ( StringUtils.isBlank( namePattern ) ) {
                 queryText = String.format( FIND_ALL_QUERY_PATTERN, type, parentPath );
             } else {
-                queryText = String.format( FIND_MATCHING_QUERY_PATTERN, type, parentPath, namePattern );
-            }
-
-            final List< KomodoObject > results = getRepository().query( transaction, queryText );
-            final int numPaths = results.size();
-
-            if ( numPaths == 0 ) {
-                return StringConstants.EMPTY_ARRAY;
-            }
-
-            final String[] result = new String[ numPaths ];
-            int i = 0;
-
-            for ( final KomodoObject kObject : results ) {
-                result[ i++ ] = kObject.getAbsolutePath();
+                queryText = String.format( FIND_MATCHING_QUERY_PATTERN, type, parentPath );
+                variables = Collections.singletonMap( NAME_PATTERN_VARIABLE, namePattern );
             }
 
-            return result;
+            return getRepository().query( transaction, queryText, variables, offset, limit );
         } catch ( final Exception e ) {
             throw handleError( e );
         }
@@ -33,10 +33,10 @@ import java.util.List;
 import java.util.Set;
 import org.komodo.relational.RelationalProperty;
 import org.komodo.relational.workspace.WorkspaceManager;
+import org.komodo.repository.KomodoTypeRegistry;
 import org.komodo.shell.BuiltInShellCommand;
 import org.komodo.shell.FindWorkspaceNodeVisitor;
 import org.komodo.shell.Messages;
-import org.komodo.shell.api.Arguments;
 import org.komodo.shell.api.WorkspaceContext;
 import org.komodo.shell.api.WorkspaceStatus;
 import org.komodo.shell.util.ContextUtils;
@@ -154,16 +154,11 @@ public class CreateCommand extends BuiltInShellCommand implements StringConstant
     }
 
     private List< String > findPossibleTablesForForeignKey() throws Exception {
-        final FindCommand findCmd = new FindCommand( getWorkspaceStatus() );
-        findCmd.setOutput( getWriter() );
-
-        try {
-            findCmd.setArguments( new Arguments( StringConstants.EMPTY_STRING ) );
-        } catch ( final Exception e ) {
-            // only occurs on parsing error of arguments and we have no arguments
-        }
-
-        final String[] tablePaths = findCmd.query( KomodoType.TABLE, null, null );
+        final String tableType = KomodoTypeRegistry.getInstance().getIdentifier( KomodoType.TABLE ).getLexiconType();
+        final String[] tablePaths = getContext().getWorkspaceManager().findByType( getWorkspaceStatus().getTransaction(),
+                                                                                   tableType,
+                                                                                   null,
+                                                                                   null );
 
         if ( tablePaths.length == 0 ) {
             return Collections.emptyList();
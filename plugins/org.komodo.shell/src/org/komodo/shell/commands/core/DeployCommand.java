@@ -23,6 +23,13 @@ package org.komodo.shell.commands.core;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
 import org.komodo.relational.teiid.Teiid;
 import org.komodo.relational.vdb.Vdb;
 import org.komodo.relational.workspace.WorkspaceManager;
@@ -36,7 +43,10 @@ import org.komodo.shell.api.WorkspaceStatus;
 import org.komodo.spi.constants.StringConstants;
 import org.komodo.spi.repository.Descriptor;
 import org.komodo.spi.repository.KomodoObject;
+import org.komodo.spi.repository.Repository;
+import org.komodo.spi.repository.Repository.UnitOfWork;
 import org.komodo.spi.runtime.TeiidInstance;
+import org.komodo.spi.runtime.VdbDeployment;
 import org.modeshape.sequencer.teiid.lexicon.VdbLexicon;
 
 /**
@@ -51,6 +61,8 @@ public class DeployCommand extends BuiltInShellCommand implements StringConstant
 
     private static final String VDB_TYPE = VdbLexicon.Vdb.VIRTUAL_DATABASE;
 
+    private static final String DYNAMIC_VDB_SUFFIX = "-vdb.xml"; //$NON-NLS-1$
+
     /**
      * @param wsStatus
      *        a workspace status (cannot be <code>null</code>)
@@ -66,6 +78,10 @@ public class DeployCommand extends BuiltInShellCommand implements StringConstant
         Arguments args = getArguments();
         KomodoObject vdbToDeploy = null;
 
+        if (args != null && args.size() > 1) {
+            return deployVdbs(args);
+        }
+
         if (args == null || args.isEmpty()) {
             //
             // No arguments so expect us to be inside a vdb
@@ -93,10 +109,27 @@ public class DeployCommand extends BuiltInShellCommand implements StringConstant
         if (vdb == null)
             throw new InvalidCommandArgumentException(0, Messages.getString("DeployCommand.InvalidCommand")); //$NON-NLS-1$
 
-        Teiid teiid = wsStatus.getTeiid();
+        TeiidInstance teiidInstance = getConnectedTeiidInstance();
+        if (teiidInstance == null)
+            return false;
+
+        String vdbXml = vdb.export(wsStatus.getTransaction(), null);
+        if (vdbXml == null || vdbXml.isEmpty()) {
+            print(CompletionConstants.MESSAGE_INDENT, Messages.getString("DeployCommand.exportFailure")); //$NON-NLS-1$
+            return false;
+        }
+
+        InputStream stream = new ByteArrayInputStream(vdbXml.getBytes());
+        teiidInstance.deployDynamicVdb(vdb.getName(wsStatus.getTransaction()), stream);
+
+        return true;
+    }
+
+    private TeiidInstance getConnectedTeiidInstance() throws Exception {
+        Teiid teiid = getWorkspaceStatus().getTeiid();
         if (teiid == null) {
             print(CompletionConstants.MESSAGE_INDENT, Messages.getString("DeployCommand.noTeiidDefined")); //$NON-NLS-1$
-            return false;
+            return null;
         }
 
         TeiidInstance teiidInstance = teiid.getTeiidInstance();
@@ -105,18 +138,81 @@ public class DeployCommand extends BuiltInShellCommand implements StringConstant
 
         if (! teiidInstance.isConnected()) {
             print(CompletionConstants.MESSAGE_INDENT, Messages.getString("DeployCommand.noTeiidConnection")); //$NON-NLS-1$
-            return false;
+            return null;
         }
 
-        String vdbXml = vdb.export(wsStatus.getTransaction(), null);
-        if (vdbXml == null || vdbXml.isEmpty()) {
-            print(CompletionConstants.MESSAGE_INDENT, Messages.getString("DeployCommand.exportFailure")); //$NON-NLS-1$
-            return false;
+        return teiidInstance;
+    }
+
+    /**
+     * Deploys the named child VDBs of the current context together. Each VDB is exported in its own read-only transaction,
+     * so only committed changes are deployed, and the time each VDB took to deploy and load is printed.
+     * @param vdbNames the names of the VDBs
+     * @return 'true' if all the VDBs were deployed and are active, 'false' if not.
+     */
+    private boolean deployVdbs(List<String> vdbNames) throws Exception {
+        WorkspaceStatus wsStatus = getWorkspaceStatus();
+        WorkspaceContext context = wsStatus.getCurrentContext();
+        WorkspaceManager wkspManager = context.getWorkspaceManager();
+        final Repository repository = context.getRepository();
+        List<VdbDeployment.Source> sources = new ArrayList<VdbDeployment.Source>(vdbNames.size());
+
+        for (int i = 0; i < vdbNames.size(); ++i) {
+            String vdbName = vdbNames.get(i);
+            WorkspaceContext childContext = context.getChild(vdbName, VDB_TYPE);
+            final Vdb vdb = (childContext == null) ? null
+                                                   : wkspManager.resolve(wsStatus.getTransaction(), childContext.getKomodoObj(), Vdb.class);
+            if (vdb == null)
+                throw new InvalidCommandArgumentException(i, Messages.getString("DeployCommand.vdbNotFound", vdbName)); //$NON-NLS-1$
+
+            final String deploymentName = vdbName.endsWith(DYNAMIC_VDB_SUFFIX) ? vdbName : vdbName + DYNAMIC_VDB_SUFFIX;
+
+            sources.add(new VdbDeployment.Source() {
+
+                @Override
+                public String getDeploymentName() {
+                    return deploymentName;
+                }
+
+                @Override
+                public void write(OutputStream stream) throws Exception {
+                    String txName = DeployCommand.class.getSimpleName() + COLON + deploymentName;
+                    UnitOfWork uow = repository.createReadOnlyTransaction(txName, null);
+
+                    try {
+                        Writer writer = new OutputStreamWriter(stream, StandardCharsets.UTF_8);
+                        vdb.export(uow, new Properties(), writer);
+                        writer.flush();
+                    } finally {
+                        uow.rollback();
+                    }
+                }
+            });
         }
 
-        InputStream stream = new ByteArrayInputStream(vdbXml.getBytes());
-        teiidInstance.deployDynamicVdb(vdb.getName(wsStatus.getTransaction()), stream);
+        TeiidInstance teiidInstance = getConnectedTeiidInstance();
+        if (teiidInstance == null)
+            return false;
 
-        return true;
+        boolean success = true;
+        for (VdbDeployment deployment : teiidInstance.deployDynamicVdbs(sources)) {
+            String msg;
+
+            if (deployment.getError() != null) {
+                msg = Messages.getString("DeployCommand.vdbDeployFailed", deployment.getDeploymentName(), //$NON-NLS-1$
+                                         deployment.getError().getLocalizedMessage());
+            } else if (deployment.isActive()) {
+                msg = Messages.getString("DeployCommand.vdbDeployed", deployment.getDeploymentName(), //$NON-NLS-1$
+                                         deployment.getDeployTime(), deployment.getLoadTime());
+            } else {
+                msg = Messages.getString("DeployCommand.vdbNotActive", deployment.getDeploymentName(), //$NON-NLS-1$
+                                         deployment.getDeployTime(), deployment.getLoadTime());
+            }
+
+            success &= deployment.isActive();
+            print(CompletionConstants.MESSAGE_INDENT, msg);
+        }
+
+        return success;
     }
 }
@@ -3,7 +3,6 @@ package org.komodo.shell.commands.core;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
-import java.io.PrintWriter;
 import java.util.List;
 import java.util.Properties;
 import org.komodo.relational.model.Model;
@@ -18,6 +17,7 @@ import org.komodo.shell.api.WorkspaceStatus;
 import org.komodo.shell.util.ContextUtils;
 import org.komodo.spi.constants.ExportConstants;
 import org.komodo.spi.constants.StringConstants;
+import org.komodo.spi.repository.Exportable;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.KomodoType;
 import org.komodo.spi.repository.Repository.UnitOfWork;
@@ -108,7 +108,7 @@ public class ExportCommand extends BuiltInShellCommand implements StringConstant
         }
 
         // Check object type
-        String output = null;
+        Exportable exportable = null;
         String fileExtension = null;
 
         KomodoType typeIdentifier = objToExport.getTypeIdentifier(transaction);
@@ -122,7 +122,7 @@ public class ExportCommand extends BuiltInShellCommand implements StringConstant
                 throw new Exception(Messages.getString(Messages.ExportCommand.CannotExportProblemWithVdb));
             }
 
-            output = vdb.export(transaction, properties);
+            exportable = vdb;
             fileExtension = XML;
 
         } else if (typeIdentifier.equals(KomodoType.MODEL)) {
@@ -131,7 +131,7 @@ public class ExportCommand extends BuiltInShellCommand implements StringConstant
                 throw new Exception(Messages.getString(Messages.ExportCommand.CannotExportProblemWithModel));
             }
 
-            output = model.export(transaction, properties);
+            exportable = model;
             fileExtension = DDL;
 
         } else if (typeIdentifier.equals(KomodoType.SCHEMA)) {
@@ -139,23 +139,25 @@ public class ExportCommand extends BuiltInShellCommand implements StringConstant
             if( schema == null )
                 throw new Exception(Messages.getString(Messages.ExportCommand.CannotExportProblemWithSchema));
 
-            output = schema.export(transaction, properties);
+            exportable = schema;
             fileExtension = DDL;
         }
 
-        if ( output == null ||  output.isEmpty()) {
+        if ( exportable == null || !handleExport( exportable, transaction, properties, fileNameAndLocation, fileExtension ) ) {
             print(CompletionConstants.MESSAGE_INDENT, Messages.getString(Messages.ExportCommand.NoContentExported, objPath));
             return;
         }
 
-        handleExport( output, fileNameAndLocation, fileExtension);
         print(CompletionConstants.MESSAGE_INDENT, Messages.getString(Messages.ExportCommand.ObjectExported, objPath, fileNameAndLocation));
     }
 
     /**
-     * Export the current string content of the sql display to a user-selected file
+     * Stream the export of the object straight to the file so the exported text is never held in memory
+     *
+     * @return 'true' if content was exported, 'false' if there was no content and so no file was written
      */
-    private void handleExport(String contents, String fileName, String fileExtension) throws Exception {
+    private boolean handleExport(Exportable exportable, UnitOfWork transaction, Properties properties,
+                                 String fileName, String fileExtension) throws Exception {
 
         fileExtension = fileExtension == null ? XML : fileExtension;
         String fileNameString = fileName;
@@ -165,11 +167,22 @@ public class ExportCommand extends BuiltInShellCommand implements StringConstant
             fileNameString = fileNameString + DOT + fileExtension;
         }
 
-        try ( final FileWriter fileWriter = new FileWriter( fileNameString );
-              final BufferedWriter outputBufferWriter = new BufferedWriter( fileWriter );
-              final PrintWriter printWriter = new PrintWriter( outputBufferWriter ) ) {
-            printWriter.write( contents );
+        File exportFile = new File( fileNameString );
+        boolean exported = false;
+
+        try ( final FileWriter fileWriter = new FileWriter( exportFile );
+              final BufferedWriter outputBufferWriter = new BufferedWriter( fileWriter ) ) {
+            exportable.export( transaction, properties, outputBufferWriter );
+            exported = true;
+        } finally {
+            // Do not leave an empty or partial file behind
+            if ( !exported || exportFile.length() == 0 ) {
+                exportFile.delete();
+                exported = false;
+            }
         }
+
+        return exported;
     }
 
     /**
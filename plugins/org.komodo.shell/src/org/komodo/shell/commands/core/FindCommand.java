@@ -25,6 +25,7 @@ import static org.komodo.shell.CompletionConstants.MESSAGE_INDENT;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import org.komodo.repository.KomodoTypeRegistry;
 import org.komodo.shell.BuiltInShellCommand;
@@ -32,7 +33,9 @@ import org.komodo.shell.Messages;
 import org.komodo.shell.api.WorkspaceContext;
 import org.komodo.shell.api.WorkspaceStatus;
 import org.komodo.shell.util.ContextUtils;
+import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.KomodoType;
+import org.komodo.spi.repository.Repository;
 import org.komodo.utils.StringUtils;
 
 /**
@@ -75,11 +78,15 @@ public final class FindCommand extends BuiltInShellCommand {
             // may have a name pattern
             final String pattern = optionalArgument( 1 );
 
-            // query
-            final String[] foundObjectPaths = query( queryType, null, pattern );
-
-            // print results
-            printResults( queryType, foundObjectPaths );
+            // query and print results as they are found
+            final String lexiconType = KomodoTypeRegistry.getInstance().getIdentifier( queryType ).getLexiconType();
+            final Iterator< KomodoObject > itr = getContext().getWorkspaceManager().findByType( getWorkspaceStatus().getTransaction(),
+                                                                                                lexiconType,
+                                                                                                null,
+                                                                                                pattern,
+                                                                                                0,
+                                                                                                Repository.NO_LIMIT );
+            printResults( queryType, itr );
         } catch ( final Exception e ) {
             print( MESSAGE_INDENT, Messages.getString( "FindCommand.Failure", e.getLocalizedMessage() ) ); //$NON-NLS-1$
             return false;
@@ -136,8 +143,8 @@ public final class FindCommand extends BuiltInShellCommand {
     }
 
     private void printResults( final KomodoType queryType,
-                               final String[] foundObjectPaths ) throws Exception {
-        if ( foundObjectPaths.length == 0 ) {
+                               final Iterator< KomodoObject > foundObjects ) throws Exception {
+        if ( !foundObjects.hasNext() ) {
             print( MESSAGE_INDENT, Messages.getString( "FindCommand.NoObjectsFound", queryType.getType() ) ); //$NON-NLS-1$
         } else {
             // print header
@@ -147,51 +154,19 @@ public final class FindCommand extends BuiltInShellCommand {
             // print paths of found objects
             final int indent = ( 2 * MESSAGE_INDENT );
 
-            for ( final String path : foundObjectPaths ) {
-                print( indent, path );
+            while ( foundObjects.hasNext() ) {
+                print( indent, displayPath( foundObjects.next().getAbsolutePath() ) );
             }
         }
     }
 
-    /**
-     * @param queryType
-     *        the type of object being searched for (cannot be <code>null</code>)
-     * @param parentPath
-     *        the parent path whose children recursively will be checked (can be empty if searching from the workspace root)
-     * @param pattern
-     *        the regex used to match object names (can be empty if all objects of the given type are being requested)
-     * @return the paths of the workspace objects with the matching type (never <code>null</code> but can be empty)
-     * @throws Exception
-     *         if an error occurs
-     */
-    protected String[] query( final KomodoType queryType,
-                              final String parentPath,
-                              final String pattern ) throws Exception {
-        final String lexiconType = KomodoTypeRegistry.getInstance().getIdentifier( queryType ).getLexiconType();
-        final String[] searchResults = getContext().getWorkspaceManager().findByType( getWorkspaceStatus().getTransaction(),
-                                                                                      lexiconType, parentPath, pattern );
-
-        if ( searchResults.length == 0 ) {
-            return searchResults;
-        }
-
-        final String[] result = new String[ searchResults.length ];
-        int i = 0;
-
-        for ( final String absolutePath : searchResults ) {
-            String path = absolutePath;
-
-            // should always start with the absolute repository path but check just in case
-            if ( path.startsWith( WorkspaceContext.REPO_WS_ROOT_PATH ) ) {
-                result[i] = ( ContextUtils.ROOT_OPT3 + path.substring( WorkspaceContext.REPO_WS_ROOT_PATH.length() ) );
-            } else {
-                result[i] = path;
-            }
-
-            ++i;
+    private String displayPath( final String absolutePath ) {
+        // should always start with the absolute repository path but check just in case
+        if ( absolutePath.startsWith( WorkspaceContext.REPO_WS_ROOT_PATH ) ) {
+            return ( ContextUtils.ROOT_OPT3 + absolutePath.substring( WorkspaceContext.REPO_WS_ROOT_PATH.length() ) );
         }
 
-        return result;
+        return absolutePath;
     }
 
     /**
@@ -14,6 +14,8 @@ import org.komodo.importer.ImportMessages;
 import org.komodo.importer.ImportOptions;
 import org.komodo.importer.ImportOptions.OptionKeys;
 import org.komodo.importer.ImportType;
+import org.komodo.importer.ParallelImporter;
+import org.komodo.importer.ParallelImporter.FileImport;
 import org.komodo.importer.ddl.DdlImporter;
 import org.komodo.importer.vdb.VdbImporter;
 import org.komodo.relational.vdb.Vdb;
@@ -40,9 +42,10 @@ public class ImportCommand extends BuiltInShellCommand {
 
     private static final String SUBCMD_DDL = "ddl"; //$NON-NLS-1$
     private static final String SUBCMD_VDB = "vdb"; //$NON-NLS-1$
+    private static final String SUBCMD_DIR = "dir"; //$NON-NLS-1$
     //private static final List<String> SUBCMDS =
     //		Arrays.asList(SUBCMD_VDB, SUBCMD_DDL);
-    private static final List<String> SUBCMDS = Arrays.asList(SUBCMD_VDB);
+    private static final List<String> SUBCMDS = Arrays.asList(SUBCMD_VDB, SUBCMD_DIR);
 
     private ImportMessages importMessages = null;
 
@@ -138,6 +141,12 @@ public class ImportCommand extends BuiltInShellCommand {
                 print(CompletionConstants.MESSAGE_INDENT, Messages.getString("ImportCommand.ImportFailedMsg", fileNameArg)); //$NON-NLS-1$
                 print(CompletionConstants.MESSAGE_INDENT, importMessages.errorMessagesToString());
             }
+        } else if (SUBCMD_DIR.equalsIgnoreCase(subcmdArg)) {
+            // Check required args
+            String dirNameArg = requiredArgument(1, Messages.getString("ImportCommand.InvalidArgMsg_DirectoryName")); //$NON-NLS-1$
+            String filePatternArg = optionalArgument(2);
+
+            success = importDirectory(dirNameArg, filePatternArg);
         } else {
             throw new InvalidCommandArgumentException(0, Messages.getString("ImportCommand.InvalidSubCommand")); //$NON-NLS-1$
         }
@@ -145,6 +154,63 @@ public class ImportCommand extends BuiltInShellCommand {
         return success;
     }
 
+    /**
+     * Import the matching DDL and VDB files of a directory into the workspace. The files are imported concurrently, each in
+     * its own transaction, and a summary of the imports is printed.
+     * @param dirName the directory containing the files
+     * @param filePattern the glob pattern of the files to import (can be null)
+     * @return 'true' if all the files were imported, 'false' if not.
+     */
+    private boolean importDirectory(String dirName, String filePattern) throws Exception {
+        File directory = new File(dirName);
+        if (!directory.isDirectory()) {
+            print(CompletionConstants.MESSAGE_INDENT, Messages.getString("ImportCommand.directoryNotFound", dirName)); //$NON-NLS-1$
+            return false;
+        }
+
+        List<File> files = ParallelImporter.findFiles(directory, filePattern);
+        if (files.isEmpty()) {
+            print(CompletionConstants.MESSAGE_INDENT, Messages.getString("ImportCommand.noFilesFound", dirName)); //$NON-NLS-1$
+            return false;
+        }
+
+        WorkspaceStatus wsStatus = getWorkspaceStatus();
+        importMessages = new ImportMessages();
+
+        ParallelImporter importer = new ParallelImporter(wsStatus.getCurrentContext().getRepository());
+        List<FileImport> imports = importer.importFiles(files, null, importMessages);
+
+        // Name each imported VDB after the VDB it contains, as the single VDB import does
+        WorkspaceContext workspaceContext = wsStatus.getWorkspaceContext();
+        boolean renamed = false;
+        for (FileImport fileImport : imports) {
+            if (!(fileImport.getResult() instanceof Vdb) || fileImport.getImportMessages().hasError())
+                continue;
+
+            Vdb theVdb = (Vdb)fileImport.getResult();
+            String vdbName = theVdb.getVdbName(wsStatus.getTransaction());
+            if (vdbName != null && validateNotDuplicate(vdbName, KomodoType.VDB, workspaceContext)) {
+                theVdb.rename(wsStatus.getTransaction(), vdbName);
+                renamed = true;
+            }
+        }
+
+        if (renamed && isAutoCommit()) {
+            wsStatus.commit(ImportCommand.class.getSimpleName());
+        }
+
+        for (String msg : importMessages.getProgressMessages()) {
+            print(CompletionConstants.MESSAGE_INDENT, msg);
+        }
+
+        if (importMessages.hasError()) {
+            print(CompletionConstants.MESSAGE_INDENT, importMessages.errorMessagesToString());
+            return false;
+        }
+
+        return true;
+    }
+
     /**
      * Validate the supplied fileName
      * @param fileName the file name
@@ -270,10 +336,21 @@ public class ImportCommand extends BuiltInShellCommand {
     	} else if (getArguments().size()==1) {
     		// This arg is required filePath
             if(lastArgument==null) {
-                candidates.add("<filePath>"); //$NON-NLS-1$
+                if (SUBCMD_DIR.equalsIgnoreCase(getArguments().get(0)))
+                    candidates.add("<directoryPath>"); //$NON-NLS-1$
+                else
+                    candidates.add("<filePath>"); //$NON-NLS-1$
             }
             return 0;
     	} else if (getArguments().size()==2) {
+            // The optional file pattern of a directory import is not a workspace path
+            if (SUBCMD_DIR.equalsIgnoreCase(getArguments().get(0))) {
+                if(lastArgument==null) {
+                    candidates.add(ParallelImporter.DEFAULT_FILE_PATTERN);
+                }
+                return 0;
+            }
+
     		// The arg is expected to be a path
     		updateTabCompleteCandidatesForPath(candidates, getWorkspaceStatus().getCurrentContext(), true, lastArgument);
 
@@ -34,6 +34,7 @@ import org.komodo.relational.model.Column;
 import org.komodo.relational.model.ForeignKey;
 import org.komodo.relational.model.Table;
 import org.komodo.relational.model.TableConstraint;
+import org.komodo.repository.KomodoTypeRegistry;
 import org.komodo.repository.RepositoryTools;
 import org.komodo.shell.BuiltInShellCommand;
 import org.komodo.shell.Messages;
@@ -332,16 +333,8 @@ public class SetCommand extends BuiltInShellCommand {
                     }
                 } else if ( Constraint.TABLE_REFERENCE.equals( propertyName ) ) {
                     // provide paths for all tables except the parent table
-                    final FindCommand findCmd = new FindCommand( getWorkspaceStatus() );
-                    findCmd.setOutput( getWriter() );
-
-                    try {
-                        findCmd.setArguments( new Arguments( StringConstants.EMPTY_STRING ) );
-                    } catch ( final Exception e ) {
-                        // only occurs on parsing error of arguments and we have no arguments
-                    }
-
-                    final String[] tablePaths = findCmd.query( KomodoType.TABLE, null, null );
+                    final String tableType = KomodoTypeRegistry.getInstance().getIdentifier( KomodoType.TABLE ).getLexiconType();
+                    final String[] tablePaths = getContext().getWorkspaceManager().findByType( uow, tableType, null, null );
 
                     if ( tablePaths.length != 0 ) {
                         // do not include the parent table of the foreign key
@@ -3,4 +3,10 @@ package org.komodo.spi.constants;
 public interface ExportConstants {
 
 	String USE_TABS_PROP_KEY = "useTabs";
+
+	/**
+	 * The number of models of a VDB whose DDL is generated concurrently, each in its own read-only transaction, when the VDB
+	 * is exported. If not set, or set to one, the DDL of each model is generated in turn.
+	 */
+	String EXPORT_THREADS_PROP_KEY = "exportThreads"; //$NON-NLS-1$
 }
@@ -29,4 +29,79 @@ public interface SystemConstants {
      */
     String VDB_BUILDER_DATA_DIR = "vdbbuilder.dataDir"; //$NON-NLS-1$
 
+    /**
+     * The environmental variable that can be set with the number of worker threads the local repository engine uses to
+     * create, commit and rollback sessions. Default is the number of available processors.
+     */
+    String ENGINE_SESSION_WORKERS = "komodo.engine.sessionWorkers"; //$NON-NLS-1$
+
+    /**
+     * The environmental variable that can be set with the number of pre-created sessions the local repository keeps for
+     * read-only and for read-write transactions. A value of zero disables session pooling. Default is <code>4</code>.
+     */
+    String ENGINE_SESSION_POOL_SIZE = "komodo.engine.sessionPoolSize"; //$NON-NLS-1$
+
+    /**
+     * The environmental variable that can be set with the number of parsed SQL statements the Teiid SQL sequencer caches. A
+     * value of zero disables caching. Default is <code>100</code>.
+     */
+    String TSQL_PARSE_CACHE_SIZE = "komodo.tsql.parseCacheSize"; //$NON-NLS-1$
+
+    /**
+     * The environmental variable that can be set with the number of parsed JCR-SQL2 query statements a repository caches. A
+     * value of zero disables caching. Default is <code>100</code>.
+     */
+    String QUERY_CACHE_SIZE = "komodo.queryCacheSize"; //$NON-NLS-1$
+
+    /**
+     * The environmental variable that can be set with the number of objects whose exported DDL or manifest the local
+     * repository caches until they change. A value of zero disables caching. Default is <code>100</code>.
+     */
+    String RENDITION_CACHE_SIZE = "komodo.renditionCacheSize"; //$NON-NLS-1$
+
+    /**
+     * The environmental variable that can be set with the number of characters of the longest exported DDL or manifest the
+     * local repository caches. Longer exports are streamed without being cached. Default is <code>1048576</code>.
+     */
+    String RENDITION_CACHE_MAX_LENGTH = "komodo.renditionCacheMaxLength"; //$NON-NLS-1$
+
+    /**
+     * The environmental variable that can be set with a comma-separated list of the names of the repository configuration's
+     * indexes that should not be created. Excluding indexes speeds up writes at the expense of searches. By default all
+     * configured indexes are created.
+     */
+    String ENGINE_EXCLUDED_INDEXES = "komodo.engine.excludedIndexes"; //$NON-NLS-1$
+
+    /**
+     * The environmental variable that can be set to <code>false</code> to stop the local repository engine maintaining the
+     * in-memory index used by keyword searches. Keyword searches then always run as queries. Default is <code>true</code>.
+     */
+    String ENGINE_KEYWORD_INDEX = "komodo.engine.keywordIndex"; //$NON-NLS-1$
+
+    /**
+     * The environmental variable that can be set with the maximum number of files imported at the same time when importing a
+     * directory. Default is the number of available processors.
+     */
+    String IMPORT_WORKERS = "komodo.importWorkers"; //$NON-NLS-1$
+
+    /**
+     * The environmental variable that can be set with the maximum number of Teiid admin calls made at the same time when the
+     * cached Teiid objects are refreshed. Default is <code>4</code>.
+     */
+    String TEIID_ADMIN_WORKERS = "komodo.teiidAdminWorkers"; //$NON-NLS-1$
+
+    /**
+     * The environmental variable that can be set with the directory where the Teiid system metadata of each Teiid version is
+     * saved once built. Later starts load the saved metadata rather than parsing and validating the system DDL. By default
+     * only the snapshots packaged with the Teiid client are loaded.
+     */
+    String TEIID_SYSTEM_METADATA_DIR = "komodo.teiidSystemMetadataDir"; //$NON-NLS-1$
+
+    /**
+     * The environmental variable that can be set with the factor the sizes of the metadata caches of each VDB's Teiid query
+     * metadata are multiplied by. Larger VDBs need larger caches to avoid evicting entries still in use. Default is
+     * <code>1</code>.
+     */
+    String TEIID_METADATA_CACHE_FACTOR = "komodo.teiidMetadataCacheFactor"; //$NON-NLS-1$
+
 }
@@ -7,6 +7,7 @@
 */
 package org.komodo.spi.repository;
 
+import java.io.Writer;
 import java.util.Properties;
 
 import org.komodo.spi.KException;
@@ -27,4 +28,18 @@ public interface Exportable {
      */
     String export( final UnitOfWork transaction, Properties properties ) throws KException;
 
+    /**
+     * Streams the same text representation as {@link #export(UnitOfWork, Properties)} so that it never has to be held in
+     * memory.
+     *
+     * @param transaction
+     *        the transaction (can be <code>null</code> if update should be automatically committed)
+     * @param properties (can be <code>null</code> or empty)
+     * @param writer
+     *        the writer the text representation is written to (cannot be <code>null</code> and is not closed)
+     * @throws KException
+     *         if an error occurs
+     */
+    void export( final UnitOfWork transaction, Properties properties, Writer writer ) throws KException;
+
 }
@@ -23,7 +23,9 @@ package org.komodo.spi.repository;
 
 import java.io.File;
 import java.net.URL;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import org.komodo.spi.KException;
 
 /**
@@ -31,6 +33,13 @@ import org.komodo.spi.KException;
  */
 public interface Repository {
 
+    /**
+     * Indicates query results should not be limited.
+     *
+     * @see #query(UnitOfWork, String, long, long)
+     */
+    long NO_LIMIT = -1;
+
     /**
      * A repository identifier.
      */
@@ -186,6 +195,12 @@ public interface Repository {
          */
         State getState();
 
+        /**
+         * @return <code>true</code> if this is a read-only transaction
+         * @see Repository#createReadOnlyTransaction(String, UnitOfWorkListener)
+         */
+        boolean isReadOnly();
+
         /**
          * @return <code>true</code> if only rollback is allowed
          */
@@ -264,6 +279,23 @@ public interface Repository {
                                   final boolean rollbackOnly,
                                   final UnitOfWorkListener callback ) throws KException;
 
+    /**
+     * Creates a transaction that can only be used to read from the repository. Committing or rolling back a read-only
+     * transaction is done on the calling thread and does not wait for other transactions or the sequencers, so any number of
+     * read-only transactions can be used concurrently. Committing a read-only transaction that has changes results in an
+     * error and the changes are discarded.
+     *
+     * @param name
+     *        a name for the transaction (cannot be empty)
+     * @param callback
+     *        a listener that is notified when the transaction is finished (can be <code>null</code>
+     * @return a read-only unit of work transaction that must be either committed or rolled back (never <code>null</code>)
+     * @throws KException
+     *         if an error occurs
+     */
+    UnitOfWork createReadOnlyTransaction( final String name,
+                                          final UnitOfWorkListener callback ) throws KException;
+
     /**
      * @param transaction
      *        the transaction (cannot be <code>null</code> or have a state that is not
@@ -276,6 +308,45 @@ public interface Repository {
      */
     List<KomodoObject> query(UnitOfWork transaction, String query) throws KException;
 
+    /**
+     * Executes the query and returns a cursor over one page of its results. Objects are only created as the cursor advances so
+     * the first results are available without reading the rest. The cursor can only be used while the transaction is active.
+     *
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> or have a state that is not
+     *        {@link org.komodo.spi.repository.Repository.UnitOfWork.State#NOT_STARTED})
+     * @param query
+     *        the SQL query
+     * @param offset
+     *        the number of results to skip (cannot be negative)
+     * @param limit
+     *        the maximum number of results or {@link #NO_LIMIT} if all remaining results should be returned
+     * @return the {@link KomodoObject}s resulting from the search (never <code>null</code>)
+     * @throws KException if error occurs
+     */
+    Iterator<KomodoObject> query(UnitOfWork transaction, String query, long offset, long limit) throws KException;
+
+    /**
+     * Executes a query whose values are supplied as bind variables. Statements that only differ by their variable values are
+     * only parsed once so callers issuing the same search repeatedly should prefer variables over literals.
+     *
+     * @param transaction
+     *        the transaction (cannot be <code>null</code> or have a state that is not
+     *        {@link org.komodo.spi.repository.Repository.UnitOfWork.State#NOT_STARTED})
+     * @param query
+     *        the SQL query, referencing its variables as <code>$name</code>
+     * @param variables
+     *        the string values of the query's bind variables keyed by variable name (can be <code>null</code> or empty)
+     * @param offset
+     *        the number of results to skip (cannot be negative)
+     * @param limit
+     *        the maximum number of results or {@link #NO_LIMIT} if all remaining results should be returned
+     * @return the {@link KomodoObject}s resulting from the search (never <code>null</code>)
+     * @throws KException if error occurs
+     */
+    Iterator<KomodoObject> query(UnitOfWork transaction, String query, Map<String, String> variables, long offset, long limit)
+        throws KException;
+
     /**
      * @param transaction
      *        the transaction (cannot be <code>null</code> or have a state that is not
@@ -250,6 +250,17 @@ public interface ExecutionAdmin {
       */
      void deployDynamicVdb( String deploymentName, InputStream inStream ) throws Exception;
 
+     /**
+      * Deploys dynamic VDBs to the related Teiid Instance concurrently. Each VDB is sent as it is written and later VDBs are
+      * deployed while earlier ones are loading.
+      *
+      * @param sources the VDBs to deploy
+      * @return the deployment of each VDB in the order of the sources, which records the error of a failed deployment
+      *
+      * @throws Exception if interrupted while waiting for the deployments
+      */
+     List<VdbDeployment> deployDynamicVdbs( List<? extends VdbDeployment.Source> sources ) throws Exception;
+
      /**
       * Undeploy the dynamic vdb
       * @param vdbName
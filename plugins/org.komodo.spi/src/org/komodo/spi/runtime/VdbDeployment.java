@@ -0,0 +1,118 @@
+/*************************************************************************************
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+ ************************************************************************************/
+package org.komodo.spi.runtime;
+
+import java.io.OutputStream;
+
+/**
+ * The outcome of deploying one of the dynamic VDBs passed to {@link ExecutionAdmin#deployDynamicVdbs(java.util.List)}.
+ */
+public class VdbDeployment {
+
+    /**
+     * Writes the contents of a dynamic VDB as it is being deployed.
+     */
+    public interface Source {
+
+        /**
+         * @return the deployment name, which must end with <code>-vdb.xml</code> (never empty)
+         */
+        String getDeploymentName();
+
+        /**
+         * Writes the VDB manifest. This is called on a different thread to the one sending the VDB to the Teiid instance.
+         *
+         * @param stream the stream the VDB is written to (never <code>null</code> and closed by the caller)
+         * @throws Exception if the VDB cannot be written
+         */
+        void write( OutputStream stream ) throws Exception;
+
+    }
+
+    private final String deploymentName;
+    private final TeiidVdb vdb;
+    private final Exception error;
+    private final long deployTime;
+    private final long loadTime;
+
+    /**
+     * @param deploymentName the deployment name (never empty)
+     * @param vdb the deployed VDB or <code>null</code> if the deployment failed or the VDB is no longer deployed
+     * @param error the error that stopped the deployment or <code>null</code>
+     * @param deployTime the milliseconds taken to write and send the VDB
+     * @param loadTime the milliseconds taken by the Teiid instance to load the VDB once it was sent
+     */
+    public VdbDeployment( final String deploymentName,
+                          final TeiidVdb vdb,
+                          final Exception error,
+                          final long deployTime,
+                          final long loadTime ) {
+        this.deploymentName = deploymentName;
+        this.vdb = vdb;
+        this.error = error;
+        this.deployTime = deployTime;
+        this.loadTime = loadTime;
+    }
+
+    /**
+     * @return the deployment name (never empty)
+     */
+    public String getDeploymentName() {
+        return this.deploymentName;
+    }
+
+    /**
+     * @return the milliseconds taken to write and send the VDB
+     */
+    public long getDeployTime() {
+        return this.deployTime;
+    }
+
+    /**
+     * @return the error that stopped the deployment or <code>null</code>
+     */
+    public Exception getError() {
+        return this.error;
+    }
+
+    /**
+     * @return the milliseconds taken by the Teiid instance to load the VDB once it was sent
+     */
+    public long getLoadTime() {
+        return this.loadTime;
+    }
+
+    /**
+     * @return the deployed VDB or <code>null</code> if the deployment failed or the VDB is no longer deployed
+     */
+    public TeiidVdb getVdb() {
+        return this.vdb;
+    }
+
+    /**
+     * @return <code>true</code> if the VDB was deployed and is active
+     */
+    public boolean isActive() {
+        return ( this.error == null ) && ( this.vdb != null ) && this.vdb.isActive();
+    }
+
+}
@@ -0,0 +1,209 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+
+package org.teiid.core.util;
+
+/**
+ * A thread-safe LRU cache split into segments that each have their own lock, so callers
+ * only contend when their keys fall in the same segment. Entries are evicted least recently
+ * used first within their segment, which approximates LRU ordering over the whole cache.
+ * <p>
+ * Hits and misses are counted so the hit rate of a cache can be used to tune its capacity.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class ConcurrentLRUCache<K, V> {
+
+	/**
+	 * Default number of segments
+	 */
+	public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+	private static class Segment<K, V> extends LRUCache<K, V> {
+
+		private static final long serialVersionUID = 1L;
+
+		private long hits;
+		private long misses;
+
+		Segment(int maxSize) {
+			super(maxSize);
+		}
+	}
+
+	private final Segment<K, V>[] segments;
+	private final int segmentMask;
+	private final int capacity;
+
+	/**
+	 * Creates a cache with {@link #DEFAULT_CONCURRENCY_LEVEL} segments.
+	 *
+	 * @param capacity the maximum number of entries
+	 */
+	public ConcurrentLRUCache(int capacity) {
+		this(capacity, DEFAULT_CONCURRENCY_LEVEL);
+	}
+
+	/**
+	 * @param capacity the maximum number of entries
+	 * @param concurrencyLevel the expected number of concurrent callers; the number of
+	 *        segments is the next power of two but never leaves a segment with no room
+	 */
+	@SuppressWarnings("unchecked")
+	public ConcurrentLRUCache(int capacity, int concurrencyLevel) {
+		ArgCheck.isPositive(capacity);
+		ArgCheck.isPositive(concurrencyLevel);
+
+		int count = 1;
+		while (count < concurrencyLevel && count * 2 <= capacity) {
+			count <<= 1;
+		}
+
+		this.capacity = capacity;
+		this.segmentMask = count - 1;
+		this.segments = new Segment[count];
+
+		// spread the remainder so the segment limits add up to the capacity
+		for (int i = 0; i < count; i++) {
+			this.segments[i] = new Segment<K, V>(capacity / count + (i < capacity % count ? 1 : 0));
+		}
+	}
+
+	private Segment<K, V> segmentFor(Object key) {
+		int h = (key == null) ? 0 : key.hashCode();
+		h ^= (h >>> 16);
+		return this.segments[h & this.segmentMask];
+	}
+
+	/**
+	 * @param key the key
+	 * @return the cached value or <code>null</code> if not cached
+	 */
+	public V get(Object key) {
+		Segment<K, V> segment = segmentFor(key);
+		synchronized (segment) {
+			V value = segment.get(key);
+			if (value == null) {
+				segment.misses++;
+			} else {
+				segment.hits++;
+			}
+			return value;
+		}
+	}
+
+	/**
+	 * @param key the key
+	 * @param value the value
+	 * @return the value previously cached for the key or <code>null</code>
+	 */
+	public V put(K key, V value) {
+		Segment<K, V> segment = segmentFor(key);
+		synchronized (segment) {
+			return segment.put(key, value);
+		}
+	}
+
+	/**
+	 * @param key the key
+	 * @return the value that was cached for the key or <code>null</code>
+	 */
+	public V remove(Object key) {
+		Segment<K, V> segment = segmentFor(key);
+		synchronized (segment) {
+			return segment.remove(key);
+		}
+	}
+
+	/**
+	 * Removes all the entries. The hit and miss counts are kept.
+	 */
+	public void clear() {
+		for (Segment<K, V> segment : this.segments) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+	}
+
+	/**
+	 * @return the number of cached entries
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment<K, V> segment : this.segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * @return the maximum number of entries
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * @return the number of lookups that found a value
+	 */
+	public long getHitCount() {
+		long hits = 0;
+		for (Segment<K, V> segment : this.segments) {
+			synchronized (segment) {
+				hits += segment.hits;
+			}
+		}
+		return hits;
+	}
+
+	/**
+	 * @return the number of lookups that found no value
+	 */
+	public long getMissCount() {
+		long misses = 0;
+		for (Segment<K, V> segment : this.segments) {
+			synchronized (segment) {
+				misses += segment.misses;
+			}
+		}
+		return misses;
+	}
+
+	/**
+	 * @return the fraction of lookups that found a value or <code>0</code> if there have been none
+	 */
+	public double getHitRate() {
+		long hits = getHitCount();
+		long lookups = hits + getMissCount();
+		return (lookups == 0) ? 0 : (double)hits / lookups;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[size=" + size() + ", capacity=" + this.capacity //$NON-NLS-1$ //$NON-NLS-2$
+			+ ", hits=" + getHitCount() + ", misses=" + getMissCount() + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+}
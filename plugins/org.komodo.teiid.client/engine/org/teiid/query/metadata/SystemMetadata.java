@@ -21,23 +21,41 @@
  */
 package org.teiid.query.metadata;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+import org.komodo.spi.constants.SystemConstants;
 import org.komodo.spi.query.metadata.QueryMetadataInterface;
+import org.komodo.spi.runtime.version.DefaultTeiidVersion;
 import org.komodo.spi.runtime.version.DefaultTeiidVersion.Version;
 import org.komodo.spi.runtime.version.TeiidVersion;
 import org.komodo.spi.type.DataTypeManager;
 import org.komodo.spi.type.DataTypeManager.DataTypeAliases;
+import org.komodo.utils.ChecksumUtils;
+import org.komodo.utils.KLog;
 import org.teiid.adminapi.impl.ModelMetaData;
 import org.teiid.adminapi.impl.VDBMetaData;
 import org.teiid.core.types.DefaultDataTypeManager;
@@ -55,28 +73,267 @@ import org.teiid.runtime.client.Messages;
 
 public class SystemMetadata {
 	
-	private static Map<TeiidVersion, SystemMetadata> instances = new HashMap<TeiidVersion, SystemMetadata>();
-	
+	private static final String SNAPSHOT_PREFIX = "system-metadata-"; //$NON-NLS-1$
+
+	private static final String SNAPSHOT_EXTENSION = ".ser"; //$NON-NLS-1$
+
+	/**
+	 * The resources in this package the system metadata is built from
+	 */
+	private static final String[] SOURCE_RESOURCES = {"types.dat", "SYS.sql", "SYSADMIN.sql"}; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+	private static volatile Long sourceChecksum;
+
+	private static final ConcurrentMap<TeiidVersion, Holder> instances = new ConcurrentHashMap<TeiidVersion, Holder>();
+
+	/**
+	 * Builds the system metadata of one teiid version on first use. Callers asking for
+	 * the same version while it is being built wait for it rather than building their own.
+	 */
+	private static class Holder {
+
+		private final TeiidVersion teiidVersion;
+		private volatile SystemMetadata instance;
+
+		Holder(TeiidVersion teiidVersion) {
+			this.teiidVersion = teiidVersion;
+		}
+
+		SystemMetadata get() {
+			SystemMetadata result = instance;
+			if (result == null) {
+				synchronized (this) {
+					result = instance;
+					if (result == null) {
+						result = load(teiidVersion);
+						instance = result;
+					}
+				}
+			}
+
+			return result;
+		}
+	}
+
+	/**
+	 * The state written to a snapshot. The datatypes are shared by the type map and the
+	 * system store so they are written together to keep them shared once read.
+	 * <p>
+	 * The checksum of the system DDL and datatypes the metadata was built from is recorded
+	 * so a snapshot built from other resources is not loaded. The metadata classes keep
+	 * their serial version so the serial version of the snapshot has to be changed when
+	 * their serialized form changes.
+	 */
+	private static class Snapshot implements Serializable {
+
+		private static final long serialVersionUID = 2L;
+
+		private final String version;
+		private final long sourceChecksum;
+		private final List<Datatype> dataTypes;
+		private final Map<String, Datatype> typeMap;
+		private final MetadataStore systemStore;
+
+		Snapshot(SystemMetadata metadata, long sourceChecksum) {
+			this.version = metadata.teiidVersion.toString();
+			this.sourceChecksum = sourceChecksum;
+			this.dataTypes = metadata.dataTypes;
+			this.typeMap = metadata.typeMap;
+			this.systemStore = metadata.systemStore;
+		}
+	}
+
+	/**
+	 * Written in place of the teiid version held by columns and parameters, which is not
+	 * serializable, and replaced by the version being loaded when read.
+	 */
+	private static enum VersionMarker {
+		INSTANCE
+	}
+
+	private static class SnapshotOutputStream extends ObjectOutputStream {
+
+		SnapshotOutputStream(OutputStream out) throws IOException {
+			super(out);
+			enableReplaceObject(true);
+		}
+
+		@Override
+		protected Object replaceObject(Object obj) throws IOException {
+			if (obj instanceof TeiidVersion) {
+				return VersionMarker.INSTANCE;
+			}
+
+			return obj;
+		}
+	}
+
+	private static class SnapshotInputStream extends ObjectInputStream {
+
+		private final TeiidVersion teiidVersion;
+
+		SnapshotInputStream(InputStream in, TeiidVersion teiidVersion) throws IOException {
+			super(in);
+			this.teiidVersion = teiidVersion;
+			enableResolveObject(true);
+		}
+
+		@Override
+		protected Object resolveObject(Object obj) throws IOException {
+			if (obj == VersionMarker.INSTANCE) {
+				return teiidVersion;
+			}
+
+			return obj;
+		}
+	}
+
 	/**
 	 * @param teiidVersion
 	 * @return get singleton instance keyed on given teiid version
 	 */
 	public static SystemMetadata getInstance(TeiidVersion teiidVersion) {
-		SystemMetadata instance = instances.get(teiidVersion);
-		if (instance == null) {
-		    instance = new SystemMetadata(teiidVersion);
-		    instances.put(teiidVersion, instance);
+		Holder holder = instances.get(teiidVersion);
+		if (holder == null) {
+			Holder newHolder = new Holder(teiidVersion);
+			holder = instances.putIfAbsent(teiidVersion, newHolder);
+			if (holder == null) {
+				holder = newHolder;
+			}
+		}
+
+		return holder.get();
+	}
+
+	/**
+	 * Loads the system metadata from a snapshot if there is one, otherwise builds it from the
+	 * system DDL and, if a snapshot directory is set, saves a snapshot for the next start.
+	 */
+	private static SystemMetadata load(TeiidVersion teiidVersion) {
+		SystemMetadata instance = readSnapshot(teiidVersion);
+		if (instance != null) {
+			return instance;
+		}
+
+		instance = new SystemMetadata(teiidVersion);
+
+		File directory = getSnapshotDirectory();
+		if (directory != null) {
+			try {
+				instance.writeSnapshot(directory);
+			} catch (IOException e) {
+				KLog.getLogger().warn("Unable to save the system metadata of Teiid {0} to {1}", e, teiidVersion, directory); //$NON-NLS-1$
+			}
 		}
 
 		return instance;
 	}
 
+	private static File getSnapshotDirectory() {
+		String value = System.getProperty(SystemConstants.TEIID_SYSTEM_METADATA_DIR);
+		if (value == null || value.trim().isEmpty()) {
+			return null;
+		}
+
+		return new File(value.trim());
+	}
+
+	private static String getSnapshotName(TeiidVersion teiidVersion) {
+		return SNAPSHOT_PREFIX + teiidVersion + SNAPSHOT_EXTENSION;
+	}
+
+	private static InputStream openSnapshot(TeiidVersion teiidVersion) throws IOException {
+		String name = getSnapshotName(teiidVersion);
+		File directory = getSnapshotDirectory();
+		if (directory != null) {
+			File file = new File(directory, name);
+			if (file.isFile()) {
+				return new FileInputStream(file);
+			}
+		}
+
+		// snapshots packaged alongside the system DDL
+		return SystemMetadata.class.getResourceAsStream(name);
+	}
+
+	/**
+	 * @return the CRC-32 checksum of the resources the system metadata is built from
+	 * @throws IOException if a resource cannot be read
+	 */
+	static long getSourceChecksum() throws IOException {
+		Long result = sourceChecksum;
+		if (result == null) {
+			Checksum checksum = new CRC32();
+			for (String name : SOURCE_RESOURCES) {
+				InputStream is = SystemMetadata.class.getResourceAsStream(name);
+				if (is == null) {
+					throw new FileNotFoundException(name);
+				}
+				ChecksumUtils.computeChecksum(is, checksum);
+			}
+
+			result = checksum.getValue();
+			sourceChecksum = result;
+		}
+
+		return result;
+	}
+
+	/**
+	 * @param teiidVersion the teiid version of the snapshot
+	 * @param is the stream the snapshot is read from
+	 * @return the system metadata or <code>null</code> if the snapshot is of another teiid version
+	 *         or was built from other system DDL or datatypes
+	 * @throws IOException if the snapshot cannot be read
+	 * @throws ClassNotFoundException if the snapshot refers to an unknown class
+	 */
+	static SystemMetadata readSnapshot(TeiidVersion teiidVersion, InputStream is) throws IOException, ClassNotFoundException {
+		ObjectInputStream ois = new SnapshotInputStream(new BufferedInputStream(is), teiidVersion);
+		Snapshot snapshot = (Snapshot)ois.readObject();
+		if (!teiidVersion.toString().equals(snapshot.version) || snapshot.sourceChecksum != getSourceChecksum()) {
+			return null;
+		}
+
+		return new SystemMetadata(teiidVersion, snapshot);
+	}
+
+	private static SystemMetadata readSnapshot(TeiidVersion teiidVersion) {
+		try (InputStream is = openSnapshot(teiidVersion)) {
+			if (is == null) {
+				return null;
+			}
+
+			SystemMetadata instance = readSnapshot(teiidVersion, is);
+			if (instance == null) {
+				KLog.getLogger().info("The system metadata snapshot of Teiid {0} is out of date so it will be rebuilt", teiidVersion); //$NON-NLS-1$
+			}
+
+			return instance;
+		} catch (IOException | ClassNotFoundException | ClassCastException e) {
+			// an unreadable snapshot, such as one written before the snapshot's serial version changed, so rebuild the metadata instead
+			KLog.getLogger().warn("Unable to load the system metadata snapshot of Teiid {0}", e, teiidVersion); //$NON-NLS-1$
+			return null;
+		}
+	}
+
 	private final TeiidVersion teiidVersion;
 	private final DefaultDataTypeManager dataTypeManager;
 	private List<Datatype> dataTypes = new ArrayList<Datatype>();
 	private Map<String, Datatype> typeMap = new TreeMap<String, Datatype>(String.CASE_INSENSITIVE_ORDER);
 	private MetadataStore systemStore;
 
+	/**
+	 * Restores the system metadata from a snapshot. The snapshot was validated when it
+	 * was written so neither the DDL parsing nor the validation are repeated.
+	 */
+	private SystemMetadata(TeiidVersion teiidVersion, Snapshot snapshot) {
+		this.teiidVersion = teiidVersion;
+		this.dataTypeManager = DefaultDataTypeManager.getInstance(teiidVersion);
+		this.dataTypes = snapshot.dataTypes;
+		this.typeMap = snapshot.typeMap;
+		this.systemStore = snapshot.systemStore;
+	}
+
 	/**
 	 * @param teiidVersion
 	 */
@@ -205,4 +462,64 @@ public class SystemMetadata {
 	public MetadataStore getSystemStore() {
 		return systemStore;
 	}
+
+	/**
+	 * Writes a snapshot of this system metadata that {@link #getInstance(TeiidVersion)} loads
+	 * instead of parsing and validating the system DDL. Snapshots are loaded from the
+	 * {@link SystemConstants#TEIID_SYSTEM_METADATA_DIR} directory or from this package.
+	 *
+	 * @param out the stream the snapshot is written to
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	public void writeSnapshot(OutputStream out) throws IOException {
+		writeSnapshot(out, getSourceChecksum());
+	}
+
+	void writeSnapshot(OutputStream out, long checksum) throws IOException {
+		ObjectOutputStream oos = new SnapshotOutputStream(out);
+		oos.writeObject(new Snapshot(this, checksum));
+		oos.flush();
+	}
+
+	/**
+	 * Writes a snapshot of this system metadata, named after its teiid version, into the
+	 * given directory. The snapshot replaces any existing one only once fully written.
+	 *
+	 * @param directory the directory the snapshot is written to
+	 * @return the snapshot file
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	public File writeSnapshot(File directory) throws IOException {
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException(directory.getAbsolutePath());
+		}
+
+		String name = getSnapshotName(teiidVersion);
+		File snapshot = new File(directory, name);
+		File tmp = File.createTempFile(name, null, directory);
+		try {
+			try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tmp))) {
+				writeSnapshot(out);
+			}
+			Files.move(tmp.toPath(), snapshot.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(tmp.toPath());
+		}
+
+		return snapshot;
+	}
+
+	/**
+	 * Writes the system metadata snapshots of the given teiid versions so they can be
+	 * packaged with this plugin.
+	 *
+	 * @param args the output directory followed by the teiid versions
+	 * @throws IOException if a snapshot cannot be written
+	 */
+	public static void main(String[] args) throws IOException {
+		File directory = new File(args[0]);
+		for (int i = 1; i < args.length; i++) {
+			new SystemMetadata(new DefaultTeiidVersion(args[i])).writeSnapshot(directory);
+		}
+	}
 }
@@ -25,6 +25,7 @@ package org.teiid.query.metadata;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -45,10 +46,12 @@ import javax.script.ScriptEngineFactory;
 import javax.script.ScriptEngineManager;
 
 import org.komodo.spi.annotation.Since;
+import org.komodo.spi.constants.SystemConstants;
 import org.komodo.spi.query.metadata.QueryMetadataInterface;
 import org.komodo.spi.runtime.version.TeiidVersion;
 import org.komodo.spi.runtime.version.DefaultTeiidVersion;
 import org.komodo.spi.runtime.version.DefaultTeiidVersion.Version;
+import org.komodo.utils.KLog;
 import org.teiid.adminapi.impl.DataPolicyMetadata;
 import org.teiid.adminapi.impl.VDBMetaData;
 import org.teiid.core.types.BlobImpl;
@@ -57,7 +60,7 @@ import org.teiid.core.types.DefaultDataTypeManager;
 import org.teiid.core.types.InputStreamFactory;
 import org.teiid.core.types.SQLXMLImpl;
 import org.teiid.core.util.ArgCheck;
-import org.teiid.core.util.LRUCache;
+import org.teiid.core.util.ConcurrentLRUCache;
 import org.teiid.core.util.ObjectConverterUtil;
 import org.teiid.core.util.StringUtil;
 import org.teiid.metadata.AbstractMetadataRecord;
@@ -169,11 +172,49 @@ public class TransformationMetadata extends BasicQueryMetadata implements Serial
     
     /*
      * TODO: move caching to jboss cache structure
+     *
+     * The caches are not serializable so they are recreated empty when the metadata is deserialized.
+     */
+    private transient ConcurrentLRUCache<String, Object> metadataCache;
+    private transient ConcurrentLRUCache<String, Object> groupInfoCache;
+    private transient ConcurrentLRUCache<String, Collection<Table>> partialNameToFullNameCache;
+    private transient ConcurrentLRUCache<String, Collection<TCStoredProcedureInfo>> procedureCache;
+
+    {
+        createCaches();
+    }
+
+    private void createCaches() {
+        this.metadataCache = new ConcurrentLRUCache<String, Object>(getCacheSize(250));
+        this.groupInfoCache = new ConcurrentLRUCache<String, Object>(getCacheSize(250));
+        this.partialNameToFullNameCache = new ConcurrentLRUCache<String, Collection<Table>>(getCacheSize(1000));
+        this.procedureCache = new ConcurrentLRUCache<String, Collection<TCStoredProcedureInfo>>(getCacheSize(200));
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        createCaches();
+    }
+
+    /**
+     * @param defaultSize the size of the cache when not scaled
+     * @return the default size scaled by the {@link SystemConstants#TEIID_METADATA_CACHE_FACTOR} system property,
+     *         which is limited to {@link Integer#MAX_VALUE}
      */
-    private Map<String, Object> metadataCache = Collections.synchronizedMap(new LRUCache<String, Object>(250));
-    private Map<String, Object> groupInfoCache = Collections.synchronizedMap(new LRUCache<String, Object>(250));
-    private Map<String, Collection<Table>> partialNameToFullNameCache = Collections.synchronizedMap(new LRUCache<String, Collection<Table>>(1000));
-    private Map<String, Collection<TCStoredProcedureInfo>> procedureCache = Collections.synchronizedMap(new LRUCache<String, Collection<TCStoredProcedureInfo>>(200));
+    private static int getCacheSize(int defaultSize) {
+        String value = System.getProperty(SystemConstants.TEIID_METADATA_CACHE_FACTOR);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultSize;
+        }
+
+        try {
+            int factor = Integer.parseInt(value.trim());
+            return (factor > 0) ? (int)Math.min(Integer.MAX_VALUE, (long)defaultSize * factor) : defaultSize;
+        } catch (NumberFormatException e) {
+            KLog.getLogger().warn("Invalid value \"{0}\" for {1}", value, SystemConstants.TEIID_METADATA_CACHE_FACTOR); //$NON-NLS-1$
+            return defaultSize;
+        }
+    }
 
     /**
      * TransformationMetadata constructor
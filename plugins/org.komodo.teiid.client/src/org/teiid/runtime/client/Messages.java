@@ -83,7 +83,8 @@ public class Messages {
         data_permissions_describe,
         mapped_role_names_describe,
         noParentServer,
-        refreshVdbException;
+        refreshVdbException,
+        vdbDeploymentFailed;
 
         @Override
         public String toString() {
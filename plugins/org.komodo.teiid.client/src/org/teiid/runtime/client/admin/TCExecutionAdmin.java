@@ -25,7 +25,11 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
 import java.sql.Connection;
 import java.sql.Driver;
 import java.sql.SQLException;
@@ -38,6 +42,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.komodo.spi.constants.SystemConstants;
 import org.komodo.spi.outcome.Outcome;
 import org.komodo.spi.outcome.OutcomeFactory;
 import org.komodo.spi.runtime.EventManager;
@@ -51,6 +65,7 @@ import org.komodo.spi.runtime.TeiidJdbcInfo;
 import org.komodo.spi.runtime.TeiidTranslator;
 import org.komodo.spi.runtime.TeiidTranslator.TranslatorPropertyType;
 import org.komodo.spi.runtime.TeiidVdb;
+import org.komodo.spi.runtime.VdbDeployment;
 import org.komodo.spi.runtime.TeiidExecutionException;
 import org.komodo.spi.runtime.TeiidPropertyDefinition;
 import org.komodo.spi.runtime.version.TeiidVersion;
@@ -63,6 +78,7 @@ import org.teiid.adminapi.VDB;
 import org.teiid.core.util.ArgCheck;
 import org.teiid.jdbc.TeiidDriver;
 import org.teiid.runtime.client.Messages;
+import org.teiid.runtime.client.admin.VdbStatusTracker.VdbLoad;
 
 
 
@@ -75,16 +91,20 @@ public class TCExecutionAdmin implements ExecutionAdmin {
 
     private static String DYNAMIC_VDB_SUFFIX = "-vdb.xml"; //$NON-NLS-1$
     private static int VDB_LOADING_TIMEOUT_SEC = 300;
+    private static int DEFAULT_ADMIN_WORKERS = 4;
+    private static int PIPE_SIZE = 64 * 1024;
 
     private final Admin admin;
     protected Map<String, TeiidTranslator> translatorByNameMap;
     protected Collection<String> dataSourceNames;
     protected Map<String, TeiidDataSource> dataSourceByNameMap;
+    private final Set<String> invalidDataSourceNames = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
     protected Set<String> dataSourceTypeNames;
     private final TeiidInstance teiidInstance;
     private final AdminSpec adminSpec;
-    private Map<String, TeiidVdb> teiidVdbs;
+    private volatile Map<String, TeiidVdb> teiidVdbs;
     private final ModelConnectionMatcher connectionMatcher;
+    private final VdbStatusTracker statusTracker = new VdbStatusTracker(this, TimeUnit.SECONDS.toMillis(VDB_LOADING_TIMEOUT_SEC));
 
     private boolean loaded = false;
 
@@ -153,6 +173,8 @@ public class TCExecutionAdmin implements ExecutionAdmin {
                 this.dataSourceNames.remove(dsName);
                 TeiidDataSource tds = this.dataSourceByNameMap.get(dsName);
 
+                this.invalidDataSourceNames.remove(dsName);
+
                 if (tds != null) {
                     this.dataSourceByNameMap.remove(dsName);
                     this.getEventManager().notifyListeners(ExecutionConfigurationEvent.createRemoveDataSourceEvent(tds));
@@ -164,6 +186,23 @@ public class TCExecutionAdmin implements ExecutionAdmin {
     
     @Override
     public void deployDynamicVdb( String deploymentName, InputStream inStream ) throws Exception {
+        deployDynamicVdbAsync(deploymentName, inStream);
+    }
+
+    /**
+     * Deploys a dynamic VDB without waiting for it to load. The status of all the VDBs being loaded is polled by one tracker.
+     *
+     * @param deploymentName the deployment name, which must end with <code>-vdb.xml</code>
+     * @param inStream the contents of the VDB
+     * @return a future that completes with the VDB, or with <code>null</code> if it is no longer deployed, once the VDB has
+     *         finished loading or has failed (never <code>null</code>)
+     * @throws Exception if the VDB cannot be deployed
+     */
+    public Future<TeiidVdb> deployDynamicVdbAsync( String deploymentName, InputStream inStream ) throws Exception {
+        return startDynamicVdbDeployment(deploymentName, inStream);
+    }
+
+    private VdbLoad startDynamicVdbDeployment( String deploymentName, InputStream inStream ) throws Exception {
         ArgCheck.isNotNull(deploymentName, "deploymentName"); //$NON-NLS-1$
         ArgCheck.isNotNull(inStream, "inStream"); //$NON-NLS-1$
 
@@ -182,26 +221,167 @@ public class TCExecutionAdmin implements ExecutionAdmin {
     	
         // Deploy the VDB
         // TODO: Dont assume vdbVersion
-        doDeployVdb(deploymentName,vdbName,1,inStream);
+        return doDeployVdb(deploymentName,vdbName,1,inStream);
     }
     
-    private void doDeployVdb(String deploymentName, String vdbName, int vdbVersion, InputStream inStream) throws Exception {
+    private VdbLoad doDeployVdb(String deploymentName, String vdbName, int vdbVersion, InputStream inStream) throws Exception {
         adminSpec.deploy(admin, deploymentName, inStream);
-        // Give a 0.5 sec pause for the VDB to finish loading metadata.
-        try {
-            Thread.sleep(500);
-        } catch (InterruptedException e) {
-            // ignore
-        }   
-                      
-        // Refresh VDBs list
+        long deployedTime = System.currentTimeMillis();
+
+        // The deployed VDB is known as soon as the deployment returns
         refreshVDBs();
 
+        // The tracker refreshes the VDBs list until the VDB has loaded
         // TODO should get version from vdbFile
-        VDB vdb = admin.getVDB(vdbName, vdbVersion);
+        return this.statusTracker.track(vdbName, deployedTime);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The VDBs are deployed on a pool sized by the {@link SystemConstants#TEIID_ADMIN_WORKERS} system property. Each VDB is
+     * written on its own thread and piped to the thread sending it so the VDB is never held in memory as a whole. The loading
+     * of all the deployed VDBs is awaited by the one status tracker.
+     *
+     * @see org.komodo.spi.runtime.ExecutionAdmin#deployDynamicVdbs(java.util.List)
+     */
+    @Override
+    public List<VdbDeployment> deployDynamicVdbs(List<? extends VdbDeployment.Source> sources) throws Exception {
+        ArgCheck.isNotNull(sources, "sources"); //$NON-NLS-1$
+
+        List<VdbDeployment> deployments = new ArrayList<VdbDeployment>(sources.size());
+
+        if (sources.isEmpty())
+            return deployments;
+
+        int workers = Math.min(getAdminWorkerCount(), sources.size());
+        final ExecutorService senders = createAdminExecutor("deploy", workers); //$NON-NLS-1$
+        final ExecutorService writers = createAdminExecutor("export", workers); //$NON-NLS-1$
+        List<Future<SentVdb>> sent = new ArrayList<Future<SentVdb>>(sources.size());
+
+        try {
+            for (final VdbDeployment.Source source : sources) {
+                sent.add(senders.submit(new Callable<SentVdb>() {
+
+                    @Override
+                    public SentVdb call() throws Exception {
+                        return sendVdb(source, writers);
+                    }
+                }));
+            }
 
-        Thread refreshThread = new RefreshThread(vdb);
-        refreshThread.start();
+            // later VDBs are still being sent while the earlier ones are awaited
+            for (int i = 0; i < sources.size(); ++i) {
+                String deploymentName = sources.get(i).getDeploymentName();
+                SentVdb sentVdb = null;
+
+                try {
+                    sentVdb = getResult(sent.get(i));
+                    TeiidVdb vdb = sentVdb.load.get();
+                    deployments.add(new VdbDeployment(deploymentName, vdb, null, sentVdb.sendTime,
+                                                      sentVdb.load.getCompletionTime() - sentVdb.load.getDeployedTime()));
+                } catch (InterruptedException ex) {
+                    throw ex;
+                } catch (Exception ex) {
+                    KLog.getLogger().error(Messages.getString(Messages.ExecutionAdmin.vdbDeploymentFailed, deploymentName), ex);
+                    deployments.add(new VdbDeployment(deploymentName, null, ex, (sentVdb == null) ? 0 : sentVdb.sendTime, 0));
+                }
+            }
+        } finally {
+            senders.shutdownNow();
+            writers.shutdownNow();
+        }
+
+        return deployments;
+    }
+
+    private static class SentVdb {
+
+        private final VdbLoad load;
+        private final long sendTime;
+
+        SentVdb(VdbLoad load, long sendTime) {
+            this.load = load;
+            this.sendTime = sendTime;
+        }
+    }
+
+    /**
+     * Records whether the end of the piped VDB has been read
+     */
+    private static class SentStream extends FilterInputStream {
+
+        private volatile boolean ended;
+
+        SentStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int result = super.read();
+            if (result == -1)
+                this.ended = true;
+            return result;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int result = super.read(b, off, len);
+            if (result == -1)
+                this.ended = true;
+            return result;
+        }
+    }
+
+    private SentVdb sendVdb(final VdbDeployment.Source source, ExecutorService writers) throws Exception {
+        long start = System.currentTimeMillis();
+        final PipedInputStream inStream = new PipedInputStream(PIPE_SIZE);
+        final PipedOutputStream outStream = new PipedOutputStream(inStream);
+
+        Future<Void> written = writers.submit(new Callable<Void>() {
+
+            @Override
+            public Void call() throws Exception {
+                try {
+                    source.write(outStream);
+                } finally {
+                    outStream.close();
+                }
+
+                return null;
+            }
+        });
+
+        SentStream sentStream = new SentStream(inStream);
+        VdbLoad load;
+
+        try {
+            load = startDynamicVdbDeployment(source.getDeploymentName(), sentStream);
+        } catch (Exception ex) {
+            // unblocks the writer if the VDB was not read to the end
+            inStream.close();
+
+            Exception writeError = getError(written);
+            if (writeError == null)
+                throw ex;
+
+            // a writer that failed ended the stream early, which explains the failure to deploy
+            if (sentStream.ended) {
+                writeError.addSuppressed(ex);
+                throw writeError;
+            }
+
+            // the writer only failed because the pipe was closed before the VDB was read
+            ex.addSuppressed(writeError);
+            throw ex;
+        }
+
+        // unblocks the writer if the VDB was not read to the end
+        inStream.close();
+
+        getResult(written);
+        return new SentVdb(load, load.getDeployedTime() - start);
     }
 
     @Override
@@ -212,10 +392,12 @@ public class TCExecutionAdmin implements ExecutionAdmin {
     @Override
     public void disconnect() {
     	// 
+        this.statusTracker.shutdown();
     	this.admin.close();
         this.translatorByNameMap = new HashMap<String, TeiidTranslator>();
         this.dataSourceNames = new ArrayList<String>();
         this.dataSourceByNameMap = new HashMap<String, TeiidDataSource>();
+        this.invalidDataSourceNames.clear();
         this.dataSourceTypeNames = new HashSet<String>();
         this.teiidVdbs = new HashMap<String, TeiidVdb>();
     }
@@ -310,6 +492,9 @@ public class TCExecutionAdmin implements ExecutionAdmin {
             TeiidDataSource tds = new TCTeiidDataSource(nullStr, dsName, typeName, properties);
 
             this.dataSourceByNameMap.put(dsName, tds);
+
+            // the server adds properties of its own so read them on the next refresh
+            invalidateDataSource(dsName);
             this.getEventManager().notifyListeners(ExecutionConfigurationEvent.createAddDataSourceEvent(tds));
 
             return tds;
@@ -580,81 +765,282 @@ public class TCExecutionAdmin implements ExecutionAdmin {
     }
 
     /**
-     * Refreshes the cached lists and maps of current Teiid objects
+     * Refreshes the cached lists and maps of current Teiid objects. The lists of translators, data source names, data source
+     * types and VDBs are fetched concurrently. The property definitions of a translator are only fetched when it is new or
+     * its properties have changed. The properties of a data source are only fetched when it is new or has been marked by
+     * {@link #invalidateDataSource(String)}. Objects no longer on the server are discarded.
+     *
      * @throws Exception if refreshing admin connection fails
      */
     public void refresh() throws Exception {
-        // populate translator map
-        refreshTranslators(this.admin.getTranslators());
+        long start = System.currentTimeMillis();
+        ExecutorService executor = createAdminExecutor("refresh", getAdminWorkerCount()); //$NON-NLS-1$
 
-        // populate data source type names set
-        refreshDataSourceTypes();
+        try {
+            Future<Collection<? extends Translator>> translators = executor.submit(new Callable<Collection<? extends Translator>>() {
 
-        // populate data source names list
-        refreshDataSourceNames();
+                @Override
+                public Collection<? extends Translator> call() throws Exception {
+                    return admin.getTranslators();
+                }
+            });
 
-        this.dataSourceByNameMap.clear();
-        Collection<TeiidDataSource> tdsList = connectionMatcher.findTeiidDataSources(this.dataSourceNames);
-        for (TeiidDataSource ds : tdsList) {
-            // Get Properties for the source
-            Properties dsProps = this.admin.getDataSource(ds.getName());
-            // Transfer properties to the ITeiidDataSource
-            ds.getProperties().clear();
-            ds.getProperties().putAll(dsProps);
+            Future<Set<String>> dataSourceTypes = executor.submit(new Callable<Set<String>>() {
 
-        	// put ds into map
-            this.dataSourceByNameMap.put(ds.getName(), ds);
+                @Override
+                public Set<String> call() throws Exception {
+                    return admin.getDataSourceTemplateNames();
+                }
+            });
+
+            Future<Collection<String>> dataSources = executor.submit(new Callable<Collection<String>>() {
+
+                @Override
+                public Collection<String> call() throws Exception {
+                    return admin.getDataSourceNames();
+                }
+            });
+
+            Future<Collection<? extends VDB>> vdbs = executor.submit(new Callable<Collection<? extends VDB>>() {
+
+                @Override
+                public Collection<? extends VDB> call() throws Exception {
+                    return admin.getVDBs();
+                }
+            });
+
+            // populate translator map
+            refreshTranslators(getResult(translators), executor);
+
+            // populate data source type names set
+            this.dataSourceTypeNames = new HashSet<String>(getResult(dataSourceTypes));
+
+            // populate data source names list and data source map
+            this.dataSourceNames = new ArrayList<String>(getResult(dataSources));
+            refreshDataSources(executor);
+
+            // populate VDBs and source bindings
+            refreshVDBs(getResult(vdbs));
+        } finally {
+            executor.shutdownNow();
         }
 
-        // populate VDBs and source bindings
-        refreshVDBs();
+        KLog.getLogger().debug("TCExecutionAdmin: refreshed {0} in {1} ms", this.teiidInstance, System.currentTimeMillis() - start); //$NON-NLS-1$
 
         // notify listeners
         this.getEventManager().notifyListeners(ExecutionConfigurationEvent.createTeiidRefreshEvent(this.teiidInstance));
     }
 
+    private static int getAdminWorkerCount() {
+        String value = System.getProperty(SystemConstants.TEIID_ADMIN_WORKERS);
+
+        if (value == null || value.trim().isEmpty())
+            return DEFAULT_ADMIN_WORKERS;
+
+        try {
+            int count = Integer.parseInt(value.trim());
+            return (count > 0) ? count : DEFAULT_ADMIN_WORKERS;
+        } catch (NumberFormatException ex) {
+            KLog.getLogger().warn("TCExecutionAdmin: invalid value \"{0}\" for {1}", value, SystemConstants.TEIID_ADMIN_WORKERS); //$NON-NLS-1$
+            return DEFAULT_ADMIN_WORKERS;
+        }
+    }
+
+    private ExecutorService createAdminExecutor(final String purpose, int count) {
+        final AtomicInteger threadCount = new AtomicInteger();
+
+        return Executors.newFixedThreadPool(count, new ThreadFactory() {
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "TCExecutionAdmin-" + purpose + '-' + threadCount.incrementAndGet()); //$NON-NLS-1$
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    private static <T> T getResult(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof Exception)
+                throw (Exception)ex.getCause();
+
+            throw ex;
+        }
+    }
+
+    /**
+     * @return the exception the task failed with or <code>null</code> if it succeeded
+     * @throws InterruptedException if interrupted while waiting for the task
+     */
+    private static Exception getError(Future<?> future) throws InterruptedException {
+        try {
+            getResult(future);
+            return null;
+        } catch (InterruptedException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            return ex;
+        }
+    }
+
     protected void refreshDataSourceNames() throws Exception {
         // populate data source names list
         this.dataSourceNames = new ArrayList(this.admin.getDataSourceNames());
     }
 
     /**
-     * Refreshes the local collection of Translators on the referenced Teiid teiid instance.
-     * 
-     * @param translators
-     * @throws Exception
+     * Marks a data source whose properties have changed on the server. Its properties are fetched again by the next
+     * {@link #refresh()}. The Teiid admin API does not report changes to a data source so the properties of the existing
+     * ones are not fetched unless they have been marked.
+     *
+     * @param name the name of the data source (cannot be empty)
      */
-    protected void refreshTranslators( Collection<? extends Translator> translators ) throws Exception {
-        for (Translator translator : translators) {
-            if (translator.getName() != null) {
-                if( teiidInstance.getVersion().isLessThan(Version.TEIID_8_6.get())) {
-                	Collection<? extends PropertyDefinition> propDefs = this.admin.getTemplatePropertyDefinitions(translator.getName());
-                	this.translatorByNameMap.put(translator.getName(), new TCTeiidTranslator(translator, propDefs, teiidInstance));
-                } else if( teiidInstance.getVersion().isLessThan(Version.TEIID_8_7.get())) {
-                    @SuppressWarnings( "deprecation" )
-                    Collection<? extends PropertyDefinition> propDefs = this.admin.getTranslatorPropertyDefinitions(translator.getName());
-                	this.translatorByNameMap.put(translator.getName(), new TCTeiidTranslator(translator, propDefs, teiidInstance));
-                } else { // TEIID teiid instance VERSION 8.7 AND HIGHER
-                	Collection<? extends PropertyDefinition> propDefs  = 
-                			this.admin.getTranslatorPropertyDefinitions(translator.getName(), Admin.TranlatorPropertyType.OVERRIDE);
-                	Collection<? extends PropertyDefinition> importPropDefs  = 
-                			this.admin.getTranslatorPropertyDefinitions(translator.getName(), Admin.TranlatorPropertyType.IMPORT);
-                	Collection<? extends PropertyDefinition> extPropDefs  = 
-                			this.admin.getTranslatorPropertyDefinitions(translator.getName(), Admin.TranlatorPropertyType.EXTENSION_METADATA);
-                	this.translatorByNameMap.put(translator.getName(), new TCTeiidTranslator(translator, propDefs, importPropDefs, extPropDefs, teiidInstance));
+    public void invalidateDataSource(String name) {
+        ArgCheck.isNotEmpty(name, "name"); //$NON-NLS-1$
+        this.invalidDataSourceNames.add(name);
+    }
+
+    /**
+     * Discards the data sources no longer on the server, creates the new ones and fetches their properties. The existing
+     * data sources are kept and only those marked by {@link #invalidateDataSource(String)} have their properties replaced
+     * by those on the server.
+     *
+     * @param executor the pool the admin calls are made on
+     * @throws Exception if the properties of a data source cannot be fetched
+     */
+    private void refreshDataSources(ExecutorService executor) throws Exception {
+        Set<String> names = new HashSet<String>(this.dataSourceNames);
+        this.dataSourceByNameMap.keySet().retainAll(names);
+
+        List<TeiidDataSource> dataSources = new ArrayList<TeiidDataSource>();
+        for (String name : this.invalidDataSourceNames) {
+            // marks are only cleared once the properties have been read
+            TeiidDataSource ds = this.dataSourceByNameMap.get(name);
+
+            if (ds != null)
+                dataSources.add(ds);
+            else if (!names.contains(name))
+                this.invalidDataSourceNames.remove(name);
+        }
+
+        names.removeAll(this.dataSourceByNameMap.keySet());
+        dataSources.addAll(connectionMatcher.findTeiidDataSources(names));
+
+        Map<TeiidDataSource, Future<Properties>> fetched = new HashMap<TeiidDataSource, Future<Properties>>();
+
+        for (final TeiidDataSource ds : dataSources) {
+            fetched.put(ds, executor.submit(new Callable<Properties>() {
+
+                @Override
+                public Properties call() throws Exception {
+                    // Get Properties for the source
+                    return admin.getDataSource(ds.getName());
                 }
+            }));
+        }
+
+        for (Map.Entry<TeiidDataSource, Future<Properties>> entry : fetched.entrySet()) {
+            TeiidDataSource ds = entry.getKey();
+            Properties properties = getResult(entry.getValue());
+            this.invalidDataSourceNames.remove(ds.getName());
+
+            if (properties == null) {
+                // removed from the server since its name was fetched
+                this.dataSourceByNameMap.remove(ds.getName());
+                continue;
+            }
+
+            // Transfer properties to the ITeiidDataSource
+            if (!properties.equals(ds.getProperties())) {
+                ds.getProperties().clear();
+                ds.getProperties().putAll(properties);
             }
+
+            // put ds into map
+            this.dataSourceByNameMap.put(ds.getName(), ds);
+        }
+    }
+
+    /**
+     * Refreshes the local collection of Translators on the referenced Teiid teiid instance. The property definitions are only
+     * fetched for translators that are new or whose properties have changed.
+     * 
+     * @param translators the translators on the server
+     * @param executor the pool the admin calls are made on
+     * @throws Exception if the property definitions of a translator cannot be fetched
+     */
+    protected void refreshTranslators( Collection<? extends Translator> translators, ExecutorService executor ) throws Exception {
+        Set<String> names = new HashSet<String>();
+        Map<String, Future<TeiidTranslator>> changed = new HashMap<String, Future<TeiidTranslator>>();
+
+        for (final Translator translator : translators) {
+            if (translator.getName() == null)
+                continue;
+
+            names.add(translator.getName());
+            TeiidTranslator cached = this.translatorByNameMap.get(translator.getName());
+
+            if (cached != null && isSameTranslator(cached, translator))
+                continue;
+
+            changed.put(translator.getName(), executor.submit(new Callable<TeiidTranslator>() {
+
+                @Override
+                public TeiidTranslator call() throws Exception {
+                    return createTranslator(translator);
+                }
+            }));
+        }
+
+        this.translatorByNameMap.keySet().retainAll(names);
+
+        for (Map.Entry<String, Future<TeiidTranslator>> entry : changed.entrySet()) {
+            this.translatorByNameMap.put(entry.getKey(), getResult(entry.getValue()));
+        }
+    }
+
+    private static boolean isSameTranslator(TeiidTranslator cached, Translator translator) {
+        if (cached.getType() == null ? translator.getType() != null : !cached.getType().equals(translator.getType()))
+            return false;
+
+        return (cached.getProperties() == null) ? translator.getProperties() == null
+                                                : cached.getProperties().equals(translator.getProperties());
+    }
+
+    private TeiidTranslator createTranslator(Translator translator) throws Exception {
+        if( teiidInstance.getVersion().isLessThan(Version.TEIID_8_6.get())) {
+        	Collection<? extends PropertyDefinition> propDefs = this.admin.getTemplatePropertyDefinitions(translator.getName());
+        	return new TCTeiidTranslator(translator, propDefs, teiidInstance);
+        } else if( teiidInstance.getVersion().isLessThan(Version.TEIID_8_7.get())) {
+            @SuppressWarnings( "deprecation" )
+            Collection<? extends PropertyDefinition> propDefs = this.admin.getTranslatorPropertyDefinitions(translator.getName());
+        	return new TCTeiidTranslator(translator, propDefs, teiidInstance);
+        } else { // TEIID teiid instance VERSION 8.7 AND HIGHER
+        	Collection<? extends PropertyDefinition> propDefs  = 
+        			this.admin.getTranslatorPropertyDefinitions(translator.getName(), Admin.TranlatorPropertyType.OVERRIDE);
+        	Collection<? extends PropertyDefinition> importPropDefs  = 
+        			this.admin.getTranslatorPropertyDefinitions(translator.getName(), Admin.TranlatorPropertyType.IMPORT);
+        	Collection<? extends PropertyDefinition> extPropDefs  = 
+        			this.admin.getTranslatorPropertyDefinitions(translator.getName(), Admin.TranlatorPropertyType.EXTENSION_METADATA);
+        	return new TCTeiidTranslator(translator, propDefs, importPropDefs, extPropDefs, teiidInstance);
         }
     }
 
     protected void refreshVDBs() throws Exception {
-        Collection<? extends VDB> vdbs = Collections.unmodifiableCollection(this.admin.getVDBs());
-        
-        teiidVdbs = new HashMap<String, TeiidVdb>();
+        refreshVDBs(this.admin.getVDBs());
+    }
+
+    private void refreshVDBs(Collection<? extends VDB> vdbs) {
+        Map<String, TeiidVdb> refreshed = new HashMap<String, TeiidVdb>();
 
         for (VDB vdb : vdbs) {
-            teiidVdbs.put(vdb.getName(), new TCTeiidVdb(vdb, teiidInstance));
+            refreshed.put(vdb.getName(), new TCTeiidVdb(vdb, teiidInstance));
         }
+
+        teiidVdbs = refreshed;
     }
     
     protected void refreshDataSourceTypes() throws Exception {
@@ -855,102 +1241,5 @@ public class TCExecutionAdmin implements ExecutionAdmin {
         
         throw new Exception(Messages.getString(Messages.ExecutionAdmin.cannotLoadDriverClass, driverClass));
     }
-
-    private class RefreshThread extends Thread {
-
-        private VDB vdb;
-
-        private String vdbName;
-
-        private int vdbVersion;
-
-        /**
-         * @param vdb
-         */
-        public RefreshThread(VDB vdb) {
-            this.vdb = vdb;
-            this.vdbName = vdb.getName();
-            this.vdbVersion = vdb.getVersion();
-
-            this.setDaemon(true);
-            this.setName("Refreshing vdb + " + vdb.getName()); //$NON-NLS-1$
-        }
-
-      /*
-      * Wait for the VDB to finish loading.  Will check status every 5 secs and return when the VDB is loaded.
-      * If not loaded within 30sec, it will timeout
-      * @param vdbName the name of the VDB
-      */
-        private void waitForVDBLoad() throws Exception {
-            long waitUntil = System.currentTimeMillis() + VDB_LOADING_TIMEOUT_SEC * 1000;
-            boolean first = true;
-            do {
-                // Pauses 5 sec
-                if (!first) {
-                    try {
-                        Thread.sleep(5000);
-                    } catch (InterruptedException e) {
-                        break;
-                    }
-                } else {
-                    first = false;
-                }
-
-                // Refreshes from adminApi
-                refreshVDBs();
-
-                // Get the teiid vdb
-                TeiidVdb vdb = getVdb(vdbName);
-                // Stop waiting if any conditions have been met
-                if (vdb == null)
-                    return;
-
-                boolean hasValidityErrors = !vdb.getValidityErrors().isEmpty();
-                if (!vdb.hasModels() || vdb.hasFailed() || !vdb.isLoading() || vdb.isActive() || vdb.wasRemoved() || hasValidityErrors) {
-                    return;
-                }
-            } while (System.currentTimeMillis() < waitUntil);
-
-            refreshVDBs();
-            return;
-        }
-
-        private boolean isVdbLoading() throws Exception {
-            // Get the refreshed vdb straight off the server
-            vdb = admin.getVDB(vdbName, vdbVersion);
-            if (vdb == null)
-                return false;
-
-            return adminSpec.getLoadingVDBStatus().equals(vdb.getStatus()) && vdb.getValidityErrors().isEmpty();
-        }
-
-        @Override
-        public void run() {
-            try {
-                // If the VDB is still loading, refresh again and potentially start refresh job
-                if(isVdbLoading()) {
-                    // Give a 0.5 sec pause for the VDB to finish loading metadata.
-                    Thread.sleep(500);
-                } 
-            }   catch (Exception e) {
-                KLog.getLogger().error(Messages.getString(Messages.ExecutionAdmin.refreshVdbException, vdbName), e);
-            }
-
-            try {
-                // Refresh again to update vdb states
-                refreshVDBs();
-
-                // Determine if still loading, if so wait for loading to be completed
-                if(isVdbLoading()) {
-                    waitForVDBLoad();
-                }
-            } catch (Exception ex) {
-                KLog.getLogger().error(Messages.getString(Messages.ExecutionAdmin.refreshVdbException, vdbName), ex);
-            }
-
-            getEventManager().notifyListeners(ExecutionConfigurationEvent.createDeployVDBEvent(vdb.getName()));
-        }
-
-    }
     
 }
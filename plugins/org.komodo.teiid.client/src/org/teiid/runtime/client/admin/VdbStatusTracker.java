@@ -0,0 +1,281 @@
+/*************************************************************************************
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+ ************************************************************************************/
+package org.teiid.runtime.client.admin;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.komodo.spi.runtime.ExecutionConfigurationEvent;
+import org.komodo.spi.runtime.TeiidVdb;
+import org.komodo.utils.KLog;
+import org.teiid.runtime.client.Messages;
+
+/**
+ * Tracks the VDBs that are loading after being deployed. A single scheduled task polls the status of all the pending VDBs
+ * with one refresh of the VDB list, so deploying many VDBs does not multiply the admin round-trips. The poll interval starts
+ * short and doubles, up to a maximum, for as long as no pending VDB finishes loading.
+ */
+class VdbStatusTracker {
+
+    /**
+     * The delay before the first poll after a deployment and after a poll that found a loaded VDB.
+     */
+    static final long INITIAL_DELAY_MS = 500;
+
+    /**
+     * The longest delay between polls.
+     */
+    static final long MAX_DELAY_MS = 5000;
+
+    /**
+     * The loading of a deployed VDB. Completed by the tracker with the VDB, or with <code>null</code> if the VDB is no longer
+     * deployed.
+     */
+    static final class VdbLoad extends FutureTask<TeiidVdb> {
+
+        private final long deployedTime;
+
+        private volatile long completionTime;
+
+        VdbLoad(long deployedTime) {
+            // never run as the tracker sets the result
+            super(new Callable<TeiidVdb>() {
+
+                @Override
+                public TeiidVdb call() {
+                    return null;
+                }
+            });
+
+            this.deployedTime = deployedTime;
+        }
+
+        /**
+         * @return the time the deployment of the VDB returned
+         */
+        long getDeployedTime() {
+            return this.deployedTime;
+        }
+
+        /**
+         * @return the time the VDB finished loading or zero if it has yet to finish
+         */
+        long getCompletionTime() {
+            return this.completionTime;
+        }
+
+        void complete(TeiidVdb vdb) {
+            this.completionTime = System.currentTimeMillis();
+            set(vdb);
+        }
+    }
+
+    private static class PendingVdb {
+
+        private final String name;
+        private final long deadline;
+        private final VdbLoad future;
+
+        PendingVdb(String name, long deployedTime, long deadline) {
+            this.name = name;
+            this.deadline = deadline;
+            this.future = new VdbLoad(deployedTime);
+        }
+    }
+
+    private final TCExecutionAdmin executionAdmin;
+
+    private final long timeoutMs;
+
+    private final long initialDelayMs;
+
+    private final long maxDelayMs;
+
+    // all of the following are guarded by this
+
+    private final List<PendingVdb> pending = new ArrayList<PendingVdb>();
+
+    private ScheduledExecutorService scheduler;
+
+    private ScheduledFuture<?> nextPoll;
+
+    private long delay;
+
+    /**
+     * @param executionAdmin the admin whose VDBs are refreshed by each poll
+     * @param timeoutMs the time after which a VDB that is still loading is no longer tracked
+     */
+    VdbStatusTracker(TCExecutionAdmin executionAdmin, long timeoutMs) {
+        this(executionAdmin, timeoutMs, INITIAL_DELAY_MS, MAX_DELAY_MS);
+    }
+
+    /**
+     * @param executionAdmin the admin whose VDBs are refreshed by each poll
+     * @param timeoutMs the time after which a VDB that is still loading is no longer tracked
+     * @param initialDelayMs the delay before the first poll after a deployment and after a poll that found a loaded VDB
+     * @param maxDelayMs the longest delay between polls
+     */
+    VdbStatusTracker(TCExecutionAdmin executionAdmin, long timeoutMs, long initialDelayMs, long maxDelayMs) {
+        this.executionAdmin = executionAdmin;
+        this.timeoutMs = timeoutMs;
+        this.initialDelayMs = initialDelayMs;
+        this.maxDelayMs = maxDelayMs;
+        this.delay = initialDelayMs;
+    }
+
+    /**
+     * @param vdbName the name of the VDB that has just been deployed
+     * @return a future that completes with the VDB, or with <code>null</code> if it is no longer deployed, once the VDB has
+     *         finished loading, has failed or the timeout has passed
+     */
+    VdbLoad track(String vdbName) {
+        return track(vdbName, System.currentTimeMillis());
+    }
+
+    /**
+     * @param vdbName the name of the deployed VDB
+     * @param deployedTime the time the deployment of the VDB returned
+     * @return a future that completes with the VDB, or with <code>null</code> if it is no longer deployed, once the VDB has
+     *         finished loading, has failed or the timeout has passed
+     */
+    synchronized VdbLoad track(String vdbName, long deployedTime) {
+        PendingVdb pendingVdb = new PendingVdb(vdbName, deployedTime, System.currentTimeMillis() + this.timeoutMs);
+        this.pending.add(pendingVdb);
+
+        // a new deployment is polled soon rather than after the current backoff
+        this.delay = this.initialDelayMs;
+
+        if (this.nextPoll == null || (this.nextPoll.getDelay(TimeUnit.MILLISECONDS) > this.initialDelayMs && this.nextPoll.cancel(false)))
+            schedule();
+
+        return pendingVdb.future;
+    }
+
+    /**
+     * Stops polling. The futures of the VDBs still being tracked are cancelled.
+     */
+    synchronized void shutdown() {
+        for (PendingVdb pendingVdb : this.pending)
+            pendingVdb.future.cancel(false);
+
+        this.pending.clear();
+        this.nextPoll = null;
+
+        if (this.scheduler != null) {
+            this.scheduler.shutdownNow();
+            this.scheduler = null;
+        }
+    }
+
+    private void schedule() {
+        if (this.scheduler == null) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "VdbStatusTracker"); //$NON-NLS-1$
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+
+        this.nextPoll = this.scheduler.schedule(new Runnable() {
+
+            @Override
+            public void run() {
+                poll();
+            }
+        }, this.delay, TimeUnit.MILLISECONDS);
+    }
+
+    private static boolean isFinished(TeiidVdb vdb) {
+        return !vdb.hasModels() || vdb.hasFailed() || !vdb.isLoading() || vdb.isActive() || vdb.wasRemoved()
+               || !vdb.getValidityErrors().isEmpty();
+    }
+
+    private void poll() {
+        List<PendingVdb> batch;
+
+        synchronized (this) {
+            if (this.pending.isEmpty()) {
+                this.nextPoll = null;
+                return;
+            }
+
+            batch = new ArrayList<PendingVdb>(this.pending);
+        }
+
+        List<PendingVdb> finished = new ArrayList<PendingVdb>();
+        boolean refreshed = false;
+
+        try {
+            // one refresh for all the pending VDBs
+            this.executionAdmin.refreshVDBs();
+            refreshed = true;
+        } catch (Exception ex) {
+            List<String> names = new ArrayList<String>(batch.size());
+            for (PendingVdb pendingVdb : batch)
+                names.add(pendingVdb.name);
+
+            KLog.getLogger().error(Messages.getString(Messages.ExecutionAdmin.refreshVdbException, names), ex);
+        }
+
+        long now = System.currentTimeMillis();
+
+        for (PendingVdb pendingVdb : batch) {
+            TeiidVdb vdb = this.executionAdmin.getVdb(pendingVdb.name);
+
+            if (now > pendingVdb.deadline || (refreshed && (vdb == null || isFinished(vdb))))
+                finished.add(pendingVdb);
+        }
+
+        synchronized (this) {
+            if (this.scheduler == null)
+                return; // shut down while polling
+
+            Iterator<PendingVdb> iter = this.pending.iterator();
+            while (iter.hasNext()) {
+                if (finished.contains(iter.next()))
+                    iter.remove();
+            }
+
+            this.delay = finished.isEmpty() ? Math.min(this.delay * 2, this.maxDelayMs) : this.initialDelayMs;
+            this.nextPoll = null;
+
+            if (!this.pending.isEmpty())
+                schedule();
+        }
+
+        for (PendingVdb pendingVdb : finished) {
+            pendingVdb.future.complete(this.executionAdmin.getVdb(pendingVdb.name));
+            this.executionAdmin.getEventManager().notifyListeners(ExecutionConfigurationEvent.createDeployVDBEvent(pendingVdb.name));
+        }
+    }
+}
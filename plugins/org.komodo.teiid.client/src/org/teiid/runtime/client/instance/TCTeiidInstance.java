@@ -44,6 +44,7 @@ import org.komodo.spi.runtime.TeiidParent;
 import org.komodo.spi.runtime.TeiidPropertyDefinition;
 import org.komodo.spi.runtime.TeiidTranslator;
 import org.komodo.spi.runtime.TeiidVdb;
+import org.komodo.spi.runtime.VdbDeployment;
 import org.komodo.spi.runtime.version.DefaultTeiidVersion;
 import org.komodo.spi.runtime.version.TeiidVersion;
 import org.komodo.utils.ArgCheck;
@@ -524,6 +525,12 @@ public class TCTeiidInstance implements TeiidInstance, StringConstants {
         admin.deployDynamicVdb(deploymentName, inStream);
     }
 
+    @Override
+    public List<VdbDeployment> deployDynamicVdbs(List<? extends VdbDeployment.Source> sources) throws Exception {
+        connect();
+        return admin.deployDynamicVdbs(sources);
+    }
+
     @Override
     public void undeployDynamicVdb(String vdbName) throws Exception {
         connect();
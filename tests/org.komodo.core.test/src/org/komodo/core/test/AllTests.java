@@ -24,10 +24,12 @@ package org.komodo.core.test;
 
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
+import org.komodo.repository.internal.SessionPoolTest;
 import org.komodo.repository.search.TestObjectSearcher;
 import org.komodo.repository.test.ObjectImplTest;
 import org.komodo.repository.test.TestLocalRepository;
 import org.komodo.repository.test.TestLocalRepositoryPersistence;
+import org.komodo.repository.test.TestRenditionCache;
 import org.komodo.repository.validation.ValidationManagerImplTest;
 
 @SuppressWarnings( "javadoc" )
@@ -37,6 +39,8 @@ import org.komodo.repository.validation.ValidationManagerImplTest;
     TestLocalRepository.class,
     TestObjectSearcher.class,
     TestLocalRepositoryPersistence.class,
+    TestRenditionCache.class,
+    SessionPoolTest.class,
     ValidationManagerImplTest.class,
     TestObjectOperations.class
     } )
@@ -0,0 +1,167 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.repository.internal;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+import javax.jcr.Node;
+import javax.jcr.Session;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.komodo.repository.RepositoryImpl;
+import org.komodo.repository.RepositoryImpl.UnitOfWorkImpl;
+import org.komodo.test.utils.AbstractLocalRepositoryTest;
+import org.modeshape.jcr.JcrRepository;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public class SessionPoolTest extends AbstractLocalRepositoryTest {
+
+    private static final int SIZE = 2;
+
+    private SessionPool pool;
+
+    @Before
+    public void createPool() throws Exception {
+        final Session session = ( ( UnitOfWorkImpl )this.uow ).getSession();
+        final WorkspaceIdentifier identifier = new WorkspaceIdentifier( session.getWorkspace().getName(),
+                                                                        ( JcrRepository )session.getRepository() );
+        this.pool = new SessionPool( identifier, SIZE, SessionPool.DEFAULT_LEAK_THRESHOLD );
+        this.pool.warm();
+    }
+
+    @After
+    public void disposePool() {
+        if ( this.pool != null ) {
+            this.pool.dispose();
+        }
+    }
+
+    private void awaitIdleCount( final boolean readOnly,
+                                 final int expected ) throws Exception {
+        final long deadline = System.currentTimeMillis() + 10000;
+
+        while ( this.pool.getIdleCount( readOnly ) != expected && System.currentTimeMillis() < deadline ) {
+            Thread.sleep( 10 );
+        }
+
+        assertThat( this.pool.getIdleCount( readOnly ), is( expected ) );
+    }
+
+    @Test
+    public void shouldWarmBothLanes() {
+        assertThat( this.pool.getIdleCount( true ), is( SIZE ) );
+        assertThat( this.pool.getIdleCount( false ), is( SIZE ) );
+        assertThat( this.pool.getBorrowedCount(), is( 0 ) );
+    }
+
+    @Test
+    public void shouldBorrowAndReturnSessions() throws Exception {
+        final Session session = this.pool.borrow( "shouldBorrowAndReturnSessions", true );
+
+        assertThat( session.isLive(), is( true ) );
+        assertThat( this.pool.getIdleCount( true ), is( SIZE - 1 ) );
+        assertThat( this.pool.getBorrowedCount(), is( 1 ) );
+
+        this.pool.release( session );
+        assertThat( this.pool.getIdleCount( true ), is( SIZE ) );
+        assertThat( this.pool.getBorrowedCount(), is( 0 ) );
+        assertThat( session.isLive(), is( true ) );
+
+        // returned sessions are reused
+        final Session again = this.pool.borrow( "shouldBorrowAndReturnSessions", true );
+        this.pool.release( again );
+        assertThat( again.isLive(), is( true ) );
+    }
+
+    @Test
+    public void shouldLogoutReturnedSessionWithPendingChanges() throws Exception {
+        final Session session = this.pool.borrow( "shouldLogoutReturnedSessionWithPendingChanges", false );
+        final Node workspace = session.getNode( RepositoryImpl.WORKSPACE_ROOT );
+        workspace.addNode( "pending" );
+
+        this.pool.release( session );
+        assertThat( session.isLive(), is( false ) );
+        assertThat( this.pool.getIdleCount( false ), is( SIZE - 1 ) );
+        assertThat( this.pool.getBorrowedCount(), is( 0 ) );
+    }
+
+    @Test
+    public void shouldCreateSessionWhenLaneIsEmpty() throws Exception {
+        final Session first = this.pool.borrow( "first", true );
+        final Session second = this.pool.borrow( "second", true );
+        final Session third = this.pool.borrow( "third", true );
+
+        assertThat( third.isLive(), is( true ) );
+        assertThat( third, is( not( sameInstance( first ) ) ) );
+        assertThat( third, is( not( sameInstance( second ) ) ) );
+        assertThat( this.pool.getIdleCount( true ), is( 0 ) );
+        assertThat( this.pool.getBorrowedCount(), is( 3 ) );
+
+        this.pool.release( first );
+        this.pool.release( second );
+        this.pool.release( third );
+
+        // the lane is bounded so the extra session is logged out
+        assertThat( this.pool.getIdleCount( true ), is( SIZE ) );
+        assertThat( third.isLive(), is( false ) );
+    }
+
+    @Test
+    public void shouldReplenishInBackground() throws Exception {
+        final Session session = this.pool.borrow( "shouldReplenishInBackground", false );
+        this.pool.discard( session );
+
+        assertThat( session.isLive(), is( false ) );
+        assertThat( this.pool.getIdleCount( false ), is( SIZE - 1 ) );
+
+        this.pool.replenish();
+        awaitIdleCount( false, SIZE );
+    }
+
+    @Test
+    public void shouldLogoutIdleSessionsWhenDisposed() throws Exception {
+        final Session idle = this.pool.borrow( "idle", true );
+        this.pool.release( idle );
+        final Session borrowed = this.pool.borrow( "borrowed", false );
+
+        this.pool.dispose();
+
+        assertThat( idle.isLive(), is( false ) );
+        assertThat( this.pool.getIdleCount( true ), is( 0 ) );
+        assertThat( this.pool.getIdleCount( false ), is( 0 ) );
+
+        // borrowed sessions belong to their transactions
+        assertThat( borrowed.isLive(), is( true ) );
+        this.pool.release( borrowed );
+        assertThat( borrowed.isLive(), is( false ) );
+
+        // nothing is created once disposed
+        this.pool.replenish();
+        Thread.sleep( 100 );
+        assertThat( this.pool.getIdleCount( false ), is( 0 ) );
+        this.pool = null;
+    }
+
+}
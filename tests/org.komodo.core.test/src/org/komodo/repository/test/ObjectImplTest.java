@@ -15,9 +15,13 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import java.io.ByteArrayInputStream;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.komodo.repository.ObjectImpl;
+import org.komodo.repository.RepositoryImpl.UnitOfWorkImpl;
 import org.komodo.spi.KException;
 import org.komodo.spi.constants.StringConstants;
 import org.komodo.spi.repository.KomodoObject;
@@ -25,6 +29,7 @@ import org.komodo.spi.repository.KomodoType;
 import org.komodo.spi.repository.Repository.UnitOfWork;
 import org.komodo.test.utils.AbstractLocalRepositoryTest;
 import org.modeshape.jcr.JcrNtLexicon;
+import org.modeshape.sequencer.ddl.dialect.teiid.TeiidDdlLexicon;
 
 @SuppressWarnings( {"javadoc", "nls"} )
 public final class ObjectImplTest extends AbstractLocalRepositoryTest {
@@ -172,6 +177,32 @@ public final class ObjectImplTest extends AbstractLocalRepositoryTest {
         assertThat( this.kobject.getTypeIdentifier( this.uow ), is( KomodoType.UNKNOWN ) );
     }
 
+    @Test
+    public void shouldUpdateTypeIdentifierWhenDescriptorAdded() throws Exception {
+        assertThat( this.kobject.getTypeIdentifier( this.uow ), is( KomodoType.UNKNOWN ) );
+        this.kobject.addDescriptor( this.uow, TeiidDdlLexicon.CreateTable.TABLE_STATEMENT );
+        assertThat( this.kobject.getTypeIdentifier( this.uow ), is( KomodoType.TABLE ) );
+        this.kobject.removeDescriptor( this.uow, TeiidDdlLexicon.CreateTable.TABLE_STATEMENT );
+        assertThat( this.kobject.getTypeIdentifier( this.uow ), is( KomodoType.UNKNOWN ) );
+    }
+
+    @Test
+    public void shouldNotReportRemovedObjectTypeForReusedPath() throws Exception {
+        final String name = "kid";
+        final KomodoObject table = this.kobject.addChild( this.uow, name, null );
+        table.addDescriptor( this.uow, TeiidDdlLexicon.CreateTable.TABLE_STATEMENT );
+        final KomodoObject plain = this.kobject.addChild( this.uow, name, null );
+        final String path = table.getAbsolutePath();
+
+        // resolve both types so they are cached by the transaction
+        assertThat( table.getTypeIdentifier( this.uow ), is( KomodoType.TABLE ) );
+        assertThat( plain.getTypeIdentifier( this.uow ), is( KomodoType.UNKNOWN ) );
+
+        // the remaining sibling now sits at the removed table's path
+        _repo.remove( this.uow, path );
+        assertThat( new ObjectImpl( _repo, path, 0 ).getTypeIdentifier( this.uow ), is( KomodoType.UNKNOWN ) );
+    }
+
     @Test
     public void shouldRemove() throws Exception {
         final KomodoObject obj = _repo.getFromWorkspace( this.uow, NAME );
@@ -240,6 +271,127 @@ public final class ObjectImplTest extends AbstractLocalRepositoryTest {
         assertEquals(newTestNode.getAbsolutePath(), kObject.getAbsolutePath());
     }
 
+    @Test
+    public void shouldResolveSameNameSiblingsAfterRemove() throws Exception {
+        final String name = "kid";
+        final KomodoObject first = this.kobject.addChild( this.uow, name, null );
+        this.kobject.addChild( this.uow, name, "nt:folder" );
+
+        // resolve children so they are cached by the transaction
+        assertThat( this.kobject.getChildren( this.uow, name ).length, is( 2 ) );
+
+        first.remove( this.uow );
+
+        final KomodoObject[] kids = this.kobject.getChildren( this.uow, name );
+        assertThat( kids.length, is( 1 ) );
+        assertThat( kids[0].getPrimaryType( this.uow ).getName(), is( "nt:folder" ) );
+        assertThat( this.kobject.getChild( this.uow, name ).getPrimaryType( this.uow ).getName(), is( "nt:folder" ) );
+    }
+
+    @Test
+    public void shouldNotResolveShiftedSameNameSiblingAfterRepositoryRemove() throws Exception {
+        final String name = "kid";
+        final KomodoObject first = this.kobject.addChild( this.uow, name, null );
+        final KomodoObject second = this.kobject.addChild( this.uow, name, "nt:folder" );
+        final String firstPath = first.getAbsolutePath();
+        final String secondPath = second.getAbsolutePath();
+
+        // resolve both so their nodes are cached by the transaction
+        assertThat( first.getPrimaryType( this.uow ), is( notNullValue() ) );
+        assertThat( second.getPrimaryType( this.uow ).getName(), is( "nt:folder" ) );
+
+        // removing kid[1] shifts kid[2] to kid[1]
+        _repo.remove( this.uow, firstPath );
+
+        assertThat( _repo.getFromWorkspace( this.uow, secondPath ), is( nullValue() ) );
+
+        try {
+            second.getPrimaryType( this.uow );
+            fail( "kid[2] no longer exists so should not resolve to the node now at kid[1]" );
+        } catch ( final KException e ) {
+            // expected
+        }
+
+        assertThat( new ObjectImpl( _repo, firstPath, 0 ).getPrimaryType( this.uow ).getName(), is( "nt:folder" ) );
+        assertThat( this.kobject.getChildren( this.uow, name ).length, is( 1 ) );
+    }
+
+    @Test
+    public void shouldNotResolveCachedNodeThatIsNoLongerAtItsPath() throws Exception {
+        final String name = "kid";
+        final KomodoObject first = this.kobject.addChild( this.uow, name, null );
+        final KomodoObject second = this.kobject.addChild( this.uow, name, "nt:folder" );
+        assertThat( second.getPrimaryType( this.uow ).getName(), is( "nt:folder" ) );
+
+        // removed behind the transaction's back so nothing is evicted
+        ( ( UnitOfWorkImpl )this.uow ).getSession().removeItem( first.getAbsolutePath() );
+
+        try {
+            second.getPrimaryType( this.uow );
+            fail( "cached node of kid[2] is now at kid[1] so should not be returned" );
+        } catch ( final KException e ) {
+            // expected
+        }
+    }
+
+    @Test
+    public void shouldResolveChildrenAfterRename() throws Exception {
+        final KomodoObject child = this.kobject.addChild( this.uow, "kid", null );
+        final KomodoObject grandChild = child.addChild( this.uow, "grandKid", null );
+        assertThat( grandChild.getParent( this.uow ), is( child ) );
+
+        child.rename( this.uow, "renamed" );
+
+        assertThat( this.kobject.hasChild( this.uow, "kid" ), is( false ) );
+        assertThat( child.getName( this.uow ), is( "renamed" ) );
+        assertThat( child.getChildren( this.uow ).length, is( 1 ) );
+        assertThat( child.getChildren( this.uow )[0].getName( this.uow ), is( "grandKid" ) );
+    }
+
+    @Test
+    public void shouldGetChildrenOfTypeAfterStructureChanges() throws Exception {
+        final String type = "nt:folder";
+        final String mixin = "mix:referenceable";
+        final KomodoObject folder = this.kobject.addChild( this.uow, "folder", type );
+        final KomodoObject other = this.kobject.addChild( this.uow, "other", null );
+        assertThat( this.kobject.getChildrenOfType( this.uow, type ).length, is( 1 ) );
+        assertThat( this.kobject.getChildrenOfType( this.uow, type )[0], is( folder ) );
+
+        // add child of type
+        this.kobject.addChild( this.uow, "folder2", type );
+        assertThat( this.kobject.getChildrenOfType( this.uow, type ).length, is( 2 ) );
+
+        // match descriptor
+        assertThat( this.kobject.getChildrenOfType( this.uow, mixin ).length, is( 0 ) );
+        other.addDescriptor( this.uow, mixin );
+        assertThat( this.kobject.getChildrenOfType( this.uow, mixin ).length, is( 1 ) );
+        assertThat( this.kobject.getChildrenOfType( this.uow, mixin )[0], is( other ) );
+
+        // remove child of type
+        folder.remove( this.uow );
+        assertThat( this.kobject.getChildrenOfType( this.uow, type ).length, is( 1 ) );
+    }
+
+    @Test
+    public void shouldGetChildrenOfTypeAfterRepositoryRemoveAndUnpublish() throws Exception {
+        final String type = "nt:folder";
+        final KomodoObject removed = this.kobject.addChild( this.uow, "removed", type );
+        final KomodoObject kept = this.kobject.addChild( this.uow, "kept", type );
+        assertThat( this.kobject.getChildrenOfType( this.uow, type ).length, is( 2 ) );
+
+        _repo.remove( this.uow, removed.getAbsolutePath() );
+        final KomodoObject[] kids = this.kobject.getChildrenOfType( this.uow, type );
+        assertThat( kids.length, is( 1 ) );
+        assertThat( kids[0], is( kept ) );
+
+        final KomodoObject library = _repo.komodoLibrary( this.uow );
+        final KomodoObject artifact = library.addChild( this.uow, "artifact", type );
+        assertThat( library.getChildrenOfType( this.uow, type ).length, is( 1 ) );
+
+        _repo.unpublish( this.uow, artifact.getAbsolutePath() );
+        assertThat( library.getChildrenOfType( this.uow, type ).length, is( 0 ) );
+    }
+
     @Test
     public void shouldRemoveDescriptor() throws Exception {
         final String descriptorName = "mix:referenceable";
@@ -260,6 +412,19 @@ public final class ObjectImplTest extends AbstractLocalRepositoryTest {
         assertThat( this.kobject.getDescriptors( this.uow ).length, is( 0 ) );
     }
 
+    @Test
+    public void shouldSetPropertyFromStream() throws Exception {
+        final String name = "content";
+        final String content = "<vdb name=\"blah\"/>";
+        this.kobject.setProperty( this.uow, name, new ByteArrayInputStream( content.getBytes() ) );
+        assertThat( this.kobject.getProperty( this.uow, name ).getStringValue( this.uow ), is( content ) );
+
+        // a new stream replaces the current binary
+        final String newContent = "<vdb name=\"foo\"/>";
+        this.kobject.setProperty( this.uow, name, new ByteArrayInputStream( newContent.getBytes() ) );
+        assertThat( this.kobject.getProperty( this.uow, name ).getStringValue( this.uow ), is( newContent ) );
+    }
+
     @Test
     public void shouldSetPrimaryType() throws Exception {
         final String newType = "nt:folder";
@@ -0,0 +1,183 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.repository.test;
+
+import static org.junit.Assert.assertTrue;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.jcr.Node;
+import javax.jcr.Session;
+import org.junit.Test;
+import org.komodo.repository.RepositoryImpl;
+import org.komodo.spi.repository.KomodoObject;
+import org.komodo.test.utils.AbstractLocalRepositoryTest;
+import org.komodo.utils.KLog;
+
+/**
+ * Measures the latency of the searches backed by the indexes of the local repository configuration as the number of nodes in
+ * the workspace grows. Each search is preceded by warm up iterations and the average and best latencies are logged.
+ *
+ * This is not part of the test suite so has to be run on its own. The 1M node measurement takes a long time to populate.
+ */
+@SuppressWarnings( {"javadoc", "nls"} )
+public class RepositorySearchBenchmark extends AbstractLocalRepositoryTest {
+
+    private static final int NODES_PER_VDB = 5;
+
+    private static final int VDBS_PER_COMMIT = 500;
+
+    private static final int WARMUP_ITERATIONS = 5;
+
+    private static final int MEASURED_ITERATIONS = 20;
+
+    private static final int PAGE_SIZE = 100;
+
+    private static final String[] DATATYPES = { "string", "integer", "long", "date", "boolean" };
+
+    private String vdbName(int index) {
+        return "bench" + index;
+    }
+
+    /**
+     * Creates VDBs which each have a model containing a column and a data role.
+     *
+     * @return the path of the parent of the VDBs
+     */
+    private String populate(int nodeCount) throws Exception {
+        String parentPath = RepositoryImpl.WORKSPACE_ROOT + FORWARD_SLASH + "benchmark";
+        session(this.uow).getNode(RepositoryImpl.WORKSPACE_ROOT).addNode("benchmark");
+        commit();
+
+        int vdbCount = nodeCount / NODES_PER_VDB;
+        long start = System.nanoTime();
+
+        for (int i = 0; i < vdbCount; ++i) {
+            Session session = session(this.uow);
+            Node parent = session.getNode(parentPath);
+
+            Node vdb = parent.addNode(vdbName(i), "vdb:virtualDatabase");
+            vdb.setProperty("vdb:name", vdbName(i));
+            vdb.setProperty("vdb:originalFile", parentPath + FORWARD_SLASH + vdbName(i));
+
+            Node model = vdb.addNode("model", "vdb:declarativeModel");
+            model.setProperty("mmcore:modelType", (i % 2 == 0) ? "PHYSICAL" : "VIRTUAL");
+
+            Node column = model.addNode("column");
+            column.addMixin("teiidddl:tableElement");
+            column.setProperty("ddl:datatypeName", DATATYPES[i % DATATYPES.length]);
+
+            vdb.addNode("vdb:dataRoles", "vdb:dataRoles").addNode("role" + (i % 100), "vdb:dataRole");
+
+            if ((i + 1) % VDBS_PER_COMMIT == 0)
+                commit();
+        }
+
+        commit();
+
+        KLog.getLogger().info(String.format("RepositorySearchBenchmark: populated %d nodes in %d ms",
+                                            vdbCount * NODES_PER_VDB,
+                                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        return parentPath;
+    }
+
+    private int search(String statement, Map<String, String> variables) throws Exception {
+        Iterator<KomodoObject> itr = _repo.query(this.uow, statement, variables, 0, PAGE_SIZE);
+        int count = 0;
+
+        while (itr.hasNext()) {
+            itr.next();
+            ++count;
+        }
+
+        return count;
+    }
+
+    private void measure(int nodeCount, String label, String statement, Map<String, String> variables) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; ++i)
+            search(statement, variables);
+
+        long total = 0;
+        long best = Long.MAX_VALUE;
+        int results = 0;
+
+        for (int i = 0; i < MEASURED_ITERATIONS; ++i) {
+            long start = System.nanoTime();
+            results = search(statement, variables);
+            long elapsed = System.nanoTime() - start;
+
+            total += elapsed;
+            best = Math.min(best, elapsed);
+        }
+
+        assertTrue(label + " found nothing", results > 0);
+
+        double averageMillis = (double)total / MEASURED_ITERATIONS / TimeUnit.MILLISECONDS.toNanos(1);
+        double bestMillis = (double)best / TimeUnit.MILLISECONDS.toNanos(1);
+
+        KLog.getLogger().info(String.format("RepositorySearchBenchmark: %d nodes, %s: %d results, average %.2f ms, best %.2f ms",
+                                            nodeCount, label, results, averageMillis, bestMillis));
+    }
+
+    private void benchmark(int nodeCount) throws Exception {
+        String parentPath = populate(nodeCount);
+        int vdbCount = nodeCount / NODES_PER_VDB;
+        String middleVdbPath = parentPath + FORWARD_SLASH + vdbName(vdbCount / 2);
+
+        measure(nodeCount, "vdb by name",
+                "SELECT [jcr:path] FROM [vdb:virtualDatabase] WHERE [vdb:name] = $name",
+                Collections.singletonMap("name", vdbName(vdbCount / 2)));
+
+        measure(nodeCount, "models by model type",
+                "SELECT [jcr:path] FROM [vdb:declarativeModel] WHERE [mmcore:modelType] = $type",
+                Collections.singletonMap("type", "VIRTUAL"));
+
+        measure(nodeCount, "data roles by name",
+                "SELECT [jcr:path] FROM [vdb:dataRole] WHERE [mode:localName] = $name",
+                Collections.singletonMap("name", "role42"));
+
+        measure(nodeCount, "columns by datatype",
+                "SELECT [jcr:path] FROM [teiidddl:tableElement] WHERE [ddl:datatypeName] = $type",
+                Collections.singletonMap("type", "date"));
+
+        measure(nodeCount, "models under vdb",
+                "SELECT [jcr:path] FROM [vdb:declarativeModel] WHERE ISDESCENDANTNODE('" + middleVdbPath + "')"
+                + " ORDER BY [jcr:path] ASC",
+                null);
+    }
+
+    @Test
+    public void benchmark10kNodes() throws Exception {
+        benchmark(10000);
+    }
+
+    @Test
+    public void benchmark100kNodes() throws Exception {
+        benchmark(100000);
+    }
+
+    @Test
+    public void benchmark1mNodes() throws Exception {
+        benchmark(1000000);
+    }
+}
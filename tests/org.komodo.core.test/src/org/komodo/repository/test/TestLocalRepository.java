@@ -32,14 +32,21 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import java.io.File;
 import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import javax.jcr.Node;
+import javax.jcr.Session;
 import org.junit.Before;
 import org.junit.Test;
 import org.komodo.core.KomodoLexicon;
 import org.komodo.repository.ObjectImpl;
+import org.komodo.repository.PreparedQueryCache;
 import org.komodo.repository.RepositoryImpl;
+import org.komodo.repository.RepositoryImpl.UnitOfWorkImpl;
 import org.komodo.repository.RepositoryTools;
 import org.komodo.repository.SynchronousCallback;
 import org.komodo.repository.SynchronousNestedCallback;
@@ -486,6 +493,64 @@ public class TestLocalRepository extends AbstractLocalRepositoryTest {
         }
     }
 
+    @Test
+    public void shouldSearchAllPropertiesForKeyword() throws Exception {
+        KomodoObject komodoWksp = _repo.komodoWorkspace(this.uow);
+        KomodoObject first = komodoWksp.addChild(this.uow, "first", KomodoLexicon.VdbModel.NODE_TYPE);
+        first.setProperty(this.uow, KomodoLexicon.VdbModel.MODEL_DEFINITION, "DDL");
+        KomodoObject second = komodoWksp.addChild(this.uow, "second", KomodoLexicon.VdbModel.NODE_TYPE);
+        second.setProperty(this.uow, KomodoLexicon.LibraryComponent.DESCRIPTION, "Exported as DDL");
+        KomodoObject third = komodoWksp.addChild(this.uow, "third", KomodoLexicon.VdbModel.NODE_TYPE);
+        third.setProperty(this.uow, KomodoLexicon.LibraryComponent.DESCRIPTION, "Exported as XML");
+        commit();
+
+        // the index only covers single properties so an all-properties search is a query
+        List<KomodoObject> results = _repo.searchByKeyword(this.uow, KomodoLexicon.VdbModel.NODE_TYPE, "*",
+                                                           KeywordCriteria.ANY, "DDL");
+        assertEquals(2, results.size());
+
+        Set<String> names = new HashSet<>();
+        for (KomodoObject result : results) {
+            names.add(result.getName(this.uow));
+        }
+
+        assertTrue(names.contains("first"));
+        assertTrue(names.contains("second"));
+    }
+
+    @Test
+    public void shouldSearchForKeywordAfterChanges() throws Exception {
+        KomodoObject komodoWksp = _repo.komodoWorkspace(this.uow);
+        KomodoObject first = komodoWksp.addChild(this.uow, "first", KomodoLexicon.VdbModel.NODE_TYPE);
+        first.setProperty(this.uow, KomodoLexicon.LibraryComponent.DESCRIPTION, "Orders placed through the Sales channel");
+        KomodoObject second = komodoWksp.addChild(this.uow, "second", KomodoLexicon.VdbModel.NODE_TYPE);
+        second.setProperty(this.uow, KomodoLexicon.LibraryComponent.DESCRIPTION, "Customers of the Sales channel");
+        commit();
+
+        List<KomodoObject> results = _repo.searchByKeyword(this.uow, KomodoLexicon.VdbModel.NODE_TYPE,
+                                                           KomodoLexicon.LibraryComponent.DESCRIPTION, KeywordCriteria.ALL,
+                                                           "sales", "orders");
+        assertEquals(1, results.size());
+        assertEquals("first", results.get(0).getName(this.uow));
+
+        // change the matching value and remove the other object
+        _repo.getFromWorkspace(this.uow, "first").setProperty(this.uow,
+                                                              KomodoLexicon.LibraryComponent.DESCRIPTION,
+                                                              "Invoices raised by the Sales channel");
+        _repo.getFromWorkspace(this.uow, "second").remove(this.uow);
+        commit();
+
+        results = _repo.searchByKeyword(this.uow, KomodoLexicon.VdbModel.NODE_TYPE,
+                                        KomodoLexicon.LibraryComponent.DESCRIPTION, KeywordCriteria.ANY,
+                                        "orders", "customers");
+        assertEquals(0, results.size());
+
+        results = _repo.searchByKeyword(this.uow, KomodoLexicon.VdbModel.NODE_TYPE,
+                                        KomodoLexicon.LibraryComponent.DESCRIPTION, KeywordCriteria.ANY,
+                                        "invoices");
+        assertEquals(1, results.size());
+    }
+
     @Test
     public void shouldSearchForPath() throws Exception {
         KomodoObject komodoWksp = _repo.komodoWorkspace(this.uow);
@@ -520,4 +585,208 @@ public class TestLocalRepository extends AbstractLocalRepositoryTest {
             assertEquals("DDL", property.getStringValue(this.uow));
         }
     }
+
+    @Test
+    public void shouldReuseParsedQueryWithDifferentBindValues() throws Exception {
+        KomodoObject komodoWksp = _repo.komodoWorkspace(this.uow);
+
+        for (int i = 1; i <= 3; ++i) {
+            komodoWksp.addChild(this.uow, "bound" + i, KomodoLexicon.VdbModel.NODE_TYPE);
+        }
+
+        commit(); // session save needed before query
+
+        final String statement = "SELECT [jcr:path] FROM [" + KomodoLexicon.VdbModel.NODE_TYPE + "]"
+                                 + " WHERE [jcr:name] = $name";
+        final PreparedQueryCache cache = _repo.getQueryCache();
+        final long misses = cache.getMissCount();
+        final long hits = cache.getHitCount();
+
+        for (int i = 1; i <= 3; ++i) {
+            final Iterator<KomodoObject> itr = _repo.query(this.uow,
+                                                           statement,
+                                                           Collections.singletonMap("name", "bound" + i),
+                                                           0,
+                                                           Repository.NO_LIMIT);
+            assertTrue(itr.hasNext());
+            assertEquals("bound" + i, itr.next().getName(this.uow));
+            assertFalse(itr.hasNext());
+        }
+
+        assertEquals(misses + 1, cache.getMissCount());
+        assertEquals(hits + 2, cache.getHitCount());
+    }
+
+    @Test
+    public void shouldCommitIndependentTransactionsConcurrently() throws Exception {
+        _repo.komodoWorkspace(this.uow);
+        commit();
+
+        final int count = 10;
+        final SynchronousCallback[] callbacks = new SynchronousCallback[count];
+        final UnitOfWork[] transactions = new UnitOfWork[count];
+
+        for (int i = 0; i < count; ++i) {
+            callbacks[i] = new SynchronousCallback();
+            transactions[i] = createTransaction(this.name.getMethodName() + "-concurrent-" + i, callbacks[i]);
+            _repo.add(transactions[i], RepositoryImpl.WORKSPACE_ROOT, "concurrent" + i, null);
+        }
+
+        for (final UnitOfWork transaction : transactions) {
+            transaction.commit();
+        }
+
+        for (int i = 0; i < count; ++i) {
+            assertTrue(callbacks[i].await(TIME_TO_WAIT, TimeUnit.MINUTES));
+            assertFalse(callbacks[i].hasError());
+            assertThat(transactions[i].getState(), is(UnitOfWork.State.COMMITTED));
+        }
+
+        for (int i = 0; i < count; ++i) {
+            assertNotNull(_repo.getFromWorkspace(this.uow, "concurrent" + i));
+        }
+
+        assertThat(_repo.getEngineMetrics().getProcessedCount() >= (2 * count), is(true));
+        assertThat(_repo.getEngineMetrics().getQueueDepth() >= 0, is(true));
+    }
+
+    private String tablesDdl( final String prefix,
+                              final int count ) {
+        final StringBuilder ddl = new StringBuilder();
+
+        for (int i = 0; i < count; ++i) {
+            ddl.append("CREATE FOREIGN TABLE ").append(prefix).append(i).append(" (c1 string, c2 integer);");
+        }
+
+        return ddl.toString();
+    }
+
+    @Test
+    public void shouldSerializeSequencingOfSameOutputNode() throws Exception {
+        final KomodoObject schema = _repo.add(this.uow, RepositoryImpl.WORKSPACE_ROOT, "serialized", KomodoLexicon.Schema.NODE_TYPE);
+        final String schemaPath = schema.getAbsolutePath();
+        commit();
+
+        final int tables = 20;
+        final String[] prefixes = { "first", "second" };
+        final SynchronousCallback[] callbacks = new SynchronousCallback[prefixes.length];
+        final UnitOfWork[] transactions = new UnitOfWork[prefixes.length];
+
+        for (int i = 0; i < prefixes.length; ++i) {
+            callbacks[i] = new SynchronousCallback();
+            transactions[i] = createTransaction(this.name.getMethodName() + "-" + prefixes[i], callbacks[i]);
+            final KomodoObject rendered = _repo.getFromWorkspace(transactions[i], schemaPath);
+            rendered.setProperty(transactions[i], KomodoLexicon.Schema.RENDITION, tablesDdl(prefixes[i], tables));
+        }
+
+        // both commits sequence the same schema node on different workers
+        for (final UnitOfWork transaction : transactions) {
+            transaction.commit();
+        }
+
+        for (int i = 0; i < prefixes.length; ++i) {
+            assertTrue(callbacks[i].await(TIME_TO_WAIT, TimeUnit.MINUTES));
+            assertFalse(callbacks[i].hasError());
+        }
+
+        // the tables of one rendition only, each once
+        final KomodoObject[] kids = _repo.getFromWorkspace(this.uow, schemaPath).getChildren(this.uow);
+        final Set<String> names = new HashSet<>();
+        String prefix = null;
+
+        for (final KomodoObject kid : kids) {
+            final String kidName = kid.getName(this.uow);
+            assertTrue(kidName, names.add(kidName));
+
+            final String kidPrefix = kidName.replaceAll("[0-9]+$", "");
+            if (prefix == null) {
+                prefix = kidPrefix;
+            }
+
+            assertEquals(prefix, kidPrefix);
+        }
+
+        assertEquals(tables, names.size());
+    }
+
+    @Test
+    public void shouldCommitReadOnlyTransactionOnCallingThread() throws Exception {
+        _repo.add(this.uow, RepositoryImpl.WORKSPACE_ROOT, "readOnly", null);
+        commit();
+
+        final SynchronousCallback callback = new SynchronousCallback();
+        final UnitOfWork transaction = _repo.createReadOnlyTransaction(this.name.getMethodName(), callback);
+        assertThat(transaction.isReadOnly(), is(true));
+        assertNotNull(_repo.getFromWorkspace(transaction, "readOnly"));
+
+        transaction.commit();
+
+        // no need to wait on the callback as a read-only commit completes before returning
+        assertThat(transaction.getState(), is(UnitOfWork.State.COMMITTED));
+        assertThat(transaction.getError(), is(nullValue()));
+        assertTrue(callback.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldNotQueueReadOnlyTransactions() throws Exception {
+        _repo.add(this.uow, RepositoryImpl.WORKSPACE_ROOT, "notQueued", null);
+        commit();
+
+        final long processed = _repo.getEngineMetrics().getProcessedCount();
+
+        for (int i = 0; i < 5; ++i) {
+            final UnitOfWork transaction = _repo.createReadOnlyTransaction(this.name.getMethodName() + i, null);
+            assertNotNull(_repo.getFromWorkspace(transaction, "notQueued"));
+            transaction.commit();
+        }
+
+        // neither creating nor committing the transactions made a request of the engine
+        assertEquals(processed, _repo.getEngineMetrics().getProcessedCount());
+    }
+
+    @Test
+    public void shouldNotCommitChangesInReadOnlyTransaction() throws Exception {
+        final SynchronousCallback callback = new SynchronousCallback();
+        final UnitOfWork transaction = _repo.createReadOnlyTransaction(this.name.getMethodName(), callback);
+        _repo.add(transaction, RepositoryImpl.WORKSPACE_ROOT, "readOnlyChange", null);
+
+        transaction.commit();
+
+        assertThat(transaction.getState(), is(UnitOfWork.State.ERROR));
+        assertThat(transaction.getError(), is(notNullValue()));
+        assertTrue(callback.await(1, TimeUnit.SECONDS));
+        assertTrue(callback.hasError());
+        assertThat(_repo.getFromWorkspace(this.uow, "readOnlyChange"), is(nullValue()));
+    }
+
+    @Test
+    public void shouldNotReuseSessionOfFailedCommit() throws Exception {
+        final SynchronousCallback callback = new SynchronousCallback();
+        final UnitOfWork transaction = createTransaction(this.name.getMethodName() + "-failed", callback);
+        final Session session = ((UnitOfWorkImpl)transaction).getSession();
+
+        // a file without its mandatory content fails to save
+        _repo.add(transaction, RepositoryImpl.WORKSPACE_ROOT, "invalidFile", "nt:file");
+        transaction.commit();
+        assertTrue(callback.await(TIME_TO_WAIT, TimeUnit.MINUTES));
+
+        // the session is discarded rather than pooled with the listener of the failed commit
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (session.isLive() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(session.isLive(), is(false));
+
+        // the next commit is unaffected
+        final SynchronousCallback nextCallback = new SynchronousCallback();
+        final UnitOfWork next = createTransaction(this.name.getMethodName() + "-next", nextCallback);
+        _repo.add(next, RepositoryImpl.WORKSPACE_ROOT, "validNode", null);
+        next.commit();
+
+        assertTrue(nextCallback.await(TIME_TO_WAIT, TimeUnit.MINUTES));
+        assertFalse(nextCallback.hasError());
+        assertThat(next.getState(), is(UnitOfWork.State.COMMITTED));
+        assertNotNull(_repo.getFromWorkspace(this.uow, "validNode"));
+    }
 }
@@ -0,0 +1,80 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.repository.test;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.notNullValue;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+import java.io.StringWriter;
+import org.junit.Test;
+import org.komodo.repository.RenditionCache;
+import org.komodo.repository.RenditionCache.RenditionWriter;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestRenditionCache {
+
+    private static final String PATH = "/tko:komodo/tko:workspace/model";
+
+    private final RenditionCache cache = new RenditionCache(10, 8);
+
+    @Test
+    public void shouldStreamAndKeepShortRendition() throws Exception {
+        final StringWriter writer = new StringWriter();
+        final RenditionWriter capture = this.cache.capture(writer);
+        capture.write("CREATE");
+        capture.write(';');
+
+        assertThat(writer.toString(), is("CREATE;"));
+        assertThat(capture.getText(), is("CREATE;"));
+    }
+
+    @Test
+    public void shouldStreamButNotKeepLongRendition() throws Exception {
+        final StringWriter writer = new StringWriter();
+        final RenditionWriter capture = this.cache.capture(writer);
+        capture.write("CREATE VIEW");
+        capture.write(';');
+
+        assertThat(writer.toString(), is("CREATE VIEW;"));
+        assertThat(capture.getText(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldNotCacheRenditionLongerThanMaximum() {
+        this.cache.put(PATH, RenditionCache.DDL, "CREATE VIEW;", this.cache.getGeneration());
+        assertThat(this.cache.get(PATH, RenditionCache.DDL), is(nullValue()));
+
+        this.cache.put(PATH, RenditionCache.DDL, "CREATE;", this.cache.getGeneration());
+        assertThat(this.cache.get(PATH, RenditionCache.DDL), is(notNullValue()));
+    }
+
+    @Test
+    public void shouldNotCacheRenditionExportedBeforeChange() {
+        final long generation = this.cache.getGeneration();
+        this.cache.invalidate(PATH);
+
+        this.cache.put(PATH, RenditionCache.DDL, "CREATE;", generation);
+        assertThat(this.cache.get(PATH, RenditionCache.DDL), is(nullValue()));
+    }
+
+}
@@ -22,13 +22,16 @@
 package org.komodo.importer.ddl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import java.io.File;
 import java.io.InputStream;
+import java.io.StringReader;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
 import java.util.List;
 import org.junit.Test;
 import org.komodo.core.KomodoLexicon;
@@ -61,6 +64,8 @@ public class TestTeiidDdlImporter extends AbstractImporterTest {
 
 	private static final String TEIID_FLATFILE = "Teiid-FlatFile.ddl";
 
+	private static final String TEIID_FOREIGN_KEYS = "Teiid-ForeignKeys.ddl";
+
 	@Override
 	protected KomodoObject runImporter(Repository repository,
 	                                                             File file, ImportType importType, ImportOptions importOptions,
@@ -314,6 +319,152 @@ public class TestTeiidDdlImporter extends AbstractImporterTest {
         verifyMySQLAcctsDdl(schemaNode);
     }
 
+    @Test
+    public void testDdlImport_MySQLAcctsAsModelInChunks() throws Exception {
+        InputStream ddlStream = TestUtilities.getResourceAsStream(getClass(),
+                                                                  DDL_DIRECTORY, TEIID_MYSQL_ACCTS);
+
+        ImportOptions importOptions = new ImportOptions();
+        importOptions.setOption(OptionKeys.NAME, TEIID_MYSQL_ACCTS);
+        importOptions.setOption(OptionKeys.BULK_CHUNK_SIZE, 2);
+
+        // Saves Messages during import
+        ImportMessages importMessages = new ImportMessages();
+
+        KomodoObject modelNode = executeImporter(ddlStream,
+                                                                               ImportType.MODEL,
+                                                                               importOptions,
+                                                                               importMessages);
+
+        assertNotNull("Failed - No Model Created ", modelNode);
+        assertTrue(importMessages.errorMessagesToString(), importMessages.getErrorMessages().isEmpty());
+
+        // Each chunk reports its progress
+        int chunks = 0;
+        for (String msg : importMessages.getProgressMessages()) {
+            if (msg.startsWith("Imported chunk"))
+                ++chunks;
+        }
+        assertTrue(chunks > 1);
+
+        verifyMySQLAcctsDdl(modelNode);
+    }
+
+    @Test
+    public void testDdlImport_MySQLAcctsAsSchemaInChunks() throws Exception {
+        InputStream ddlStream = TestUtilities.getResourceAsStream(getClass(),
+                                                                  DDL_DIRECTORY, TEIID_MYSQL_ACCTS);
+
+        ImportOptions importOptions = new ImportOptions();
+        importOptions.setOption(OptionKeys.NAME, TEIID_MYSQL_ACCTS);
+        importOptions.setOption(OptionKeys.BULK_CHUNK_SIZE, 2);
+
+        // Saves Messages during import
+        ImportMessages importMessages = new ImportMessages();
+
+        KomodoObject schemaNode = executeImporter(ddlStream,
+                                                                                ImportType.SCHEMA,
+                                                                                importOptions,
+                                                                                importMessages);
+
+        assertNotNull("Failed - No Schema Created ", schemaNode);
+        assertTrue(importMessages.errorMessagesToString(), importMessages.getErrorMessages().isEmpty());
+        verifyPrimaryType(schemaNode, KomodoLexicon.Schema.NODE_TYPE);
+        assertEquals(importOptions.getOption(OptionKeys.NAME), schemaNode.getName(this.uow));
+
+        verifyMySQLAcctsDdl(schemaNode);
+    }
+
+    @Test
+    public void shouldRemoveSchemaWhenChunkFails() throws Exception {
+        InputStream ddlStream = TestUtilities.getResourceAsStream(getClass(),
+                                                                  DDL_DIRECTORY,
+                                                                  INVALID_KEYWORD_DDL);
+
+        ImportOptions importOptions = new ImportOptions();
+        importOptions.setOption(OptionKeys.NAME, "INVALID");
+        importOptions.setOption(OptionKeys.BULK_CHUNK_SIZE, 1);
+
+        // Saves Messages during import
+        ImportMessages importMessages = new ImportMessages();
+
+        KomodoObject schemaNode = executeImporter(ddlStream,
+                                                                                ImportType.SCHEMA,
+                                                                                importOptions,
+                                                                                importMessages);
+
+        assertNull(schemaNode);
+        assertFalse(importMessages.getErrorMessages().isEmpty());
+
+        // the partially imported schema is not left in the workspace
+        assertFalse(_repo.komodoWorkspace(this.uow).hasChild(this.uow, "INVALID"));
+    }
+
+    private String referencedTablePath(KomodoObject foreignKey) throws Exception {
+        String tableId = foreignKey.getProperty(this.uow, TeiidDdlLexicon.Constraint.TABLE_REFERENCE).getStringValue(this.uow);
+        return _repo.getUsingId(this.uow, tableId).getAbsolutePath();
+    }
+
+    @Test
+    public void shouldResolveForeignKeysAcrossChunks() throws Exception {
+        InputStream ddlStream = TestUtilities.getResourceAsStream(getClass(),
+                                                                  DDL_DIRECTORY, TEIID_FOREIGN_KEYS);
+
+        ImportOptions importOptions = new ImportOptions();
+        importOptions.setOption(OptionKeys.NAME, TEIID_FOREIGN_KEYS);
+        importOptions.setOption(OptionKeys.BULK_CHUNK_SIZE, 1);
+
+        // Saves Messages during import
+        ImportMessages importMessages = new ImportMessages();
+
+        KomodoObject schemaNode = executeImporter(ddlStream,
+                                                                                ImportType.SCHEMA,
+                                                                                importOptions,
+                                                                                importMessages);
+
+        assertNotNull("Failed - No Schema Created ", schemaNode);
+        assertTrue(importMessages.errorMessagesToString(), importMessages.getErrorMessages().isEmpty());
+
+        KomodoObject customerTableNode = verify(schemaNode, "accounts.CUSTOMER", JcrConstants.NT_UNSTRUCTURED, TeiidDdlLexicon.CreateTable.TABLE_STATEMENT);
+        KomodoObject accountTableNode = verify(schemaNode, "accounts.ACCOUNT", JcrConstants.NT_UNSTRUCTURED, TeiidDdlLexicon.CreateTable.TABLE_STATEMENT);
+        KomodoObject holdingsTableNode = verify(schemaNode, "accounts.HOLDINGS", JcrConstants.NT_UNSTRUCTURED, TeiidDdlLexicon.CreateTable.TABLE_STATEMENT);
+        KomodoObject productTableNode = verify(schemaNode, "accounts.PRODUCT", JcrConstants.NT_UNSTRUCTURED, TeiidDdlLexicon.CreateTable.TABLE_STATEMENT);
+
+        // references a table of an earlier chunk
+        KomodoObject[] accountKeys = accountTableNode.getChildrenOfType(this.uow, TeiidDdlLexicon.Constraint.FOREIGN_KEY_CONSTRAINT);
+        assertEquals(1, accountKeys.length);
+        assertEquals(customerTableNode.getAbsolutePath(), referencedTablePath(accountKeys[0]));
+
+        String[] columnIds = accountKeys[0].getProperty(this.uow, TeiidDdlLexicon.Constraint.TABLE_REFERENCE_REFERENCES).getStringValues(this.uow);
+        assertEquals(1, columnIds.length);
+        assertEquals(customerTableNode.getChild(this.uow, "SSN").getAbsolutePath(), _repo.getUsingId(this.uow, columnIds[0]).getAbsolutePath());
+
+        // references a table of an earlier chunk and one of a later chunk
+        KomodoObject[] holdingsKeys = holdingsTableNode.getChildrenOfType(this.uow, TeiidDdlLexicon.Constraint.FOREIGN_KEY_CONSTRAINT);
+        assertEquals(2, holdingsKeys.length);
+
+        List<String> referencedPaths = Arrays.asList(referencedTablePath(holdingsKeys[0]), referencedTablePath(holdingsKeys[1]));
+        assertTrue(referencedPaths.contains(accountTableNode.getAbsolutePath()));
+        assertTrue(referencedPaths.contains(productTableNode.getAbsolutePath()));
+    }
+
+    @Test
+    public void shouldSplitDdlIntoStatements() throws Exception {
+        String ddl = "-- a comment; with a semicolon\n"
+                     + "CREATE FOREIGN TABLE t1 (c1 string DEFAULT 'a;b''c');\n"
+                     + "/* another; comment */ ;\n"
+                     + "CREATE VIRTUAL PROCEDURE p1() RETURNS integer AS BEGIN DECLARE integer x = 1; RETURN x; END;\n"
+                     + "CREATE VIEW v1 AS SELECT * FROM t1";
+
+        try (DdlStatementReader reader = new DdlStatementReader(new StringReader(ddl))) {
+            assertEquals("CREATE FOREIGN TABLE t1 (c1 string DEFAULT 'a;b''c');", reader.nextStatement());
+            assertEquals("CREATE VIRTUAL PROCEDURE p1() RETURNS integer AS BEGIN DECLARE integer x = 1; RETURN x; END;",
+                         reader.nextStatement());
+            assertEquals("CREATE VIEW v1 AS SELECT * FROM t1", reader.nextStatement());
+            assertNull(reader.nextStatement());
+        }
+    }
+
     private void verifyFlatFileDdl(KomodoObject schemaNode) throws Exception {
         // ----------------------------------
         // Test expected procedures exist
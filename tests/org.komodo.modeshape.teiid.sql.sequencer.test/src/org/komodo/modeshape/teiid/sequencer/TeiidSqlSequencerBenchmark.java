@@ -0,0 +1,143 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * See the COPYRIGHT.txt file distributed with this work for information
+ * regarding copyright ownership.  Some portions may be licensed
+ * to Red Hat, Inc. under one or more contributor license agreements.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+ * 02110-1301 USA.
+ */
+package org.komodo.modeshape.teiid.sequencer;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import javax.jcr.NamespaceRegistry;
+import javax.jcr.Node;
+import org.junit.Test;
+import org.komodo.modeshape.AbstractTSqlSequencerTest;
+import org.komodo.modeshape.teiid.TeiidSqlSequencer;
+import org.komodo.modeshape.teiid.parser.SQQueryParser;
+import org.komodo.modeshape.teiid.sql.lang.ASTNode;
+import org.komodo.spi.runtime.version.DefaultTeiidVersion.Version;
+import org.komodo.utils.KLog;
+import org.modeshape.jcr.api.nodetype.NodeTypeManager;
+
+/**
+ * Measures the rate at which {@link TeiidSqlSequencer#convertASTNode(ASTNode, Node)} writes the nodes
+ * of large queries. Each measurement is preceded by warm up iterations and the result is logged as nodes/sec.
+ *
+ * This is not part of the test suite so has to be run on its own.
+ */
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TeiidSqlSequencerBenchmark extends AbstractTSqlSequencerTest {
+
+    private static final int WARMUP_ITERATIONS = 5;
+
+    private static final int MEASURED_ITERATIONS = 10;
+
+    public TeiidSqlSequencerBenchmark() {
+        super(Version.TEIID_8_7.get());
+    }
+
+    private String largeQuery(int columns, int criteria) {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (int i = 0; i < columns; ++i) {
+            if (i > 0)
+                sql.append(", ");
+
+            sql.append("t1.c").append(i).append(" AS a").append(i);
+        }
+
+        sql.append(" FROM m.g1 AS t1 INNER JOIN m.g2 AS t2 ON t1.c0 = t2.c0 WHERE ");
+        for (int i = 0; i < criteria; ++i) {
+            if (i > 0)
+                sql.append(" OR ");
+
+            sql.append("(t2.c").append(i).append(" = ").append(i).append(" AND t1.c").append(i).append(" IS NOT NULL)");
+        }
+
+        sql.append(" ORDER BY a0");
+        return sql.toString();
+    }
+
+    private int countNodes(ASTNode astNode) {
+        int count = 1;
+        Iterator<ASTNode> children = astNode.getChildren();
+        while (children.hasNext())
+            count += countNodes(children.next());
+
+        return count;
+    }
+
+    private TeiidSqlSequencer createSequencer() throws Exception {
+        TeiidSqlSequencer sequencer = new TeiidSqlSequencer();
+        NamespaceRegistry registry = workspace().getNamespaceRegistry();
+        NodeTypeManager nodeTypeManager = (NodeTypeManager) workspace().getNodeTypeManager();
+        sequencer.initialize(registry, nodeTypeManager);
+        return sequencer;
+    }
+
+    private long convert(TeiidSqlSequencer sequencer, ASTNode astNode, String name) throws Exception {
+        Node outputNode = rootNode.addNode(name);
+
+        long start = System.nanoTime();
+        Node sequencedNode = sequencer.convertASTNode(astNode, outputNode);
+        long elapsed = System.nanoTime() - start;
+
+        assertNotNull(sequencedNode);
+
+        // Discard the nodes so each iteration writes into an empty session
+        session().refresh(false);
+        return elapsed;
+    }
+
+    private void benchmark(int columns, int criteria) throws Exception {
+        String sql = largeQuery(columns, criteria);
+        ASTNode astNode = new SQQueryParser(getTeiidVersion()).parseDesignerCommand(sql);
+        int nodeCount = countNodes(astNode);
+        TeiidSqlSequencer sequencer = createSequencer();
+
+        for (int i = 0; i < WARMUP_ITERATIONS; ++i)
+            convert(sequencer, astNode, "warmup" + i);
+
+        long total = 0;
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ITERATIONS; ++i) {
+            long elapsed = convert(sequencer, astNode, "measure" + i);
+            total += elapsed;
+            best = Math.min(best, elapsed);
+        }
+
+        double seconds = (double)total / TimeUnit.SECONDS.toNanos(1);
+        double nodesPerSecond = (nodeCount * MEASURED_ITERATIONS) / seconds;
+        double bestNodesPerSecond = nodeCount / ((double)best / TimeUnit.SECONDS.toNanos(1));
+
+        KLog.getLogger().info(String.format("TeiidSqlSequencerBenchmark: %d ast nodes, %d iterations: average %.0f nodes/sec, best %.0f nodes/sec",
+                                            nodeCount, MEASURED_ITERATIONS, nodesPerSecond, bestNodesPerSecond));
+        assertTrue(nodesPerSecond > 0);
+    }
+
+    @Test
+    public void benchmarkMediumQuery() throws Exception {
+        benchmark(50, 50);
+    }
+
+    @Test
+    public void benchmarkLargeQuery() throws Exception {
+        benchmark(500, 500);
+    }
+}
@@ -13,6 +13,7 @@ import static org.hamcrest.core.IsNull.notNullValue;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
+import java.io.StringWriter;
 import java.util.Properties;
 import org.junit.Before;
 import org.junit.Test;
@@ -21,6 +22,7 @@ import org.komodo.relational.RelationalObject.Filter;
 import org.komodo.relational.internal.RelationalObjectImpl;
 import org.komodo.relational.model.Schema;
 import org.komodo.relational.workspace.WorkspaceManager;
+import org.komodo.repository.RenditionCache;
 import org.komodo.spi.KException;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.KomodoType;
@@ -123,6 +125,48 @@ public class SchemaImplTest extends RelationalModelTest {
         assertEquals(DDL_VIEW, fragment);
     }
 
+    @Test
+    public void shouldStreamExportedDdl() throws Exception {
+        setRenditionValueAwaitSequencing(DDL_VIEW);
+
+        final StringWriter writer = new StringWriter();
+        this.schema.export(this.uow, new Properties(), writer);
+        assertEquals(this.schema.export(this.uow, new Properties()), writer.toString());
+    }
+
+    @Test
+    public void shouldCacheExportedDdlUntilChanged() throws Exception {
+        setRenditionValueAwaitSequencing(DDL_VIEW);
+
+        final RenditionCache cache = _repo.getRenditionCache();
+        final long hits = cache.getHitCount();
+        final String ddl = this.schema.export(this.uow, new Properties());
+
+        assertEquals(ddl, this.schema.export(this.uow, new Properties()));
+        assertThat(cache.getHitCount(), is(hits + 1));
+
+        // a committed change discards the cached rendition
+        setRenditionValueAwaitSequencing(DDL_VIEW.replace("G1", "G2"));
+        assertEquals(DDL_VIEW.replace("G1", "G2"), this.schema.export(this.uow, new Properties()));
+    }
+
+    @Test
+    public void shouldCacheStreamedDdl() throws Exception {
+        setRenditionValueAwaitSequencing(DDL_VIEW);
+
+        final RenditionCache cache = _repo.getRenditionCache();
+        final long hits = cache.getHitCount();
+
+        final StringWriter first = new StringWriter();
+        this.schema.export(this.uow, new Properties(), first);
+        final StringWriter second = new StringWriter();
+        this.schema.export(this.uow, new Properties(), second);
+
+        assertEquals(DDL_VIEW, first.toString());
+        assertEquals(DDL_VIEW, second.toString());
+        assertThat(cache.getHitCount(), is(hits + 1));
+    }
+
     @Test
     public void shouldHaveCorrectTypeIdentifier() throws Exception {
         assertThat(this.schema.getTypeIdentifier( this.uow ), is(KomodoType.SCHEMA));
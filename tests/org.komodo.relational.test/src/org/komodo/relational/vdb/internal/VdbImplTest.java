@@ -14,6 +14,7 @@ import static org.hamcrest.core.IsNull.notNullValue;
 import static org.hamcrest.core.IsNull.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -33,6 +34,7 @@ import org.komodo.relational.vdb.Vdb;
 import org.komodo.relational.vdb.Vdb.VdbManifest;
 import org.komodo.relational.vdb.VdbImport;
 import org.komodo.spi.KException;
+import org.komodo.spi.constants.ExportConstants;
 import org.komodo.spi.constants.StringConstants;
 import org.komodo.spi.repository.KomodoObject;
 import org.komodo.spi.repository.KomodoType;
@@ -187,6 +189,38 @@ public final class VdbImplTest extends RelationalModelTest {
         assertThat( manifest.isEmpty(), is( false ) );
     }
 
+    @Test
+    public void shouldStreamExportedVdb() throws Exception {
+        this.vdb.setVdbName( this.uow, "twitter" );
+        this.vdb.addModel( this.uow, "twitter" ).setModelType( this.uow, Model.Type.PHYSICAL );
+
+        final StringWriter writer = new StringWriter();
+        this.vdb.export( this.uow, new Properties(), writer );
+        assertThat( writer.toString().trim(), is( this.vdb.export( this.uow, new Properties() ) ) );
+    }
+
+    @Test
+    public void shouldExportModelsConcurrently() throws Exception {
+        this.vdb.setVdbName( this.uow, "concurrent" );
+
+        for ( int i = 0; i < 4; ++i ) {
+            final Model model = this.vdb.addModel( this.uow, "model" + i );
+            model.setModelType( this.uow, Model.Type.PHYSICAL );
+            model.addTable( this.uow, "table" + i ).addColumn( this.uow, "column" + i ).setDatatypeName( this.uow, "string" );
+        }
+
+        // uncommitted changes are exported in turn
+        final String expected = this.vdb.export( this.uow, new Properties() );
+        commit();
+
+        final Properties properties = new Properties();
+        properties.setProperty( ExportConstants.EXPORT_THREADS_PROP_KEY, "4" );
+
+        final String manifest = this.vdb.export( this.uow, properties );
+        assertThat( manifest, is( expected ) );
+        assertThat( manifest.indexOf( "table0" ) < manifest.indexOf( "table3" ), is( true ) );
+    }
+
     @Test
     public void shouldFailConstructionIfNotVdb() {
         if ( RelationalObjectImpl.VALIDATE_INITIAL_STATE ) {
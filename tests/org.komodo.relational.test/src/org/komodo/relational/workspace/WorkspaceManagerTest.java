@@ -15,6 +15,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import java.util.Arrays;
+import java.util.Iterator;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -165,6 +166,35 @@ public final class WorkspaceManagerTest extends RelationalModelTest {
                     is( expected ) );
     }
 
+    @Test
+    public void shouldFindPageOfObjectsInPathOrder() throws Exception {
+        final String prefix = this.name.getMethodName();
+        final int numVdbs = 10;
+
+        for ( int i = 0; i < numVdbs; ++i ) {
+            createVdb( ( prefix + i ), ( VDB_PATH + i ) );
+        }
+
+        commit(); // must save before running a query
+
+        final String[] all = this.wsMgr.findByType( this.uow, VdbLexicon.Vdb.VIRTUAL_DATABASE, null, null );
+        assertThat( all.length, is( numVdbs ) );
+
+        final Iterator< KomodoObject > page = this.wsMgr.findByType( this.uow,
+                                                                     VdbLexicon.Vdb.VIRTUAL_DATABASE,
+                                                                     null,
+                                                                     null,
+                                                                     3,
+                                                                     4 );
+
+        for ( int i = 3; i < 7; ++i ) {
+            assertThat( page.hasNext(), is( true ) );
+            assertThat( page.next().getAbsolutePath(), is( all[ i ] ) );
+        }
+
+        assertThat( page.hasNext(), is( false ) );
+    }
+
     @Test
     public void shouldFindMatchingObjects() throws Exception {
         // create at workspace root
@@ -32,6 +32,7 @@ public class ImportCommandTest extends AbstractCommandTest {
 	private static final String IMPORT_VDB5 = "importVdb5.txt"; 
 	private static final String IMPORT_VDB6 = "importVdb6.txt"; 
 	private static final String IMPORT_VDB7 = "importVdb7.txt"; 
+	private static final String IMPORT_DIR1 = "importDir1.txt";
 
 	/**
 	 * Test for CreateCommand
@@ -110,6 +111,31 @@ public class ImportCommandTest extends AbstractCommandTest {
         }
     }
 
+    /**
+     * Import directory - AzureService-vdb.xml and myService-vdb.xml
+     * @throws Exception
+     */
+    @Test
+    public void testImportDirectory() throws Exception {
+        setup(IMPORT_DIR1, ImportCommand.class);
+
+        execute();
+
+        assertEquals("/workspace", wsStatus.getCurrentContext().getFullName());
+        UnitOfWork trans = wsStatus.getTransaction();
+
+        for (String vdbName : new String[] {"AzureService", "myService"}) {
+            WorkspaceContext vdbContext = ContextUtils.getContextForPath(wsStatus, "/workspace/" + vdbName);
+            assertNotNull(vdbContext);
+
+            KomodoObject ko = vdbContext.getKomodoObj();
+            assertEquals(KomodoType.VDB.name(), ko.getTypeIdentifier(trans).name());
+
+            Vdb vdb = (Vdb)resolveType(trans, ko, Vdb.class);
+            assertThat(vdb.getModels(trans).length, is(1));
+        }
+    }
+
     /**
      * Import VDB2 - myService-vdb.xml
      * @throws Exception
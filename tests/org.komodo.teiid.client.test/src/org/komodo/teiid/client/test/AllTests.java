@@ -23,7 +23,9 @@ package org.komodo.teiid.client.test;
 
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
+import org.teiid.core.util.TestConcurrentLRUCache;
 import org.teiid.language.TestReservedWords;
+import org.teiid.query.metadata.TestSystemMetadata;
 import org.teiid.query.resolver.v7.Test7AccessPattern;
 import org.teiid.query.resolver.v7.Test7AlterResolving;
 import org.teiid.query.resolver.v7.Test7FunctionResolving;
@@ -101,12 +103,17 @@ import org.teiid.query.validator.v87.Test87AlterValidation;
 import org.teiid.query.validator.v87.Test87FunctionMetadataValidator;
 import org.teiid.query.validator.v87.Test87UpdateValidator;
 import org.teiid.query.validator.v87.Test87Validator;
+import org.teiid.runtime.client.admin.TestTCExecutionAdmin;
+import org.teiid.runtime.client.admin.TestVdbStatusTracker;
 import org.teiid.types.Test7DataTypeManagerService;
 import org.teiid.types.Test8DataTypeManagerService;
 
 @SuppressWarnings( "javadoc" )
 @RunWith( Suite.class )
 @Suite.SuiteClasses( {
+                                        // core.util
+                                        TestConcurrentLRUCache.class,
+
                                         // language
                                         TestReservedWords.class,
 
@@ -141,6 +148,9 @@ import org.teiid.types.Test8DataTypeManagerService;
                                         TestQuery87Parser.class,
                                         Test87SQLStringVisitor.class,
 
+                                        // query.metadata
+                                        TestSystemMetadata.class,
+
                                         // query.resolver
                                         Test7Resolver.class,
                                         Test7AccessPattern.class,
@@ -197,7 +207,11 @@ import org.teiid.types.Test8DataTypeManagerService;
 
                                         // types
                                         Test7DataTypeManagerService.class,
-                                        Test8DataTypeManagerService.class
+                                        Test8DataTypeManagerService.class,
+
+                                        // runtime.client.admin
+                                        TestTCExecutionAdmin.class,
+                                        TestVdbStatusTracker.class
                                     } )
 public class AllTests {
     // nothing to do
@@ -0,0 +1,123 @@
+/*
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+*/
+package org.teiid.query.metadata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.komodo.spi.runtime.version.DefaultTeiidVersion.Version;
+import org.komodo.spi.runtime.version.TeiidVersion;
+import org.teiid.metadata.Column;
+import org.teiid.metadata.Datatype;
+import org.teiid.metadata.Schema;
+import org.teiid.metadata.Table;
+
+/**
+ *
+ */
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestSystemMetadata {
+
+    private Column getColumn(SystemMetadata metadata, String tableName, String columnName) {
+        Schema sys = metadata.getSystemStore().getSchema("SYS");
+        Table table = sys.getTable(tableName);
+        return table.getColumnByName(columnName);
+    }
+
+    @Test
+    public void testGetInstanceConcurrently() throws Exception {
+        final TeiidVersion teiidVersion = Version.TEIID_8_6.get();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<SystemMetadata>> futures = new ArrayList<Future<SystemMetadata>>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(new Callable<SystemMetadata>() {
+
+                    @Override
+                    public SystemMetadata call() throws Exception {
+                        return SystemMetadata.getInstance(teiidVersion);
+                    }
+                }));
+            }
+
+            SystemMetadata instance = SystemMetadata.getInstance(teiidVersion);
+            for (Future<SystemMetadata> future : futures) {
+                assertSame(instance, future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSnapshot() throws Exception {
+        TeiidVersion teiidVersion = Version.TEIID_8_7.get();
+        SystemMetadata metadata = SystemMetadata.getInstance(teiidVersion);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        metadata.writeSnapshot(out);
+        SystemMetadata snapshot = SystemMetadata.readSnapshot(teiidVersion, new ByteArrayInputStream(out.toByteArray()));
+
+        assertNotNull(snapshot);
+        assertEquals(metadata.getDataTypes().size(), snapshot.getDataTypes().size());
+        assertEquals(metadata.getRuntimeTypeMap().keySet(), snapshot.getRuntimeTypeMap().keySet());
+        assertEquals(metadata.getSystemStore().getSchemas().keySet(), snapshot.getSystemStore().getSchemas().keySet());
+
+        // the datatypes remain shared by the type map and the columns
+        Datatype string = snapshot.getRuntimeTypeMap().get("string");
+        assertSame(string, snapshot.getRuntimeTypeMap().get("varchar"));
+
+        Column original = getColumn(metadata, "Tables", "Name");
+        Column name = getColumn(snapshot, "Tables", "Name");
+        assertEquals(original.getDatatype() == metadata.getRuntimeTypeMap().get("string"), name.getDatatype() == string);
+        assertEquals(original.getJavaType(), name.getJavaType());
+    }
+
+    @Test
+    public void testSnapshotOfOtherVersion() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SystemMetadata.getInstance(Version.TEIID_8_7.get()).writeSnapshot(out);
+
+        assertNull(SystemMetadata.readSnapshot(Version.TEIID_8_6.get(), new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    @Test
+    public void testSnapshotOfOtherSystemDdl() throws Exception {
+        TeiidVersion teiidVersion = Version.TEIID_8_7.get();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SystemMetadata.getInstance(teiidVersion).writeSnapshot(out, SystemMetadata.getSourceChecksum() + 1);
+
+        assertNull(SystemMetadata.readSnapshot(teiidVersion, new ByteArrayInputStream(out.toByteArray())));
+    }
+}
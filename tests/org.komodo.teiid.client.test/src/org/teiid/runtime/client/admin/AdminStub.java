@@ -0,0 +1,254 @@
+/*************************************************************************************
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+ ************************************************************************************/
+package org.teiid.runtime.client.admin;
+
+import java.io.InputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.komodo.spi.runtime.EventManager;
+import org.komodo.spi.runtime.ExecutionConfigurationEvent;
+import org.komodo.spi.runtime.ExecutionConfigurationListener;
+import org.komodo.spi.runtime.TeiidInstance;
+import org.komodo.spi.runtime.TeiidVdb;
+import org.komodo.spi.runtime.version.DefaultTeiidVersion.Version;
+import org.teiid.adminapi.Admin;
+import org.teiid.adminapi.AdminProcessingException;
+import org.teiid.adminapi.VDB;
+import org.teiid.adminapi.impl.ModelMetaData;
+import org.teiid.adminapi.impl.PropertyDefinitionMetadata;
+import org.teiid.adminapi.impl.VDBMetaData;
+import org.teiid.adminapi.impl.VDBTranslatorMetaData;
+
+/**
+ * A stub of the Teiid {@link Admin} and of the {@link TeiidInstance} it belongs to. The VDBs, translators and data sources
+ * on the stub server are set by the tests and the number of calls of each admin method is counted.
+ */
+@SuppressWarnings( {"javadoc", "nls"} )
+class AdminStub {
+
+    /**
+     * Handles the deployment of a VDB to the stub server. Exceptions other than an AdminException reach the caller
+     * wrapped in an UndeclaredThrowableException.
+     */
+    interface Deployer {
+
+        void deploy(String deploymentName, InputStream content) throws Exception;
+    }
+
+    final Map<String, VDBMetaData> vdbs = new ConcurrentHashMap<String, VDBMetaData>();
+
+    final Map<String, VDBTranslatorMetaData> translators = new ConcurrentHashMap<String, VDBTranslatorMetaData>();
+
+    final Map<String, Properties> dataSources = new ConcurrentHashMap<String, Properties>();
+
+    final Set<String> dataSourceTypes = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    /**
+     * The names of the admin methods that fail with an AdminProcessingException
+     */
+    final Set<String> failing = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    final List<ExecutionConfigurationEvent> events = new CopyOnWriteArrayList<ExecutionConfigurationEvent>();
+
+    volatile Deployer deployer;
+
+    private final ConcurrentHashMap<String, AtomicInteger> calls = new ConcurrentHashMap<String, AtomicInteger>();
+
+    private final EventManager eventManager = new EventManager() {
+
+        @Override
+        public boolean addListener(ExecutionConfigurationListener listener) {
+            return false;
+        }
+
+        @Override
+        public void permitListeners(boolean enable) {
+            // nothing to do
+        }
+
+        @Override
+        public void notifyListeners(ExecutionConfigurationEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        public boolean removeListener(ExecutionConfigurationListener listener) {
+            return false;
+        }
+    };
+
+    private final Admin admin = (Admin)Proxy.newProxyInstance(Admin.class.getClassLoader(),
+                                                               new Class<?>[] {Admin.class},
+                                                               new InvocationHandler() {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class)
+                return invokeObjectMethod(proxy, method, args);
+
+            counter(method.getName()).incrementAndGet();
+            if (failing.contains(method.getName()))
+                throw new AdminProcessingException(method.getName() + " failed");
+
+            return invokeAdmin(method, args);
+        }
+    });
+
+    private final TeiidInstance teiidInstance = (TeiidInstance)Proxy.newProxyInstance(TeiidInstance.class.getClassLoader(),
+                                                                                     new Class<?>[] {TeiidInstance.class},
+                                                                                     new InvocationHandler() {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class)
+                return invokeObjectMethod(proxy, method, args);
+
+            switch (method.getName()) {
+                case "getVersion":
+                    return Version.TEIID_8_7.get();
+                case "getEventManager":
+                    return eventManager;
+                case "isConnected":
+                case "isParentConnected":
+                    return true;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        }
+    });
+
+    Admin admin() {
+        return this.admin;
+    }
+
+    TeiidInstance teiidInstance() {
+        return this.teiidInstance;
+    }
+
+    /**
+     * @param methodName the name of an admin method
+     * @return the number of times the method has been called
+     */
+    int calls(String methodName) {
+        return counter(methodName).get();
+    }
+
+    void resetCalls() {
+        this.calls.clear();
+    }
+
+    /**
+     * Adds a VDB with one model to the stub server
+     */
+    VDBMetaData addVdb(String name, VDB.Status status) {
+        VDBMetaData vdb = new VDBMetaData();
+        vdb.setName(name);
+        vdb.setVersion(1);
+        vdb.setStatus(status);
+
+        ModelMetaData model = new ModelMetaData();
+        model.setName(name + "Model");
+        vdb.addModel(model);
+
+        this.vdbs.put(name, vdb);
+        return vdb;
+    }
+
+    /**
+     * Adds a translator to the stub server
+     */
+    VDBTranslatorMetaData addTranslator(String name, String type) {
+        VDBTranslatorMetaData translator = new VDBTranslatorMetaData();
+        translator.setName(name);
+        translator.setType(type);
+
+        this.translators.put(name, translator);
+        return translator;
+    }
+
+    private AtomicInteger counter(String methodName) {
+        AtomicInteger counter = new AtomicInteger();
+        AtomicInteger existing = this.calls.putIfAbsent(methodName, counter);
+        return (existing == null) ? counter : existing;
+    }
+
+    private static Object invokeObjectMethod(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                return AdminStub.class.getSimpleName();
+        }
+    }
+
+    private Object invokeAdmin(Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "getVDBs":
+                return new ArrayList<VDBMetaData>(this.vdbs.values());
+            case "getVDB":
+                return this.vdbs.get(args[0]);
+            case "getTranslators":
+                return new ArrayList<VDBTranslatorMetaData>(this.translators.values());
+            case "getTranslatorPropertyDefinitions":
+            case "getTemplatePropertyDefinitions":
+                PropertyDefinitionMetadata propDefn = new PropertyDefinitionMetadata();
+                propDefn.setName("prop");
+                return Collections.singletonList(propDefn);
+            case "getDataSourceNames":
+                return new ArrayList<String>(this.dataSources.keySet());
+            case "getDataSourceTemplateNames":
+                return new HashSet<String>(this.dataSourceTypes);
+            case "getDataSource":
+                Properties properties = this.dataSources.get(args[0]);
+                return (properties == null) ? null : (Properties)properties.clone();
+            case "createDataSource":
+                this.dataSources.put((String)args[0], (Properties)((Properties)args[2]).clone());
+                return null;
+            case "deleteDataSource":
+                this.dataSources.remove(args[0]);
+                return null;
+            case "deploy":
+                this.deployer.deploy((String)args[0], (InputStream)args[1]);
+                return null;
+            case "undeploy":
+                this.vdbs.remove(((String)args[0]).replace(TeiidVdb.DYNAMIC_VDB_SUFFIX, ""));
+                return null;
+            case "close":
+                return null;
+            default:
+                throw new UnsupportedOperationException(method.getName());
+        }
+    }
+}
@@ -0,0 +1,316 @@
+/*************************************************************************************
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+ ************************************************************************************/
+package org.teiid.runtime.client.admin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.komodo.spi.runtime.TeiidDataSource;
+import org.komodo.spi.runtime.TeiidTranslator;
+import org.komodo.spi.runtime.TeiidVdb;
+import org.komodo.spi.runtime.VdbDeployment;
+import org.teiid.adminapi.AdminProcessingException;
+import org.teiid.adminapi.VDB;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestTCExecutionAdmin {
+
+    // the property definitions of each translator are fetched by three calls
+    private static final int TRANSLATOR_DEFINITION_CALLS = 3;
+
+    // larger than the pipe so the writer blocks until the VDB is read
+    private static final int VDB_SIZE = 256 * 1024;
+
+    private AdminStub stub;
+
+    private TCExecutionAdmin executionAdmin;
+
+    @Before
+    public void setup() throws Exception {
+        this.stub = new AdminStub();
+        this.executionAdmin = new TCExecutionAdmin(this.stub.admin(), this.stub.teiidInstance());
+    }
+
+    @After
+    public void teardown() {
+        this.executionAdmin.disconnect();
+    }
+
+    /**
+     * Writes a VDB of {@link #VDB_SIZE} bytes or fails with the error after writing half of it
+     */
+    private static VdbDeployment.Source source(final String deploymentName, final Exception error) {
+        return new VdbDeployment.Source() {
+
+            @Override
+            public String getDeploymentName() {
+                return deploymentName;
+            }
+
+            @Override
+            public void write(OutputStream stream) throws Exception {
+                byte[] chunk = new byte[1024];
+                Arrays.fill(chunk, (byte)'x');
+
+                for (int written = 0; written < VDB_SIZE; written += chunk.length) {
+                    if (error != null && written == VDB_SIZE / 2)
+                        throw error;
+
+                    stream.write(chunk);
+                }
+            }
+        };
+    }
+
+    /**
+     * Reads the whole VDB before deploying it, failing if it is incomplete. A VDB whose name starts with "broken" fails
+     * to deploy after only part of it has been read.
+     */
+    private void readVdbs(final List<String> deployed) {
+        this.stub.deployer = new AdminStub.Deployer() {
+
+            @Override
+            public void deploy(String deploymentName, InputStream content) throws Exception {
+                byte[] buffer = new byte[4096];
+                int size = 0;
+
+                for (int read = content.read(buffer); read != -1; read = content.read(buffer)) {
+                    size += read;
+
+                    if (deploymentName.startsWith("broken") && size > 1024)
+                        throw new AdminProcessingException("connection lost");
+                }
+
+                if (size != VDB_SIZE)
+                    throw new AdminProcessingException("incomplete vdb");
+
+                deployed.add(deploymentName);
+                stub.addVdb(deploymentName.replace(TeiidVdb.DYNAMIC_VDB_SUFFIX, ""), VDB.Status.ACTIVE);
+            }
+        };
+    }
+
+    private static Properties properties(String... keysAndValues) {
+        Properties properties = new Properties();
+        for (int i = 0; i < keysAndValues.length; i += 2)
+            properties.setProperty(keysAndValues[i], keysAndValues[i + 1]);
+
+        return properties;
+    }
+
+    @Test
+    public void shouldOnlyFetchDefinitionsOfAddedAndChangedTranslators() throws Exception {
+        this.stub.addTranslator("oracle", "oracle");
+        this.stub.addTranslator("h2", "h2");
+        this.stub.addTranslator("file", "file");
+        this.executionAdmin.refresh();
+
+        assertEquals(3, this.executionAdmin.getTranslators().size());
+        assertEquals(3 * TRANSLATOR_DEFINITION_CALLS, this.stub.calls("getTranslatorPropertyDefinitions"));
+        TeiidTranslator oracle = this.executionAdmin.getTranslator("oracle");
+        TeiidTranslator h2 = this.executionAdmin.getTranslator("h2");
+
+        // add one, remove one and change the properties of one
+        this.stub.addTranslator("ws", "ws");
+        this.stub.translators.remove("file");
+        this.stub.addTranslator("h2", "h2").addProperty("SupportsOrderBy", "false");
+        this.stub.resetCalls();
+        this.executionAdmin.refresh();
+
+        assertEquals(3, this.executionAdmin.getTranslators().size());
+        assertEquals(2 * TRANSLATOR_DEFINITION_CALLS, this.stub.calls("getTranslatorPropertyDefinitions"));
+        assertNotNull(this.executionAdmin.getTranslator("ws"));
+        assertNull(this.executionAdmin.getTranslator("file"));
+        assertSame(oracle, this.executionAdmin.getTranslator("oracle"));
+        assertNotSame(h2, this.executionAdmin.getTranslator("h2"));
+        assertEquals("false", this.executionAdmin.getTranslator("h2").getProperties().getProperty("SupportsOrderBy"));
+    }
+
+    @Test
+    public void shouldRefetchTranslatorWhoseTypeChanged() throws Exception {
+        this.stub.addTranslator("source", "h2");
+        this.executionAdmin.refresh();
+
+        this.stub.addTranslator("source", "oracle");
+        this.executionAdmin.refresh();
+
+        assertEquals("oracle", this.executionAdmin.getTranslator("source").getType());
+    }
+
+    @Test
+    public void shouldRefreshAddedRemovedAndChangedDataSources() throws Exception {
+        this.stub.dataSources.put("ds1", properties("jndi-name", "java:/ds1"));
+        this.stub.dataSources.put("ds2", properties("jndi-name", "java:/ds2"));
+        this.executionAdmin.refresh();
+
+        assertEquals(2, this.executionAdmin.getDataSources().size());
+        TeiidDataSource ds1 = this.executionAdmin.getDataSource("ds1");
+        assertEquals("java:/ds1", ds1.getProperties().getProperty("jndi-name"));
+
+        // add one, remove one and change the properties of one
+        this.stub.dataSources.put("ds3", properties("jndi-name", "java:/ds3"));
+        this.stub.dataSources.remove("ds2");
+        this.stub.dataSources.put("ds1", properties("jndi-name", "java:/changed"));
+        this.stub.resetCalls();
+        this.executionAdmin.refresh();
+
+        // only the added data source is read
+        assertEquals(1, this.stub.calls("getDataSource"));
+        assertEquals(2, this.executionAdmin.getDataSources().size());
+        assertTrue(this.executionAdmin.dataSourceExists("ds3"));
+        assertFalse(this.executionAdmin.dataSourceExists("ds2"));
+        assertNull(this.executionAdmin.getDataSource("ds2"));
+        assertEquals("java:/ds3", this.executionAdmin.getDataSource("ds3").getProperties().getProperty("jndi-name"));
+        assertSame(ds1, this.executionAdmin.getDataSource("ds1"));
+        assertEquals("java:/ds1", ds1.getProperties().getProperty("jndi-name"));
+
+        // the changed data source is read once it has been marked
+        this.executionAdmin.invalidateDataSource("ds1");
+        this.stub.resetCalls();
+        this.executionAdmin.refresh();
+
+        assertEquals(1, this.stub.calls("getDataSource"));
+        assertSame(ds1, this.executionAdmin.getDataSource("ds1"));
+        assertEquals(properties("jndi-name", "java:/changed"), ds1.getProperties());
+
+        // and is not read again
+        this.stub.resetCalls();
+        this.executionAdmin.refresh();
+
+        assertEquals(0, this.stub.calls("getDataSource"));
+    }
+
+    @Test
+    public void shouldReplaceSuppliedPropertiesOfCreatedDataSource() throws Exception {
+        this.stub.dataSourceTypes.add("h2");
+        this.executionAdmin.refresh();
+
+        TeiidDataSource ds = this.executionAdmin.getOrCreateDataSource("ds", "ds", "h2", properties("user-name", "sa"));
+        assertEquals("sa", ds.getProperties().getProperty("user-name"));
+
+        // the server adds properties of its own
+        this.stub.dataSources.get("ds").setProperty("jndi-name", "java:/ds");
+        this.stub.resetCalls();
+        this.executionAdmin.refresh();
+
+        assertEquals(1, this.stub.calls("getDataSource"));
+        assertSame(ds, this.executionAdmin.getDataSource("ds"));
+        assertEquals(properties("user-name", "sa", "jndi-name", "java:/ds"), ds.getProperties());
+    }
+
+    @Test
+    public void shouldKnowDeployedVdbAsSoonAsDeployReturns() throws Exception {
+        this.stub.deployer = new AdminStub.Deployer() {
+
+            @Override
+            public void deploy(String deploymentName, InputStream content) {
+                stub.addVdb(deploymentName.replace(TeiidVdb.DYNAMIC_VDB_SUFFIX, ""), VDB.Status.LOADING);
+            }
+        };
+
+        this.executionAdmin.deployDynamicVdb("vdb-vdb.xml", new ByteArrayInputStream(new byte[0]));
+
+        // known without waiting for the tracker to poll
+        assertTrue(this.executionAdmin.hasVdb("vdb"));
+        assertTrue(this.executionAdmin.isVdbLoading("vdb"));
+    }
+
+    @Test( timeout = 60000 )
+    public void shouldDeployVdbsInOrderOfSources() throws Exception {
+        List<String> deployed = Collections.synchronizedList(new ArrayList<String>());
+        readVdbs(deployed);
+
+        List<VdbDeployment.Source> sources = new ArrayList<VdbDeployment.Source>();
+        for (int i = 0; i < 6; ++i)
+            sources.add(source("vdb" + i + "-vdb.xml", null));
+
+        List<VdbDeployment> deployments = this.executionAdmin.deployDynamicVdbs(sources);
+
+        assertEquals(sources.size(), deployments.size());
+        assertEquals(sources.size(), deployed.size());
+
+        for (int i = 0; i < sources.size(); ++i) {
+            VdbDeployment deployment = deployments.get(i);
+
+            assertEquals(sources.get(i).getDeploymentName(), deployment.getDeploymentName());
+            assertNull(deployment.getError());
+            assertTrue(deployment.isActive());
+            assertTrue(deployment.getDeployTime() >= 0);
+            assertTrue(deployment.getLoadTime() >= 0);
+        }
+    }
+
+    @Test( timeout = 60000 )
+    public void shouldRecordDeployErrorRatherThanClosedPipe() throws Exception {
+        readVdbs(new ArrayList<String>());
+
+        List<VdbDeployment> deployments = this.executionAdmin.deployDynamicVdbs(Arrays.asList(source("first-vdb.xml", null),
+                                                                                               source("invalid.xml", null),
+                                                                                               source("broken-vdb.xml", null),
+                                                                                               source("last-vdb.xml", null)));
+
+        assertTrue(deployments.get(0).isActive());
+        assertTrue(deployments.get(3).isActive());
+
+        // rejected before any of it was read so the writer fails on the closed pipe
+        Exception error = deployments.get(1).getError();
+        assertNotNull(error);
+        assertTrue(error.getMessage(), error.getMessage().contains("invalid.xml"));
+        assertEquals(1, error.getSuppressed().length);
+
+        // failed part way through reading
+        error = deployments.get(2).getError();
+        assertTrue(error instanceof AdminProcessingException);
+        assertEquals("connection lost", error.getMessage());
+        assertEquals(1, error.getSuppressed().length);
+        assertNull(this.executionAdmin.getVdb("broken"));
+    }
+
+    @Test( timeout = 60000 )
+    public void shouldRecordWriteErrorThatEndedVdbEarly() throws Exception {
+        readVdbs(new ArrayList<String>());
+        Exception writeError = new IllegalStateException("export failed");
+
+        List<VdbDeployment> deployments = this.executionAdmin.deployDynamicVdbs(Arrays.asList(source("vdb-vdb.xml", writeError)));
+
+        Exception error = deployments.get(0).getError();
+        assertSame(writeError, error);
+        assertEquals(1, error.getSuppressed().length);
+        assertEquals("incomplete vdb", error.getSuppressed()[0].getMessage());
+        assertNull(deployments.get(0).getVdb());
+    }
+}
@@ -0,0 +1,160 @@
+/*************************************************************************************
+ * JBoss, Home of Professional Open Source.
+* See the COPYRIGHT.txt file distributed with this work for information
+* regarding copyright ownership. Some portions may be licensed
+* to Red Hat, Inc. under one or more contributor license agreements.
+*
+* This library is free software; you can redistribute it and/or
+* modify it under the terms of the GNU Lesser General Public
+* License as published by the Free Software Foundation; either
+* version 2.1 of the License, or (at your option) any later version.
+*
+* This library is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this library; if not, write to the Free Software
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA
+* 02110-1301 USA.
+ ************************************************************************************/
+package org.teiid.runtime.client.admin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.komodo.spi.runtime.TeiidVdb;
+import org.teiid.adminapi.VDB;
+import org.teiid.runtime.client.admin.VdbStatusTracker.VdbLoad;
+
+@SuppressWarnings( {"javadoc", "nls"} )
+public class TestVdbStatusTracker {
+
+    private static final long INITIAL_DELAY_MS = 50;
+
+    private static final long MAX_DELAY_MS = 400;
+
+    private static final long TIMEOUT_MS = TimeUnit.SECONDS.toMillis(30);
+
+    private AdminStub stub;
+
+    private TCExecutionAdmin executionAdmin;
+
+    private VdbStatusTracker tracker;
+
+    @Before
+    public void setup() throws Exception {
+        this.stub = new AdminStub();
+        this.executionAdmin = new TCExecutionAdmin(this.stub.admin(), this.stub.teiidInstance());
+        this.tracker = new VdbStatusTracker(this.executionAdmin, TIMEOUT_MS, INITIAL_DELAY_MS, MAX_DELAY_MS);
+        this.stub.resetCalls();
+    }
+
+    @After
+    public void teardown() {
+        this.tracker.shutdown();
+        this.executionAdmin.disconnect();
+    }
+
+    @Test
+    public void shouldPollPendingVdbsWithOneRefresh() throws Exception {
+        this.stub.addVdb("vdb1", VDB.Status.ACTIVE);
+        this.stub.addVdb("vdb2", VDB.Status.ACTIVE);
+        this.stub.addVdb("vdb3", VDB.Status.FAILED);
+
+        VdbLoad load1 = this.tracker.track("vdb1");
+        VdbLoad load2 = this.tracker.track("vdb2");
+        VdbLoad load3 = this.tracker.track("vdb3");
+
+        assertTrue(load1.get(5, TimeUnit.SECONDS).isActive());
+        assertTrue(load2.get(5, TimeUnit.SECONDS).isActive());
+        assertTrue(load3.get(5, TimeUnit.SECONDS).hasFailed());
+
+        assertEquals(1, this.stub.calls("getVDBs"));
+        assertTrue(load1.getCompletionTime() > 0);
+    }
+
+    @Test
+    public void shouldPollUntilVdbHasLoaded() throws Exception {
+        this.stub.addVdb("vdb", VDB.Status.LOADING);
+
+        VdbLoad load = this.tracker.track("vdb");
+        Thread.sleep(3 * INITIAL_DELAY_MS);
+        assertFalse(load.isDone());
+        assertEquals(0, load.getCompletionTime());
+
+        this.stub.addVdb("vdb", VDB.Status.ACTIVE);
+        TeiidVdb vdb = load.get(5, TimeUnit.SECONDS);
+
+        assertNotNull(vdb);
+        assertTrue(vdb.isActive());
+    }
+
+    @Test
+    public void shouldBackOffWhileNoVdbHasLoaded() throws Exception {
+        this.stub.addVdb("vdb", VDB.Status.LOADING);
+        VdbLoad load = this.tracker.track("vdb");
+
+        // polls at 50, 150, 350 and 750 ms rather than every 50 ms
+        Thread.sleep(1000);
+        int polls = this.stub.calls("getVDBs");
+        assertTrue("polls: " + polls, polls >= 3 && polls <= 5);
+        assertFalse(load.isDone());
+
+        // a new deployment is polled after the initial delay rather than after the backoff
+        this.stub.addVdb("other", VDB.Status.ACTIVE);
+        VdbLoad other = this.tracker.track("other");
+        assertTrue(other.get(MAX_DELAY_MS / 2, TimeUnit.MILLISECONDS).isActive());
+    }
+
+    @Test
+    public void shouldCompleteWithNullWhenVdbIsNotDeployed() throws Exception {
+        VdbLoad load = this.tracker.track("missing");
+        assertNull(load.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldStopTrackingVdbAfterItsDeadline() throws Exception {
+        this.tracker.shutdown();
+        this.tracker = new VdbStatusTracker(this.executionAdmin, 200, INITIAL_DELAY_MS, MAX_DELAY_MS);
+        this.stub.addVdb("vdb", VDB.Status.LOADING);
+
+        VdbLoad load = this.tracker.track("vdb");
+        TeiidVdb vdb = load.get(5, TimeUnit.SECONDS);
+
+        // completed with the VDB that is still loading
+        assertNotNull(vdb);
+        assertTrue(vdb.isLoading());
+    }
+
+    @Test
+    public void shouldKeepPollingAfterRefreshFails() throws Exception {
+        this.stub.addVdb("vdb", VDB.Status.ACTIVE);
+        this.stub.failing.add("getVDBs");
+
+        VdbLoad load = this.tracker.track("vdb");
+        Thread.sleep(3 * INITIAL_DELAY_MS);
+        assertTrue(this.stub.calls("getVDBs") > 0);
+        assertFalse(load.isDone());
+
+        this.stub.failing.clear();
+        assertTrue(load.get(5, TimeUnit.SECONDS).isActive());
+    }
+
+    @Test
+    public void shouldCancelPendingVdbsOnShutdown() throws Exception {
+        this.stub.addVdb("vdb", VDB.Status.LOADING);
+
+        VdbLoad load = this.tracker.track("vdb");
+        this.tracker.shutdown();
+
+        assertTrue(load.isCancelled());
+    }
+}